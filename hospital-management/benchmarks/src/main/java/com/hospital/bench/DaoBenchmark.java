@@ -0,0 +1,94 @@
+package com.hospital.bench; // benchmark support
+
+import java.sql.SQLException;        // SQL exception handling
+import java.util.List;               // result lists
+import java.util.concurrent.TimeUnit; // reported unit
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hospital.dao.AppointmentDAO;                // appointment queries
+import com.hospital.dao.AppointmentDAO.AppointmentRow; // joined rows
+import com.hospital.dao.PatientDAO;                    // patient queries
+import com.hospital.dao.ReferenceCache;                // shared caches
+import com.hospital.dao.Schedule;                      // per-day rows
+import com.hospital.model.Patient;                     // patient model
+
+/**
+ * Whole-table reads and chunked deletes through the DAOs, database round trips included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoBenchmark {
+
+    private final PatientDAO patients = new PatientDAO();
+    private final AppointmentDAO appointments = new AppointmentDAO();
+
+    /**
+     * Appointments inserted before each deleteByIds call, with ids above the dataset.
+     */
+    @State(Scope.Thread)
+    public static class ScratchRows {
+        @Param({"1000"})
+        public int deleteBatch;
+
+        List<Integer> ids;
+
+        @Setup(Level.Invocation)
+        public void insert(DatabaseState db) throws SQLException {
+            ids = Dataset.insertScratchAppointments(db.size, db.size.appointments() + 1, deleteBatch);
+        }
+    }
+
+    @Benchmark
+    public List<Patient> patientListAll(DatabaseState db) throws SQLException { // query, mapping and prefix index
+        ReferenceCache.patients().clear(); // otherwise served from memory
+        return patients.listAll();
+    }
+
+    @Benchmark
+    public List<Patient> patientListAllCached(DatabaseState db) throws SQLException { // the cache hit path
+        return patients.listAll();
+    }
+
+    @Benchmark
+    public List<AppointmentRow> appointmentListAllDetailed(DatabaseState db) throws SQLException { // SQL join
+        return appointments.listAllDetailed();
+    }
+
+    @Benchmark
+    public List<AppointmentRow> appointmentListAllResolved(DatabaseState db) throws SQLException { // client-side join, warm caches
+        return appointments.listAllResolved();
+    }
+
+    @Benchmark
+    public List<AppointmentRow> appointmentListAllResolvedCold(DatabaseState db) throws SQLException { // client-side join, names loaded in batches
+        ReferenceCache.patients().clear();
+        ReferenceCache.doctors().clear();
+        return appointments.listAllResolved();
+    }
+
+    @Benchmark
+    public Schedule appointmentDoctorWeek(DatabaseState db) throws SQLException { // one indexed range, grouped by day
+        return appointments.doctorWeek(1, Dataset.FIRST_DAY);
+    }
+
+    @Benchmark
+    public int appointmentDeleteByIds(DatabaseState db, ScratchRows rows) throws SQLException {
+        return appointments.deleteByIds(rows.ids);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hospital.bench; // benchmark support
+
+import java.sql.SQLException; // SQL exception handling
+
+import org.openjdk.jmh.annotations.Level; // setup granularity
+import org.openjdk.jmh.annotations.Param; // dataset size
+import org.openjdk.jmh.annotations.Scope; // shared by all threads
+import org.openjdk.jmh.annotations.Setup; // dataset seeding
+import org.openjdk.jmh.annotations.State; // JMH state
+
+/**
+ * The seeded database every database-backed benchmark runs against (see {@link Dataset}).
+ * Change the size with -p scale=100000.
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+
+    /** Patients in the dataset; doctors and appointments scale with it. */
+    @Param({"10000"})
+    public int scale;
+
+    public Dataset.Size size; // row counts of this trial
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        size = Dataset.ensure(scale);
+    }
+}
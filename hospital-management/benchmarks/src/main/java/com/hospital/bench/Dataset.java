@@ -0,0 +1,200 @@
+package com.hospital.bench; // benchmark support
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // batched inserts
+import java.sql.ResultSet;           // row counts
+import java.sql.SQLException;        // SQL exception handling
+import java.sql.Statement;           // deletes
+import java.time.LocalDate;          // date arithmetic
+import java.time.LocalTime;          // time arithmetic
+import java.util.ArrayList;          // id lists
+import java.util.List;               // list interface
+import java.util.Random;             // seeded generator
+
+import com.hospital.db.DBConfig;     // target database
+import com.hospital.db.DBConnection; // database connection utility
+import com.hospital.db.Migrator;     // schema setup
+
+/**
+ * Reproducible benchmark data: the same scale always produces the same rows with the same ids
+ * (fixed seed, explicit ids). The tables of the target database are rewritten, so the application's
+ * default database is refused: name a scratch one with -Dhospital.db.url=... or, for the embedded
+ * backend, -Dhospital.db.embedded.path=....
+ * Data that already has the requested size is reused, so reruns start immediately.
+ */
+public final class Dataset {
+
+    static final long SEED = 42L; // every run sees the same rows
+
+    /** Day of the first seeded appointment (a Monday); each doctor's days fill up from here. */
+    public static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private static final int BATCH = 1_000;          // rows per insert batch
+    private static final int SLOTS_PER_DAY = 18;     // 08:00 .. 16:30, every 30 minutes
+
+    private static final String[] FIRST_NAMES = {
+            "Ayse", "Mehmet", "Fatma", "Mustafa", "Emine", "Ahmet", "Hatice", "Ali", "Zeynep", "Huseyin",
+            "Elif", "Hasan", "Meryem", "Ibrahim", "Sultan", "Ismail", "Zehra", "Osman", "Hulya", "Yusuf",
+    };
+    private static final String[] LAST_NAMES = {
+            "Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Yildirim", "Ozturk", "Aydin", "Ozdemir",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt", "Ozkan", "Simsek",
+    };
+    private static final String[] GENDERS = { "Male", "Female", "Other" };
+    private static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Dermatology", "Neurology", "Pediatrics", "Orthopedics", "Radiology", "General Surgery", null,
+    };
+    private static final String[] NOTES = { "Follow-up", "First visit", "Lab results", "Prescription renewal", "Check-up" };
+
+    /**
+     * Row counts of one scale: scale patients, scale / 50 doctors (at least 10), 3 appointments per patient.
+     */
+    public record Size(int patients, int doctors, int appointments) {
+        public static Size of(int scale) {
+            return new Size(scale, Math.max(10, scale / 50), scale * 3);
+        }
+    }
+
+    private Dataset() {
+        // Utility class
+    }
+
+    /**
+     * Migrates the target database and fills it with the dataset of this scale unless it is already there.
+     */
+    public static Size ensure(int scale) throws SQLException {
+        if (System.getProperty("hospital.db.url") == null && System.getProperty("hospital.db.embedded.path") == null) {
+            throw new IllegalStateException("Benchmarks rewrite the tables: pass -Dhospital.db.url or -Dhospital.db.embedded.path"
+                    + " for a scratch database (" + DBConfig.URL + " is the application's)");
+        }
+        Size size = Size.of(scale);
+        Migrator.migrate();
+        try (Connection conn = DBConnection.getConnection()) {
+            if (matches(conn, size)) return size;
+
+            long start = System.nanoTime();
+            clear(conn);
+            Random random = new Random(SEED);
+            insertDoctors(conn, size, random);
+            insertPatients(conn, size, random);
+            insertAppointments(conn, 1, size.appointments(), size, random);
+            System.out.printf("Seeded %s in %.1f s%n", size, (System.nanoTime() - start) / 1e9);
+        }
+        return size;
+    }
+
+    /**
+     * Inserts count extra appointments with ids from firstId on (e.g. rows a benchmark deletes again).
+     * The change feed's deletion log is emptied too, so repeated deletes do not make it grow.
+     */
+    public static List<Integer> insertScratchAppointments(Size size, int firstId, int count) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate("DELETE FROM deleted_rows");
+            }
+            insertAppointments(conn, firstId, count, size, new Random(SEED + firstId));
+        }
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) ids.add(firstId + i);
+        return ids;
+    }
+
+    private static boolean matches(Connection conn, Size size) throws SQLException { // same counts and dense ids
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("""
+                     SELECT (SELECT COUNT(*) FROM patients), (SELECT MAX(id) FROM patients),
+                            (SELECT COUNT(*) FROM doctors), (SELECT MAX(id) FROM doctors),
+                            (SELECT COUNT(*) FROM appointments), (SELECT MAX(id) FROM appointments)
+                     """)) {
+            rs.next();
+            return rs.getInt(1) == size.patients() && rs.getInt(2) == size.patients()
+                    && rs.getInt(3) == size.doctors() && rs.getInt(4) == size.doctors()
+                    && rs.getInt(5) == size.appointments() && rs.getInt(6) == size.appointments();
+        }
+    }
+
+    private static void clear(Connection conn) throws SQLException { // children first (foreign keys)
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM appointments");
+            st.executeUpdate("DELETE FROM patients");
+            st.executeUpdate("DELETE FROM doctors");
+            st.executeUpdate("DELETE FROM deleted_rows"); // change feed log filled by the deletes
+        }
+    }
+
+    private static void insertDoctors(Connection conn, Size size, Random random) throws SQLException {
+        String sql = "INSERT INTO doctors (id, first_name, last_name, specialization, phone) VALUES (?, ?, ?, ?, ?)";
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int id = 1; id <= size.doctors(); id++) {
+                ps.setInt(1, id);
+                ps.setString(2, pick(FIRST_NAMES, random));
+                ps.setString(3, pick(LAST_NAMES, random));
+                ps.setString(4, pick(SPECIALIZATIONS, random));
+                ps.setString(5, phone(random));
+                ps.addBatch();
+                if (id % BATCH == 0) flush(conn, ps);
+            }
+            flush(conn, ps);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void insertPatients(Connection conn, Size size, Random random) throws SQLException {
+        String sql = "INSERT INTO patients (id, first_name, last_name, phone, gender, birth_date) VALUES (?, ?, ?, ?, ?, ?)";
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int id = 1; id <= size.patients(); id++) {
+                ps.setInt(1, id);
+                ps.setString(2, pick(FIRST_NAMES, random));
+                ps.setString(3, pick(LAST_NAMES, random));
+                ps.setString(4, phone(random));
+                ps.setString(5, pick(GENDERS, random));
+                ps.setObject(6, LocalDate.of(1940, 1, 1).plusDays(random.nextInt(80 * 365)));
+                ps.addBatch();
+                if (id % BATCH == 0) flush(conn, ps);
+            }
+            flush(conn, ps);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // Appointment n goes to doctor n % doctors, in that doctor's next free half-hour slot: no overlaps
+    private static void insertAppointments(Connection conn, int firstId, int count, Size size, Random random) throws SQLException {
+        String sql = "INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, appointment_time, notes) VALUES (?, ?, ?, ?, ?, ?)";
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                int id = firstId + i;
+                int slot = (id - 1) / size.doctors();
+                ps.setInt(1, id);
+                ps.setInt(2, 1 + random.nextInt(size.patients()));
+                ps.setInt(3, 1 + (id - 1) % size.doctors());
+                ps.setObject(4, FIRST_DAY.plusDays(slot / SLOTS_PER_DAY));
+                ps.setObject(5, LocalTime.of(8, 0).plusMinutes(30L * (slot % SLOTS_PER_DAY)));
+                ps.setString(6, random.nextInt(3) == 0 ? null : pick(NOTES, random));
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0) flush(conn, ps);
+            }
+            flush(conn, ps);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void flush(Connection conn, PreparedStatement ps) throws SQLException { // one batch, one commit
+        ps.executeBatch();
+        conn.commit();
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String phone(Random random) { // e.g. 0532 123 45 67
+        return String.format("05%02d %03d %02d %02d",
+                30 + random.nextInt(30), random.nextInt(1000), random.nextInt(100), random.nextInt(100));
+    }
+}
@@ -0,0 +1,65 @@
+package com.hospital.bench; // benchmark support
+
+import java.io.IOException;          // file handling
+import java.nio.file.Files;          // scratch file
+import java.nio.file.Path;           // target path
+import java.sql.SQLException;        // SQL exception handling
+import java.util.concurrent.TimeUnit; // reported unit
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hospital.export.ExportFormat; // csv / ndjson
+import com.hospital.export.Exporter;     // streaming export
+
+/**
+ * Whole-table exports into a scratch file: the streamed query, the row formatting and the writes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ExportBenchmark {
+
+    @Param({"CSV", "NDJSON"})
+    public ExportFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private final Exporter exporter = new Exporter();
+    private Path file; // overwritten by every call
+
+    @Setup(Level.Trial)
+    public void createFile(DatabaseState db) throws IOException {
+        file = Files.createTempFile("export-bench", format.extension());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Exporter.Result appointments(DatabaseState db) throws SQLException, IOException { // SQL join, streamed
+        return exporter.export(Exporter.Request.all(Exporter.Entity.APPOINTMENTS, format, gzip), file, Exporter.Progress.NONE);
+    }
+
+    @Benchmark
+    public Exporter.Result patients(DatabaseState db) throws SQLException, IOException {
+        return exporter.export(Exporter.Request.all(Exporter.Entity.PATIENTS, format, gzip), file, Exporter.Progress.NONE);
+    }
+}
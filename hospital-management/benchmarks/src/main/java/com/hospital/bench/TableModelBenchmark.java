@@ -0,0 +1,115 @@
+package com.hospital.bench; // benchmark support
+
+import java.util.concurrent.Callable; // work run on the EDT
+import java.util.concurrent.TimeUnit; // reported unit
+import java.util.concurrent.atomic.AtomicReference; // EDT result
+
+import javax.swing.SwingUtilities; // the models live on the EDT
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hospital.dao.AppointmentDAO;                   // row source
+import com.hospital.ui.table.AppointmentsTableModel;      // model under test
+import com.hospital.ui.table.LazyTableModel;              // block size
+
+/**
+ * The appointments table model: filling the first screens from the database (count, block fetches,
+ * name resolution, EDT hand-off) and reading every cell of the loaded rows as a repaint does.
+ * All model calls run on the EDT, like in the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TableModelBenchmark {
+
+    /**
+     * A model whose first blocks are loaded.
+     */
+    @State(Scope.Thread)
+    public static class LoadedModel {
+        @Param({"5"})
+        public int blocks; // blocks of LazyTableModel.BLOCK_SIZE rows
+
+        AppointmentsTableModel model;
+
+        @Setup(Level.Trial)
+        public void load(DatabaseState db) throws Exception {
+            model = fill(blocks);
+        }
+    }
+
+    @Benchmark
+    public int fillFirstBlocks(DatabaseState db, LoadedModel loaded) throws Exception {
+        return fill(loaded.blocks).getRowCount();
+    }
+
+    @Benchmark
+    public long readLoadedCells(LoadedModel loaded) throws Exception {
+        AppointmentsTableModel model = loaded.model;
+        return onEdt(() -> {
+            long hash = 0;
+            int rows = Math.min(model.getRowCount(), loaded.blocks * LazyTableModel.BLOCK_SIZE);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < model.getColumnCount(); c++) {
+                    Object value = model.getValueAt(r, c);
+                    if (value != null) hash += value.hashCode();
+                }
+            }
+            return hash;
+        });
+    }
+
+    private static AppointmentsTableModel fill(int blocks) throws Exception { // new model, first blocks loaded
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AppointmentsTableModel model = onEdt(() -> {
+            AppointmentsTableModel m = new AppointmentsTableModel(new AppointmentDAO(), failure::set);
+            m.reload();
+            return m;
+        });
+        while (onEdt(model::getRowCount) == 0) { // count arrives first
+            check(failure);
+            Thread.onSpinWait();
+        }
+        for (int b = 0; b < blocks; b++) {
+            int row = b * LazyTableModel.BLOCK_SIZE;
+            if (row >= onEdt(model::getRowCount)) break;
+            while (onEdt(() -> model.getRow(row)) == null) { // requests the block, then waits for it
+                check(failure);
+                Thread.onSpinWait();
+            }
+        }
+        return model;
+    }
+
+    private static void check(AtomicReference<Exception> failure) throws Exception {
+        Exception ex = failure.get();
+        if (ex != null) throw ex;
+    }
+
+    private static <T> T onEdt(Callable<T> work) throws Exception { // run on the EDT and wait
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result.set(work.call());
+            } catch (Exception ex) {
+                failure.set(ex);
+            }
+        });
+        check(failure);
+        return result.get();
+    }
+}
@@ -0,0 +1,84 @@
+package com.hospital.dao; // same package: the snapshot with an explicit clock is package-private
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // GROUP BY baseline
+import java.sql.ResultSet;           // query results
+import java.sql.SQLException;        // SQL exception handling
+import java.time.LocalDateTime;      // dashboard clock
+import java.time.LocalTime;          // scratch booking
+import java.util.List;               // removed ids
+import java.util.concurrent.TimeUnit; // reported unit
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.hospital.bench.DatabaseState; // seeded database
+import com.hospital.bench.Dataset;       // first booked day
+import com.hospital.db.DBConnection;     // database connection utility
+
+/**
+ * The home dashboard on the first seeded day (every doctor fully booked), as if it were today:
+ * a snapshot of the maintained counters, the GROUP BY query it replaces, and the cost of counting
+ * one booking in and out again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DayAggregatesBenchmark {
+
+    private static final LocalDateTime NOW = Dataset.FIRST_DAY.atTime(8, 0);
+    private static final String GROUP_BY = """
+            SELECT doctor_id, HOUR(appointment_time), COUNT(*)
+            FROM appointments
+            WHERE appointment_date = ?
+            GROUP BY doctor_id, HOUR(appointment_time)
+            """;
+    private static final int SCRATCH_ID = -1; // never a stored appointment
+
+    private final DayAggregates aggregates = DayAggregates.shared();
+
+    @Setup(Level.Trial)
+    public void load(DatabaseState db) throws SQLException {
+        aggregates.clear();
+        aggregates.snapshot(NOW); // reads the day once, as the dashboard does on first show
+    }
+
+    @Benchmark
+    public DayAggregates.Snapshot snapshot() throws SQLException { // dashboard refresh
+        return aggregates.snapshot(NOW);
+    }
+
+    @Benchmark
+    public void groupByQuery(Blackhole bh) throws SQLException { // what each refresh would cost without the counters
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(GROUP_BY)) {
+            ps.setObject(1, Dataset.FIRST_DAY);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    bh.consume(rs.getInt(1));
+                    bh.consume(rs.getInt(2));
+                    bh.consume(rs.getInt(3));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void bookAndRemove() { // incremental update per create/delete
+        aggregates.booked(SCRATCH_ID, 1, Dataset.FIRST_DAY, LocalTime.of(12, 0));
+        aggregates.removed(List.of(SCRATCH_ID));
+    }
+}
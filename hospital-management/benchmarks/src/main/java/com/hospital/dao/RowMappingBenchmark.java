@@ -0,0 +1,78 @@
+package com.hospital.dao; // same package: the row mappers are package-private
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // page queries
+import java.sql.ResultSet;           // query results
+import java.sql.SQLException;        // SQL exception handling
+import java.util.concurrent.TimeUnit; // reported unit
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.hospital.bench.DatabaseState; // seeded database
+import com.hospital.db.DBConnection;     // database connection utility
+
+/**
+ * Row mapping alone: each page is fetched once into a scrollable (client-buffered) result set
+ * and re-read from the start per invocation, so the score is the cost of
+ * PatientDAO.mapRow / AppointmentDAO.mapDetailedRow per page of rows, driver value decoding included.
+ * (A CachedRowSet cannot replay them: it does not implement getObject(int, Class).)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+
+    @Param({"1000"})
+    public int rows; // rows mapped per invocation
+
+    private Connection conn;        // held for the trial: the result sets stay open
+    private ResultSet patients;     // newest patients
+    private ResultSet appointments; // newest joined appointment rows
+
+    @Setup(Level.Trial)
+    public void read(DatabaseState db) throws SQLException {
+        conn = DBConnection.getConnection();
+        patients = firstPage(SqlStatement.PATIENT_PAGE_NEXT);
+        appointments = firstPage(SqlStatement.APPOINTMENT_PAGE_NEXT);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        conn.close(); // closes the statements and result sets, returns the connection
+    }
+
+    private ResultSet firstPage(SqlStatement sql) throws SQLException { // params are (seek id, limit)
+        PreparedStatement ps = conn.prepareStatement(sql.sql(), ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        ps.setInt(1, Integer.MAX_VALUE);
+        ps.setInt(2, rows);
+        return ps.executeQuery();
+    }
+
+    @Benchmark
+    public void mapPatients(Blackhole bh) throws SQLException {
+        patients.beforeFirst();
+        while (patients.next()) bh.consume(PatientDAO.mapRow(patients));
+    }
+
+    @Benchmark
+    public void mapDetailedAppointments(Blackhole bh) throws SQLException {
+        appointments.beforeFirst();
+        while (appointments.next()) bh.consume(AppointmentDAO.mapDetailedRow(appointments));
+    }
+}
@@ -0,0 +1,71 @@
+package com.hospital.dao; // same package: the search with an explicit clock is package-private
+
+import java.sql.SQLException;        // SQL exception handling
+import java.time.LocalDate;          // search range
+import java.time.LocalDateTime;      // search clock
+import java.util.ArrayList;          // matching doctors
+import java.util.List;               // list interface
+import java.util.concurrent.TimeUnit; // reported unit
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hospital.bench.DatabaseState; // seeded database
+import com.hospital.bench.Dataset;       // first booked day
+import com.hospital.model.Doctor;        // searched doctors
+
+/**
+ * SlotFinder searches starting on the first seeded day, as if it were today: the seeded bookings fill
+ * each doctor's first days, so the earliest free slots are more than a week away.
+ * The warm variants find the bookings in BookingIndex; the cold one reads them from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SlotFinderBenchmark {
+
+    private static final LocalDate FROM = Dataset.FIRST_DAY;
+    private static final LocalDate TO = FROM.plusDays(27); // four weeks
+    private static final LocalDateTime NOW = FROM.atStartOfDay();
+
+    private final SlotFinder finder = SlotFinder.shared();
+    private List<Doctor> cardiology; // one specialization
+    private List<Doctor> everyone;   // every doctor
+
+    @Setup(Level.Trial)
+    public void doctors(DatabaseState db) throws SQLException {
+        everyone = ReferenceCache.doctors().all();
+        cardiology = new ArrayList<>();
+        for (Doctor d : everyone) {
+            if ("Cardiology".equals(d.getSpecialization())) cardiology.add(d);
+        }
+    }
+
+    @Benchmark
+    public List<SlotFinder.Slot> nextSpecializationSlots() throws SQLException { // "next free cardiology slots"
+        return finder.find(cardiology, FROM, TO, 30, 10, NOW);
+    }
+
+    @Benchmark
+    public List<SlotFinder.Slot> nextSlotsAcrossAllDoctors() throws SQLException { // every doctor of the hospital
+        return finder.find(everyone, FROM, TO, 30, 10, NOW);
+    }
+
+    @Benchmark
+    public List<SlotFinder.Slot> nextSlotsAcrossAllDoctorsCold() throws SQLException { // range queries included
+        BookingIndex.shared().clear();
+        return finder.find(everyone, FROM, TO, 30, 10, NOW);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hospital.ui; // same package: the helpers are package-private
+
+import java.time.LocalDate;          // appointment date
+import java.time.LocalTime;          // appointment time
+import java.util.concurrent.TimeUnit; // reported unit
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The spinner value conversions AppointmentsPanel runs when an appointment is booked.
+ * No database needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateConversionBenchmark {
+
+    private final java.util.Date spinnerValue = new java.util.Date(1_718_000_000_000L); // fixed instant
+
+    @Benchmark
+    public LocalDate toLocalDate() {
+        return AppointmentsPanel.toLocalDate(spinnerValue);
+    }
+
+    @Benchmark
+    public LocalTime toLocalTime() {
+        return AppointmentsPanel.toLocalTime(spinnerValue);
+    }
+}
@@ -4,6 +4,10 @@ CREATE DATABASE IF NOT EXISTS hospital_db
 
 USE hospital_db;
 
+-- Initial setup only. Indexes and later schema changes are versioned in
+-- src/main/resources/db/migration and applied by com.hospital.db.Migrator
+-- (at application startup, or with com.hospital.util.DBMigrate).
+
 -- 1) Main tables
 CREATE TABLE IF NOT EXISTS patients (
   id INT AUTO_INCREMENT PRIMARY KEY,
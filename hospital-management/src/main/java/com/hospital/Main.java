@@ -1,11 +1,56 @@
 package com.hospital; // package for the hospital application
 
+import com.hospital.dao.ChangeFeed; // other desks' changes
+import com.hospital.dao.DaoMetrics; // DAO latency metrics
+import com.hospital.dao.SqlStatement; // DAO statement registry
+import com.hospital.db.DBConfig; // database settings
+import com.hospital.db.Migrator; // schema migration runner
+import com.hospital.db.DBConnection; // connection pool
 import com.hospital.ui.MainFrame; // main application window class
+import com.hospital.util.StartupTimer; // startup milestones
 
 public class Main {
     public static void main(String[] args) { // application entry point
+        StartupTimer.mark(StartupTimer.Phase.MAIN); // startup breakdown starts here
+
+        Thread warmer = new Thread(() -> { // driver, pool and schema work must not delay the window
+            try {
+                warmUp();
+            } finally {
+                DBConnection.markReady(); // screens waiting for the schema may query now
+            }
+        }, "db-startup");
+        warmer.setDaemon(true); // never keeps the JVM alive
+        warmer.start(); // start background database work
+
         javax.swing.SwingUtilities.invokeLater(() -> { // run GUI creation on the EDT
             new MainFrame().setVisible(true); // create and show the main window
         });
     }
+
+    private static void warmUp() { // runs on the db-startup thread
+        try {
+            DBConnection.initialize(); // load the JDBC driver and open the pool while the home screen paints
+        } catch (Exception e) {
+            System.err.println("Database not reachable yet: " + e.getMessage()); // panels report errors when used
+            return;
+        }
+        if (DBConfig.MIGRATE_ON_STARTUP) { // bring the schema up to date
+            try {
+                Migrator.migrate(); // apply pending db/migration scripts
+            } catch (Exception e) {
+                System.err.println("Schema migration failed: " + e.getMessage()); // app still works on the existing schema
+            }
+        }
+        if (DBConfig.PREWARM_STATEMENTS) { // optionally warm the pool and statement caches
+            try {
+                SqlStatement.prewarm(); // prepare all DAO statements on warm connections
+            } catch (Exception e) {
+                System.err.println("Statement pre-warm skipped: " + e.getMessage()); // not fatal, first query will prepare
+            }
+        }
+        ChangeFeed.shared().start(); // keep open panels current with other desks' changes
+        DaoMetrics.startLog(); // periodic metrics dump if -Dhospital.metrics.logSeconds is set
+        StartupTimer.mark(StartupTimer.Phase.DB_READY); // pool open, schema current
+    }
 }
@@ -1,22 +1,36 @@
 package com.hospital.dao;
 
 import java.sql.Connection;          // JDBC connection interface
-import java.sql.Date;                // SQL Date type (appointment date)
 import java.sql.PreparedStatement;   // precompiled SQL statement
 import java.sql.ResultSet;           // result set from SQL query
 import java.sql.SQLException;        // SQL exception handling
-import java.sql.Time;                // SQL Time type (appointment time)
 import java.sql.Types;               // SQL type constants
+import java.time.DayOfWeek;          // week start
+import java.time.LocalDate;          // appointment date
+import java.time.LocalTime;          // appointment time
+import java.time.temporal.TemporalAdjusters; // week start
 import java.util.ArrayList;          // dynamic list implementation
 import java.util.List;               // list interface
 
+import com.hospital.dao.NameDimension.NarrowRow; // appointment row with ids
 import com.hospital.db.DBConnection; // database connection utility
+import com.hospital.model.Doctor;    // doctor model (row names)
+import com.hospital.model.Patient;   // patient model (row names)
 
 /**
  * Data Access Object for appointments table.
  */
 public class AppointmentDAO {
 
+    private static final DaoMetrics METRICS = DaoMetrics.of(AppointmentDAO.class); // latency, rows and errors per method
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);   // lowest DATE MySQL stores (open export range)
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31); // seek start for schedule pages
+    private static final LocalTime MAX_TIME = LocalTime.of(23, 59, 59);    // seek start for schedule pages
+
+    private final BookingIndex bookings = BookingIndex.shared(); // in-memory per-doctor, per-day bookings
+    private final NameDimension names = NameDimension.shared(); // patient/doctor names for the client-side join
+
     /**
      * Simple DTO (data transfer object) for table display.
      */
@@ -24,40 +38,105 @@ public class AppointmentDAO {
             int id,                 // appointment id
             String patientName,     // full patient name
             String doctorName,      // full doctor name (with specialization)
-            Date date,              // appointment date
-            Time time,              // appointment time
+            LocalDate date,         // appointment date
+            LocalTime time,         // appointment time
             String notes            // optional notes
-    ) {}
+    ) {
+        /**
+         * Builds the row the detailed query returns for a just-booked appointment,
+         * so the UI can show it without re-querying. Names follow the query's CONCAT rules.
+         */
+        public static AppointmentRow of(int id, Patient patient, Doctor doctor, LocalDate date, LocalTime time, String notes) {
+            return new AppointmentRow(
+                    id,
+                    patientName(patient),
+                    doctorName(doctor),
+                    date,
+                    time,
+                    (notes == null || notes.isBlank()) ? null : notes // stored as NULL when blank
+            );
+        }
+
+        static String patientName(Patient patient) { // CONCAT(first_name, ' ', last_name)
+            return patient.getFirstName() + " " + patient.getLastName();
+        }
 
-    public void create(
+        static String doctorName(Doctor doctor) { // same, plus " (specialization)" when there is one
+            return doctor.getFirstName() + " " + doctor.getLastName()
+                    + (doctor.getSpecialization() == null ? "" : " (" + doctor.getSpecialization() + ")");
+        }
+    }
+
+    /**
+     * Books an appointment and returns its id.
+     * Rejects it with {@link BookingConflictException} if the doctor already has a booking
+     * less than one slot ({@link BookingIndex#SLOT_SECONDS}) away on that day.
+     */
+    public int create(
             int patientId,          // referenced patient id
             int doctorId,           // referenced doctor id
-            Date date,              // appointment date
-            Time time,              // appointment time
+            LocalDate date,         // appointment date
+            LocalTime time,         // appointment time
             String notes            // appointment notes
     ) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("create")) {
 
-        String sql = """
-                INSERT INTO appointments
-                (patient_id, doctor_id, appointment_date, appointment_time, notes)
-                VALUES (?, ?, ?, ?, ?)
-                """; // SQL insert query
+            // 1) fast in-memory check; a hit is re-checked against fresh data before rejecting
+            if (bookings.findConflict(doctorId, date, time) >= 0) {
+                bookings.invalidate(doctorId, date);                     // may be stale (other desks delete too)
+                int conflict = bookings.findConflict(doctorId, date, time); // reload the day and check again
+                if (conflict >= 0) throw conflict(doctorId, date, conflict);
+            }
 
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql)) { // prepare statement
+            try (Connection conn = DBConnection.getConnection()) { // borrow pooled DB connection
+                conn.setAutoCommit(false);                         // check + insert in one transaction
+                try {
+                    // 2) lock the doctor row: concurrent bookings of this doctor wait here until we commit
+                    try (PreparedStatement lock = SqlStatement.DOCTOR_LOCK.prepare(conn)) {
+                        lock.setInt(1, doctorId);
+                        try (ResultSet rs = lock.executeQuery()) {
+                            if (!rs.next()) throw new SQLException("Doctor " + doctorId + " does not exist");
+                        }
+                    }
 
-            ps.setInt(1, patientId); // bind patient id
-            ps.setInt(2, doctorId);  // bind doctor id
-            ps.setDate(3, date);     // bind appointment date
-            ps.setTime(4, time);     // bind appointment time
+                    // 3) authoritative overlap check under the lock
+                    int conflict = findOverlap(conn, doctorId, date, time);
+                    if (conflict >= 0) {
+                        conn.rollback();
+                        bookings.invalidate(doctorId, date);       // our copy missed it
+                        throw conflict(doctorId, date, conflict);
+                    }
 
-            if (notes == null || notes.isBlank()) { // check if notes are empty
-                ps.setNull(5, Types.VARCHAR);       // set notes as NULL
-            } else {
-                ps.setString(5, notes);             // bind notes text
-            }
+                    // 4) insert
+                    int id;
+                    try (PreparedStatement ps = SqlStatement.APPOINTMENT_INSERT.prepare(conn)) { // cached insert statement
+                        ps.setInt(1, patientId); // bind patient id
+                        ps.setInt(2, doctorId);  // bind doctor id
+                        ps.setObject(3, date);   // bind appointment date (JDBC 4.2 DATE)
+                        ps.setObject(4, time);   // bind appointment time (JDBC 4.2 TIME)
+
+                        if (notes == null || notes.isBlank()) { // check if notes are empty
+                            ps.setNull(5, Types.VARCHAR);       // set notes as NULL
+                        } else {
+                            ps.setString(5, notes);             // bind notes text
+                        }
+
+                        ps.executeUpdate(); // execute insert query
 
-            ps.executeUpdate(); // execute insert query
+                        try (ResultSet rs = ps.getGeneratedKeys()) { // fetch generated id
+                            id = rs.next() ? rs.getInt(1) : -1;
+                        }
+                    }
+
+                    conn.commit();                                 // releases the doctor lock
+                    bookings.added(id, doctorId, date, time);      // keep the index in sync
+                    DayAggregates.shared().booked(id, doctorId, date, time); // and the dashboard counters
+                    return call.done(id, 1); // the inserted row
+                } catch (SQLException | RuntimeException ex) {
+                    conn.rollback();
+                    throw ex;
+                }
+            }
         }
     }
 
@@ -65,62 +144,289 @@ public class AppointmentDAO {
      * Returns appointments with patient/doctor names for UI display.
      */
     public List<AppointmentRow> listAllDetailed() throws SQLException { // fetch detailed appointment list
+        try (DaoMetrics.Call call = METRICS.start("listAllDetailed")) {
+
+            List<AppointmentRow> result = new ArrayList<>(); // result list
 
-        String sql = """
-                SELECT a.id,
-                       CONCAT(p.first_name, ' ', p.last_name) AS patient_name,
-                       CONCAT(
-                           d.first_name, ' ', d.last_name,
-                           IFNULL(CONCAT(' (', d.specialization, ')'), '')
-                       ) AS doctor_name,
-                       a.appointment_date,
-                       a.appointment_time,
-                       a.notes
-                FROM appointments a
-                JOIN patients p ON p.id = a.patient_id
-                JOIN doctors d ON d.id = a.doctor_id
-                ORDER BY a.id DESC
-                """; // SQL join query
-
-        List<AppointmentRow> result = new ArrayList<>(); // result list
-
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql); // prepare statement
-             ResultSet rs = ps.executeQuery()) {               // execute query
-
-            while (rs.next()) {                                // iterate result set
-                result.add(new AppointmentRow(
-                        rs.getInt("id"),                       // read appointment id
-                        rs.getString("patient_name"),          // read patient name
-                        rs.getString("doctor_name"),           // read doctor name
-                        rs.getDate("appointment_date"),        // read appointment date
-                        rs.getTime("appointment_time"),        // read appointment time
-                        rs.getString("notes")                  // read notes
-                ));
+            try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+                 PreparedStatement ps = SqlStatement.APPOINTMENT_LIST_DETAILED.prepare(conn); // cached join query
+                 ResultSet rs = ps.executeQuery()) {               // execute query
+
+                while (rs.next()) {                                // iterate result set
+                    result.add(mapDetailedRow(rs));                // map joined row
+                }
             }
+            return call.done(result); // return appointment list
         }
-        return result; // return appointment list
     }
 
-    public int deleteByIds(List<Integer> ids) throws SQLException { // deletes appointments by id list
-        if (ids == null || ids.isEmpty()) return 0;                 // guard clause
+    /**
+     * Returns one page of detailed appointments, newest booking (highest id) first.
+     * Pass null for the first page, then the cursors of the returned page.
+     */
+    public Page<AppointmentRow> pageDetailed(PageCursor cursor, int pageSize) throws SQLException { // keyset page by id
+        try (DaoMetrics.Call call = METRICS.start("pageDetailed")) {
+            return call.done(Keyset.page(
+                    SqlStatement.APPOINTMENT_PAGE_NEXT,
+                    SqlStatement.APPOINTMENT_PAGE_PREVIOUS,
+                    cursor,
+                    pageSize,
+                    Keyset::bindId,                                   // seek on a.id
+                    AppointmentDAO::mapDetailedRow,                   // map joined row
+                    (r, dir) -> PageCursor.byId(dir, r.id())          // boundary cursor
+            ));
+        }
+    }
 
-        StringBuilder sb = new StringBuilder(); // build SQL placeholders
-        for (int i = 0; i < ids.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("?");
+    /**
+     * Returns the page of appointments that starts at a row offset (newest first), for random access.
+     */
+    public Page<AppointmentRow> pageDetailedAt(int offset, int pageSize) throws SQLException { // offset page of appointments
+        try (DaoMetrics.Call call = METRICS.start("pageDetailedAt")) {
+            return call.done(Keyset.at(
+                    SqlStatement.APPOINTMENT_PAGE_AT,
+                    offset,
+                    pageSize,
+                    AppointmentDAO::mapDetailedRow,
+                    (r, dir) -> PageCursor.byId(dir, r.id())
+            ));
         }
+    }
 
-        String sql = "DELETE FROM appointments WHERE id IN (" + sb + ")"; // delete query
+    /**
+     * Same rows as {@link #listAllDetailed}, joined in memory: the database returns only the narrow
+     * appointment columns and names come from the shared patient/doctor caches.
+     */
+    public List<AppointmentRow> listAllResolved() throws SQLException { // client-side join
+        try (DaoMetrics.Call call = METRICS.start("listAllResolved")) {
+            List<NarrowRow> rows = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+                 PreparedStatement ps = SqlStatement.APPOINTMENT_NARROW_LIST.prepare(conn); // cached narrow query
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.add(mapNarrowRow(rs));
+            }
+            return call.done(names.resolve(rows));
+        }
+    }
 
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql)) { // prepare statement
+    /**
+     * Same page as {@link #pageDetailed}, joined in memory (see {@link #listAllResolved}).
+     */
+    public Page<AppointmentRow> pageResolved(PageCursor cursor, int pageSize) throws SQLException { // keyset page by id
+        try (DaoMetrics.Call call = METRICS.start("pageResolved")) {
+            Page<NarrowRow> page = Keyset.page(
+                    SqlStatement.APPOINTMENT_NARROW_PAGE_NEXT,
+                    SqlStatement.APPOINTMENT_NARROW_PAGE_PREVIOUS,
+                    cursor,
+                    pageSize,
+                    Keyset::bindId,
+                    AppointmentDAO::mapNarrowRow,
+                    (r, dir) -> PageCursor.byId(dir, r.id())
+            );
+            return call.done(new Page<>(names.resolve(page.rows()), page.next(), page.previous())); // cursors are ids either way
+        }
+    }
+
+    /**
+     * Same page as {@link #pageDetailedAt}, joined in memory (see {@link #listAllResolved}).
+     */
+    public Page<AppointmentRow> pageResolvedAt(int offset, int pageSize) throws SQLException { // offset page
+        try (DaoMetrics.Call call = METRICS.start("pageResolvedAt")) {
+            Page<NarrowRow> page = Keyset.at(
+                    SqlStatement.APPOINTMENT_NARROW_PAGE_AT,
+                    offset,
+                    pageSize,
+                    AppointmentDAO::mapNarrowRow,
+                    (r, dir) -> PageCursor.byId(dir, r.id())
+            );
+            return call.done(new Page<>(names.resolve(page.rows()), page.next(), page.previous()));
+        }
+    }
 
-            for (int i = 0; i < ids.size(); i++) {
-                ps.setInt(i + 1, ids.get(i)); // bind appointment ids
+    public int count() throws SQLException { // number of appointments
+        try (DaoMetrics.Call call = METRICS.start("count")) {
+            return call.done(Keyset.count(SqlStatement.APPOINTMENT_COUNT), 0); // a count returns no rows
+        }
+    }
+
+    /**
+     * Returns a doctor's appointments from..to (inclusive) grouped by day, in date/time order.
+     * One range scan of idx_appt_doctor_date_time, however long the appointment history is.
+     */
+    public Schedule doctorSchedule(int doctorId, LocalDate from, LocalDate to) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("doctorSchedule")) {
+            if (from.isAfter(to)) throw new IllegalArgumentException("Schedule range ends before it starts: " + from + ".." + to);
+            List<NarrowRow> rows = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+                 PreparedStatement ps = SqlStatement.APPOINTMENT_NARROW_DOCTOR_RANGE.prepare(conn)) {
+                ps.setInt(1, doctorId);
+                ps.setObject(2, from);
+                ps.setObject(3, to);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) rows.add(mapNarrowRow(rs));
+                }
             }
-            return ps.executeUpdate();        // execute delete and return affected rows
+            Schedule schedule = Schedule.of(from, to, names.resolve(rows)); // names from the shared caches
+            return call.done(schedule, schedule.size());
         }
     }
 
+    /**
+     * Returns a doctor's appointments in the Monday-to-Sunday week containing the given date.
+     */
+    public Schedule doctorWeek(int doctorId, LocalDate anyDay) throws SQLException {
+        LocalDate monday = anyDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return doctorSchedule(doctorId, monday, monday.plusDays(6));
+    }
+
+    /**
+     * Returns every doctor's appointments on one day, in time order (one range scan of idx_appt_date_time).
+     */
+    public Schedule daySchedule(LocalDate date) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("daySchedule")) {
+            List<NarrowRow> rows = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+                 PreparedStatement ps = SqlStatement.APPOINTMENT_NARROW_DAY.prepare(conn)) {
+                ps.setObject(1, date);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) rows.add(mapNarrowRow(rs));
+                }
+            }
+            Schedule schedule = Schedule.of(date, date, names.resolve(rows));
+            return call.done(schedule, schedule.size());
+        }
+    }
+
+    /**
+     * Returns one page of detailed appointments ordered by appointment date/time, latest first.
+     * Pass null for the first page, then the cursors of the returned page.
+     */
+    public Page<AppointmentRow> pageBySchedule(PageCursor cursor, int pageSize) throws SQLException { // keyset page by date/time
+        try (DaoMetrics.Call call = METRICS.start("pageBySchedule")) {
+            return call.done(Keyset.page(
+                    SqlStatement.APPOINTMENT_SCHEDULE_PAGE_NEXT,
+                    SqlStatement.APPOINTMENT_SCHEDULE_PAGE_PREVIOUS,
+                    cursor,
+                    pageSize,
+                    AppointmentDAO::bindScheduleKey,                  // seek on (date, time, id)
+                    AppointmentDAO::mapDetailedRow,                   // map joined row
+                    (r, dir) -> new PageCursor(dir, r.id(), r.date(), r.time()) // boundary cursor
+            ));
+        }
+    }
+
+    /**
+     * Streams detailed appointments, newest first, without materializing a list.
+     *
+     * @return number of rows delivered
+     */
+    public <X extends Exception> long streamAllDetailed(RowCallback<AppointmentRow, X> callback) throws SQLException, X { // streaming variant of listAllDetailed
+        try (DaoMetrics.Call call = METRICS.start("streamAllDetailed")) {
+            long delivered = Streaming.forEach(SqlStatement.APPOINTMENT_LIST_DETAILED, Streaming.Binder.NONE, AppointmentDAO::mapDetailedRow, callback);
+            return call.done(delivered, delivered);
+        }
+    }
+
+    /**
+     * Streams the detailed appointments of one doctor (or of all, if doctorId is null) from from to to
+     * (inclusive; null leaves that end open), in date/time order, without materializing a list.
+     * Without any filter this is {@link #streamAllDetailed} (newest first), which needs no sort.
+     * The names come from the SQL join, not the caches, so memory stays flat however many people appear.
+     *
+     * @return number of rows delivered
+     */
+    public <X extends Exception> long streamDetailed(Integer doctorId, LocalDate from, LocalDate to,
+                                                     RowCallback<AppointmentRow, X> callback) throws SQLException, X {
+        if (doctorId == null && from == null && to == null) return streamAllDetailed(callback);
+        LocalDate first = from == null ? MIN_DATE : from;
+        LocalDate last = to == null ? MAX_DATE : to;
+        if (first.isAfter(last)) throw new IllegalArgumentException("Range starts after it ends: " + first + " > " + last);
+
+        try (DaoMetrics.Call call = METRICS.start("streamDetailed")) {
+            long delivered = doctorId == null
+                    ? Streaming.forEach(SqlStatement.APPOINTMENT_DETAILED_RANGE, ps -> {
+                        ps.setObject(1, first);
+                        ps.setObject(2, last);
+                    }, AppointmentDAO::mapDetailedRow, callback)
+                    : Streaming.forEach(SqlStatement.APPOINTMENT_DETAILED_DOCTOR_RANGE, ps -> {
+                        ps.setInt(1, doctorId);
+                        ps.setObject(2, first);
+                        ps.setObject(3, last);
+                    }, AppointmentDAO::mapDetailedRow, callback);
+            return call.done(delivered, delivered);
+        }
+    }
+
+    /**
+     * Deletes appointments by ids in one transaction, in bounded chunks.
+     */
+    public int deleteByIds(List<Integer> ids) throws SQLException { // deletes appointments by id list
+        try (DaoMetrics.Call call = METRICS.start("deleteByIds")) {
+            int deleted = ChunkedDelete.deleteByIds("appointments", ids); // atomic chunked delete
+            if (ids != null) {
+                bookings.removed(ids);                                   // free the slots in the index
+                DayAggregates.shared().removed(ids);                     // and uncount them
+            }
+            return call.done(deleted, deleted);
+        }
+    }
+
+    private static int findOverlap(Connection conn, int doctorId, LocalDate date, LocalTime time) throws SQLException { // id of an overlapping booking or -1
+        int start = BookingIndex.secondOfDay(time);
+        int from = Math.max(0, start - BookingIndex.SLOT_SECONDS + 1);        // closer than one slot before
+        int to = Math.min(86_399, start + BookingIndex.SLOT_SECONDS - 1);     // closer than one slot after
+
+        try (PreparedStatement ps = SqlStatement.APPOINTMENT_OVERLAP.prepare(conn)) { // indexed range on (doctor, date, time)
+            ps.setInt(1, doctorId);
+            ps.setObject(2, date);
+            ps.setObject(3, LocalTime.ofSecondOfDay(from));
+            ps.setObject(4, LocalTime.ofSecondOfDay(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    private static BookingConflictException conflict(int doctorId, LocalDate date, int appointmentId) { // builds the error
+        return new BookingConflictException(
+                "Doctor " + doctorId + " already has appointment #" + appointmentId + " within "
+                        + (BookingIndex.SLOT_SECONDS / 60) + " minutes of this time on " + date,
+                appointmentId);
+    }
+
+    private static int bindScheduleKey(PreparedStatement ps, PageCursor cursor) throws SQLException { // binds (date x3, time x2, id)
+        LocalDate date = cursor == null ? MAX_DATE : cursor.date();        // first page: seek from the end of time
+        LocalTime time = cursor == null ? MAX_TIME : cursor.time();
+        int id = cursor == null ? Integer.MAX_VALUE : cursor.id();
+        ps.setObject(1, date);
+        ps.setObject(2, date);
+        ps.setObject(3, date);
+        ps.setObject(4, time);
+        ps.setObject(5, time);
+        ps.setInt(6, id);
+        return 7;                                      // next parameter is the limit
+    }
+
+    // column order of SqlStatement APPOINTMENT_* detail selects
+    private static NarrowRow mapNarrowRow(ResultSet rs) throws SQLException { // maps a narrow row
+        return new NarrowRow(
+                rs.getInt(1),      // appointment id
+                rs.getInt(2),      // patient id
+                rs.getInt(3),      // doctor id
+                rs.getObject(4, LocalDate.class), // appointment date
+                rs.getObject(5, LocalTime.class), // appointment time
+                rs.getString(6)    // notes
+        );
+    }
+
+    static AppointmentRow mapDetailedRow(ResultSet rs) throws SQLException { // maps a joined row
+        return new AppointmentRow(
+                rs.getInt(1),                          // read appointment id
+                rs.getString(2),                       // read patient name
+                rs.getString(3),                       // read doctor name
+                rs.getObject(4, LocalDate.class),      // read appointment date
+                rs.getObject(5, LocalTime.class),      // read appointment time
+                rs.getString(6)                        // read notes
+        );
+    }
 }
@@ -0,0 +1,123 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.SQLException;        // SQL exception handling
+import java.sql.Statement;           // batch result constants
+import java.util.ArrayList;          // per-row statuses
+import java.util.Arrays;             // fill defaults
+import java.util.EnumSet;            // changed field sets
+import java.util.LinkedHashMap;      // groups in first-seen order
+import java.util.List;               // list interface
+import java.util.Map;                // group map
+import java.util.Set;                // set interface
+
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Writes only the changed columns of many records as JDBC batches in a single transaction.
+ * Records are grouped by their set of changed fields so each group shares one UPDATE statement.
+ */
+final class BatchUpdate {
+
+    static final int BATCH_SIZE = 1_000; // rows sent per executeBatch round trip
+
+    private BatchUpdate() {
+        // Utility class
+    }
+
+    /**
+     * Describes how to update one kind of record.
+     */
+    interface Mapping<T, F extends Enum<F>> {
+        Integer id(T item);                        // primary key (null = not saved yet)
+        Set<F> dirtyFields(T item);                // fields changed since load
+        String column(F field);                    // column name of a field
+        void bind(PreparedStatement ps, int index, T item, F field) throws SQLException; // binds a field value
+        void markClean(T item);                    // called after commit
+    }
+
+    static <T, F extends Enum<F>> BatchUpdateResult run(
+            String table,            // table to update
+            List<T> items,           // records to write
+            Mapping<T, F> mapping    // record description
+    ) throws SQLException {
+        BatchUpdateResult.Status[] statuses = new BatchUpdateResult.Status[items.size()];
+        Arrays.fill(statuses, BatchUpdateResult.Status.UNCHANGED);
+
+        // 1) group row indexes by changed-field set
+        Map<EnumSet<F>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item == null || mapping.id(item) == null) continue;
+            Set<F> dirty = mapping.dirtyFields(item);
+            if (dirty.isEmpty()) continue;
+            groups.computeIfAbsent(EnumSet.copyOf(dirty), k -> new ArrayList<>()).add(i);
+        }
+        if (groups.isEmpty()) return new BatchUpdateResult(List.of(statuses));
+
+        // 2) one transaction for all groups
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (Map.Entry<EnumSet<F>, List<Integer>> group : groups.entrySet()) {
+                    runGroup(conn, table, group.getKey(), group.getValue(), items, mapping, statuses);
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback(); // all or nothing
+                throw ex;
+            }
+        }
+
+        // 3) committed: the written records are clean again
+        for (List<Integer> indexes : groups.values()) {
+            for (int i : indexes) {
+                if (statuses[i] == BatchUpdateResult.Status.UPDATED) mapping.markClean(items.get(i));
+            }
+        }
+        return new BatchUpdateResult(List.of(statuses));
+    }
+
+    private static <T, F extends Enum<F>> void runGroup(
+            Connection conn,
+            String table,
+            EnumSet<F> fields,
+            List<Integer> indexes,
+            List<T> items,
+            Mapping<T, F> mapping,
+            BatchUpdateResult.Status[] statuses
+    ) throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        boolean first = true;
+        for (F f : fields) { // EnumSet iterates in declaration order, matching the binds below
+            if (!first) sql.append(", ");
+            sql.append(mapping.column(f)).append(" = ?");
+            first = false;
+        }
+        sql.append(" WHERE id = ?");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int pending = 0; // rows added since the last executeBatch
+            for (int n = 0; n < indexes.size(); n++) {
+                T item = items.get(indexes.get(n));
+                int idx = 1;
+                for (F f : fields) mapping.bind(ps, idx++, item, f);
+                ps.setInt(idx, mapping.id(item));
+                ps.addBatch();
+
+                if (++pending == BATCH_SIZE || n == indexes.size() - 1) {
+                    int[] counts = ps.executeBatch();
+                    int base = n + 1 - pending; // position of the first row of this batch in the group
+                    for (int k = 0; k < counts.length; k++) {
+                        boolean hit = counts[k] > 0 || counts[k] == Statement.SUCCESS_NO_INFO;
+                        statuses[indexes.get(base + k)] = hit
+                                ? BatchUpdateResult.Status.UPDATED
+                                : BatchUpdateResult.Status.NOT_FOUND;
+                    }
+                    pending = 0;
+                }
+            }
+        }
+    }
+}
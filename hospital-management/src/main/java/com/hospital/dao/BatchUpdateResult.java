@@ -0,0 +1,37 @@
+package com.hospital.dao;
+
+import java.util.List; // list interface
+
+/**
+ * Per-row outcome of a batched update, in the same order as the input list.
+ */
+public record BatchUpdateResult(List<Status> statuses) {
+
+    public enum Status {
+        UPDATED,    // row existed and the changed columns were written
+        NOT_FOUND,  // no row with this id
+        UNCHANGED   // nothing to write (no changed fields or no id)
+    }
+
+    public Status statusOf(int index) { // outcome of the input row at index
+        return statuses.get(index);
+    }
+
+    public int updatedCount() { // rows written
+        return count(Status.UPDATED);
+    }
+
+    public int notFoundCount() { // rows whose id does not exist
+        return count(Status.NOT_FOUND);
+    }
+
+    public int unchangedCount() { // rows skipped because nothing changed
+        return count(Status.UNCHANGED);
+    }
+
+    private int count(Status status) {
+        int n = 0;
+        for (Status s : statuses) if (s == status) n++;
+        return n;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hospital.dao;
+
+import java.sql.SQLException; // base type, so existing DAO error handling applies
+
+/**
+ * Thrown when a new appointment overlaps an existing booking of the same doctor.
+ */
+public class BookingConflictException extends SQLException {
+
+    private final int conflictingAppointmentId; // booking that holds the slot
+
+    public BookingConflictException(String message, int conflictingAppointmentId) {
+        super(message, "23000"); // integrity constraint violation class
+        this.conflictingAppointmentId = conflictingAppointmentId;
+    }
+
+    public int getConflictingAppointmentId() { // id of the existing booking
+        return conflictingAppointmentId;
+    }
+}
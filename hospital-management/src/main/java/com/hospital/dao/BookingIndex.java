@@ -0,0 +1,222 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // query results
+import java.sql.SQLException;        // SQL exception handling
+import java.time.LocalDate;          // booking day
+import java.time.LocalTime;          // booking start
+import java.util.ArrayList;          // doctors to load
+import java.util.HashMap;            // reverse index
+import java.util.LinkedHashMap;      // LRU of loaded days
+import java.util.List;               // list interface
+import java.util.Map;                // map interface
+import java.util.TreeMap;            // ordered start times
+
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * In-memory per-doctor, per-day index of booked start times.
+ * Each loaded day is a sorted map, so an overlap check is two O(log n) lookups (floor and ceiling).
+ * Days are loaded from the database on first use and expire after a while, because other desks book too;
+ * the database check in {@link AppointmentDAO#create} stays authoritative.
+ */
+public final class BookingIndex {
+
+    /** Length of one appointment; two bookings of a doctor overlap if their start times are closer than this. */
+    public static final int SLOT_SECONDS =
+            Integer.getInteger("hospital.appointments.slotMinutes", 30) * 60;
+
+    private static final long DAY_TTL_MS = 5 * 60_000L; // reload a day after this (other desks' changes)
+    private static final int MAX_DAYS = 10_000;          // bound on loaded doctor-days
+
+    private static final BookingIndex SHARED = new BookingIndex(); // process-wide instance
+
+    /**
+     * Booked start times (second of day -> appointment id) of one doctor on one day.
+     */
+    private static final class Day {
+        final TreeMap<Integer, Integer> starts = new TreeMap<>();
+        final long loadedAt = System.currentTimeMillis();
+
+        int[] startSeconds() { // copy of the keys, ascending
+            int[] result = new int[starts.size()];
+            int i = 0;
+            for (int s : starts.keySet()) result[i++] = s;
+            return result;
+        }
+    }
+
+    private final LinkedHashMap<Long, Day> days = new LinkedHashMap<>(256, 0.75f, true) { // access-ordered LRU
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Day> eldest) {
+            if (size() <= MAX_DAYS) return false;
+            for (int id : eldest.getValue().starts.values()) dayOfAppointment.remove(id);
+            return true;
+        }
+    };
+    private final Map<Integer, Long> dayOfAppointment = new HashMap<>(); // appointment id -> day key
+
+    public static BookingIndex shared() { // instance used by the DAOs
+        return SHARED;
+    }
+
+    /**
+     * Returns the id of a booking of this doctor that overlaps the given start time, or -1.
+     * Loads the doctor's day from the database if it is not cached (or is stale).
+     */
+    public int findConflict(int doctorId, LocalDate date, LocalTime time) throws SQLException {
+        Day day;
+        synchronized (this) {
+            day = fresh(key(doctorId, date));
+        }
+        if (day == null) day = load(doctorId, date);
+
+        synchronized (this) {
+            return overlapping(day.starts, secondOfDay(time));
+        }
+    }
+
+    /**
+     * Returns the booked start times (seconds of day, ascending) of these doctors on every day from..to,
+     * keyed by {@link #key}. Days that are not cached (or are stale) are loaded with one range query,
+     * and stay cached for the booking checks.
+     */
+    Map<Long, int[]> startsBetween(List<Integer> doctorIds, LocalDate from, LocalDate to) throws SQLException {
+        Map<Long, int[]> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        synchronized (this) {
+            for (int doctorId : doctorIds) {
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    Day day = fresh(key(doctorId, date));
+                    if (day == null) {
+                        missing.add(doctorId); // reload all of this doctor's days
+                        break;
+                    }
+                    result.put(key(doctorId, date), day.startSeconds());
+                }
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        Map<Long, Day> loaded = loadRange(missing, from, to);
+        synchronized (this) {
+            for (Map.Entry<Long, Day> e : loaded.entrySet()) {
+                install(e.getKey(), e.getValue());
+                result.put(e.getKey(), e.getValue().startSeconds());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached day so the next check reloads it.
+     */
+    public synchronized void invalidate(int doctorId, LocalDate date) {
+        Day day = days.remove(key(doctorId, date));
+        if (day != null) for (int id : day.starts.values()) dayOfAppointment.remove(id);
+    }
+
+    /**
+     * Drops everything (e.g. after deleting patients or doctors, whose appointments cascade).
+     */
+    public synchronized void clear() {
+        days.clear();
+        dayOfAppointment.clear();
+    }
+
+    /**
+     * Records a booking that was just stored. Days that are not loaded are left alone.
+     */
+    synchronized void added(int appointmentId, int doctorId, LocalDate date, LocalTime time) {
+        long key = key(doctorId, date);
+        Day day = days.get(key);
+        if (day == null) return;
+        day.starts.put(secondOfDay(time), appointmentId);
+        dayOfAppointment.put(appointmentId, key);
+    }
+
+    /**
+     * Forgets deleted bookings.
+     */
+    synchronized void removed(Iterable<Integer> appointmentIds) {
+        for (Integer id : appointmentIds) {
+            if (id == null) continue;
+            Long key = dayOfAppointment.remove(id);
+            if (key == null) continue;
+            Day day = days.get(key);
+            if (day != null) day.starts.values().remove(id);
+        }
+    }
+
+    /**
+     * Returns the id of the booking within SLOT_SECONDS of start, or -1. O(log n).
+     */
+    static int overlapping(TreeMap<Integer, Integer> starts, int start) {
+        Map.Entry<Integer, Integer> before = starts.floorEntry(start);
+        if (before != null && start - before.getKey() < SLOT_SECONDS) return before.getValue();
+        Map.Entry<Integer, Integer> after = starts.ceilingEntry(start);
+        if (after != null && after.getKey() - start < SLOT_SECONDS) return after.getValue();
+        return -1;
+    }
+
+    private Day load(int doctorId, LocalDate date) throws SQLException {
+        Day day = new Day();
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = SqlStatement.APPOINTMENT_DOCTOR_DAY_STARTS.prepare(conn)) { // uses idx_appt_doctor_date_time
+            ps.setInt(1, doctorId);
+            ps.setObject(2, date);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) day.starts.put(secondOfDay(rs.getObject(2, LocalTime.class)), rs.getInt(1));
+            }
+        }
+
+        synchronized (this) {
+            install(key(doctorId, date), day);
+        }
+        return day;
+    }
+
+    private Map<Long, Day> loadRange(List<Integer> doctorIds, LocalDate from, LocalDate to) throws SQLException { // every day of these doctors
+        Map<Long, Day> loaded = new HashMap<>();
+        for (int doctorId : doctorIds) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) loaded.put(key(doctorId, date), new Day());
+        }
+
+        boolean single = doctorIds.size() == 1;
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = (single ? SqlStatement.APPOINTMENT_DOCTOR_STARTS_BETWEEN // idx_appt_doctor_date_time
+                                            : SqlStatement.APPOINTMENT_STARTS_BETWEEN).prepare(conn)) { // idx_appt_date_time
+            int i = 1;
+            if (single) ps.setInt(i++, doctorIds.get(0));
+            ps.setObject(i++, from);
+            ps.setObject(i, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Day day = loaded.get(key(rs.getInt(2), rs.getObject(3, LocalDate.class)));
+                    if (day != null) day.starts.put(secondOfDay(rs.getObject(4, LocalTime.class)), rs.getInt(1)); // skips doctors not asked for
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Day fresh(long key) { // cached day, or null if missing or stale (caller holds the lock)
+        Day day = days.get(key);
+        return day != null && System.currentTimeMillis() - day.loadedAt > DAY_TTL_MS ? null : day;
+    }
+
+    private void install(long key, Day day) { // caches a loaded day (caller holds the lock)
+        Day old = days.put(key, day);
+        if (old != null) for (int id : old.starts.values()) dayOfAppointment.remove(id);
+        for (int id : day.starts.values()) dayOfAppointment.put(id, key);
+    }
+
+    static long key(int doctorId, LocalDate date) { // packs (doctor, day) into one long
+        return ((long) doctorId << 32) | (date.toEpochDay() & 0xffffffffL);
+    }
+
+    static int secondOfDay(LocalTime time) { // seconds since midnight
+        return time.toSecondOfDay();
+    }
+}
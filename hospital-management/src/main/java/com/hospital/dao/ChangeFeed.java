@@ -0,0 +1,258 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // query results
+import java.sql.SQLException;        // SQL exception handling
+import java.sql.Timestamp;           // updated_at watermark
+import java.util.ArrayList;          // delta lists
+import java.util.HashMap;            // deletions by table
+import java.util.List;               // list interface
+import java.util.Map;                // map interface
+import java.util.concurrent.CopyOnWriteArrayList; // listeners added from the EDT
+import java.util.concurrent.Executors;             // poll thread
+import java.util.concurrent.ScheduledExecutorService; // periodic polls
+import java.util.concurrent.TimeUnit;             // poll interval unit
+import java.util.function.Consumer;               // listener
+import java.util.function.ToIntFunction;          // id of a row
+
+import com.hospital.dao.AppointmentDAO.AppointmentRow; // appointment table row
+import com.hospital.db.DBConfig;     // backend
+import com.hospital.db.DBConnection; // database connection utility
+import com.hospital.model.Doctor;    // doctor model
+import com.hospital.model.Patient;   // patient model
+
+/**
+ * Polls the database for rows other desks inserted, updated or deleted, and hands the differences to listeners.
+ * Each table keeps a watermark on (updated_at, id), so an idle poll is one empty index range scan per table;
+ * deletions come from the deleted_rows log that triggers fill (migration V5). The shared caches are updated
+ * before listeners run. Rows become visible one second after they are written, so writes that are still
+ * being committed are not skipped; a transaction that stays open longer than that can be missed if other
+ * writes commit meanwhile (Refresh still reloads everything).
+ */
+public final class ChangeFeed {
+
+    /** Milliseconds between polls; 0 disables the feed. */
+    public static final long POLL_MS = Long.getLong("hospital.changes.pollMs", 2_000L);
+
+    /** Changed rows read per table and poll; more means listeners should reload instead. */
+    static final int MAX_ROWS = 500;
+
+    private static final long PRUNE_EVERY_MS = 60 * 60_000L; // deletion log housekeeping
+
+    private static final ChangeFeed SHARED = new ChangeFeed(); // process-wide instance
+
+    /**
+     * Changes of one table since the previous poll. Inserted rows have ids above every id seen before.
+     * If overflow is set, more rows changed than were read: reload instead of applying the lists.
+     */
+    public record Delta<T>(List<T> inserted, List<T> updated, List<Integer> deleted, boolean overflow) {
+        public boolean isEmpty() { // nothing to apply
+            return inserted.isEmpty() && updated.isEmpty() && deleted.isEmpty() && !overflow;
+        }
+    }
+
+    /**
+     * Everything one poll found.
+     */
+    public record Changes(Delta<Patient> patients, Delta<Doctor> doctors, Delta<AppointmentRow> appointments) {
+        public boolean isEmpty() {
+            return patients.isEmpty() && doctors.isEmpty() && appointments.isEmpty();
+        }
+    }
+
+    /**
+     * Position of the feed in one table.
+     */
+    private static final class Watermark {
+        Timestamp updatedAt; // last change read
+        int id;              // tie-breaker among rows changed in the same millisecond
+        int maxId;           // largest id seen: larger ids are inserts
+
+        Watermark(Timestamp updatedAt, int maxId) {
+            this.updatedAt = updatedAt;
+            this.id = Integer.MAX_VALUE; // nothing at the start instant itself
+            this.maxId = maxId;
+        }
+    }
+
+    private final List<Consumer<Changes>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService poller; // null until started
+
+    private Watermark patients;     // null until the first poll
+    private Watermark doctors;
+    private Watermark appointments;
+    private long deletedSeq;        // last deletion log entry read
+    private long lastPrune;         // when the log was last pruned
+    private boolean failing;        // an error was logged and nothing has succeeded since
+
+    private ChangeFeed() {
+    }
+
+    public static ChangeFeed shared() { // instance used by the panels
+        return SHARED;
+    }
+
+    /**
+     * Registers a listener; it is called on the poll thread for every non-empty poll.
+     */
+    public void addListener(Consumer<Changes> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Changes> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts polling in the background (once; does nothing if {@link #POLL_MS} is 0 or the
+     * database is embedded, since then no other process can change it).
+     */
+    public synchronized void start() {
+        if (poller != null || POLL_MS <= 0 || !DBConfig.BACKEND.isShared()) return;
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "change-feed");
+            t.setDaemon(true); // never keeps the JVM alive
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::pollQuietly, 0, POLL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() { // stops polling; start() resumes from the current watermarks
+        if (poller == null) return;
+        poller.shutdownNow();
+        poller = null;
+    }
+
+    private void pollQuietly() { // errors must not cancel the schedule
+        try {
+            poll();
+            failing = false;
+        } catch (Exception ex) {
+            if (!failing) System.err.println("Change feed poll failed: " + ex.getMessage()); // logged once per outage
+            failing = true;
+        }
+    }
+
+    /**
+     * Reads everything that changed since the previous poll and notifies the listeners.
+     */
+    synchronized void poll() throws SQLException {
+        Changes changes;
+        try (Connection conn = DBConnection.getConnection()) { // borrow pooled DB connection
+            if (patients == null) { // first poll: start from now
+                startingPoint(conn);
+                return;
+            }
+            Map<String, List<Integer>> deleted = new HashMap<>();
+            boolean deletionOverflow = readDeletions(conn, deleted);
+
+            changes = new Changes(
+                    read(conn, SqlStatement.PATIENT_CHANGES, PatientDAO::mapRow, Patient::getId, patients,
+                            deleted.getOrDefault("patients", List.of()), deletionOverflow),
+                    read(conn, SqlStatement.DOCTOR_CHANGES, DoctorDAO::mapRow, Doctor::getId, doctors,
+                            deleted.getOrDefault("doctors", List.of()), deletionOverflow),
+                    read(conn, SqlStatement.APPOINTMENT_CHANGES, AppointmentDAO::mapDetailedRow, AppointmentRow::id, appointments,
+                            deleted.getOrDefault("appointments", List.of()), deletionOverflow)
+            );
+            pruneLog(conn);
+        }
+        if (changes.isEmpty()) return;
+
+        updateCaches(changes);
+        for (Consumer<Changes> listener : listeners) listener.accept(changes);
+    }
+
+    private void startingPoint(Connection conn) throws SQLException { // watermarks at the current state
+        try (PreparedStatement ps = SqlStatement.CHANGE_WATERMARKS.prepare(conn);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            Timestamp now = rs.getTimestamp(1);
+            patients = new Watermark(now, rs.getInt(2));
+            doctors = new Watermark(now, rs.getInt(3));
+            appointments = new Watermark(now, rs.getInt(4));
+            deletedSeq = rs.getLong(5);
+        }
+    }
+
+    private boolean readDeletions(Connection conn, Map<String, List<Integer>> byTable) throws SQLException { // true on overflow
+        int count = 0;
+        try (PreparedStatement ps = SqlStatement.DELETED_ROWS_SINCE.prepare(conn)) {
+            ps.setLong(1, deletedSeq);
+            ps.setInt(2, MAX_ROWS + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && count++ < MAX_ROWS) {
+                    deletedSeq = rs.getLong(1);
+                    byTable.computeIfAbsent(rs.getString(2), k -> new ArrayList<>()).add(rs.getInt(3));
+                }
+            }
+        }
+        return count > MAX_ROWS;
+    }
+
+    private <T> Delta<T> read(Connection conn, SqlStatement sql, RowMapper<T> mapper, ToIntFunction<T> idOf,
+                              Watermark mark, List<Integer> deleted, boolean deletionOverflow) throws SQLException {
+        List<T> inserted = new ArrayList<>();
+        List<T> updated = new ArrayList<>();
+        int count = 0;
+        int maxId = mark.maxId;
+
+        try (PreparedStatement ps = sql.prepare(conn)) {
+            ps.setTimestamp(1, mark.updatedAt); // leading bound: keeps H2 on the index too
+            ps.setTimestamp(2, mark.updatedAt);
+            ps.setTimestamp(3, mark.updatedAt);
+            ps.setInt(4, mark.id);
+            ps.setInt(5, MAX_ROWS + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && count++ < MAX_ROWS) {
+                    T row = mapper.map(rs);
+                    int id = idOf.applyAsInt(row);
+                    mark.updatedAt = rs.getTimestamp("updated_at");
+                    mark.id = id;
+                    if (id > mark.maxId) inserted.add(row); // ids only grow: new since the last poll
+                    else updated.add(row);
+                    maxId = Math.max(maxId, id);
+                    if (row instanceof AppointmentRow a) { // other desks' bookings invalidate the overlap index
+                        BookingIndex.shared().invalidate(rs.getInt("doctor_id"), a.date());
+                        DayAggregates.shared().booked(id, rs.getInt("doctor_id"), a.date(), a.time()); // idempotent for our own writes
+                    }
+                }
+            }
+        }
+        mark.maxId = maxId;
+        return new Delta<>(inserted, updated, deleted, count > MAX_ROWS || deletionOverflow);
+    }
+
+    private void pruneLog(Connection conn) throws SQLException { // occasional, small batches
+        long now = System.currentTimeMillis();
+        if (now - lastPrune < PRUNE_EVERY_MS) return;
+        lastPrune = now;
+        try (PreparedStatement ps = SqlStatement.DELETED_ROWS_PRUNE.prepare(conn)) {
+            ps.executeUpdate();
+        }
+    }
+
+    private static void updateCaches(Changes changes) { // before the listeners, so they read current data
+        ReferenceCache<Patient> patientCache = ReferenceCache.patients();
+        ReferenceCache<Doctor> doctorCache = ReferenceCache.doctors();
+        if (changes.patients().overflow()) patientCache.clear();
+        else {
+            changes.patients().inserted().forEach(patientCache::written);
+            changes.patients().updated().forEach(patientCache::written);
+            if (!changes.patients().deleted().isEmpty()) patientCache.removed(changes.patients().deleted());
+        }
+        if (changes.doctors().overflow()) doctorCache.clear();
+        else {
+            changes.doctors().inserted().forEach(doctorCache::written);
+            changes.doctors().updated().forEach(doctorCache::written);
+            if (!changes.doctors().deleted().isEmpty()) doctorCache.removed(changes.doctors().deleted());
+        }
+        if (changes.appointments().overflow()) {
+            BookingIndex.shared().clear();
+            DayAggregates.shared().clear();
+        } else if (!changes.appointments().deleted().isEmpty()) {
+            BookingIndex.shared().removed(changes.appointments().deleted());
+            DayAggregates.shared().removed(changes.appointments().deleted());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.DatabaseMetaData;    // foreign key metadata
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // metadata rows
+import java.sql.SQLException;        // SQL exception handling
+import java.util.Arrays;             // sort ids
+import java.util.List;               // list interface
+import java.util.Map;                // cascade cache
+import java.util.Objects;            // null filter
+import java.util.concurrent.ConcurrentHashMap; // thread-safe cascade cache
+
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Deletes rows by id in bounded chunks inside one transaction.
+ * Dependent rows are removed by the foreign key's ON DELETE CASCADE when the schema declares it,
+ * otherwise explicitly (child chunk before parent chunk) in the same transaction.
+ */
+final class ChunkedDelete {
+
+    /**
+     * IN-list sizes. A chunk is padded (by repeating its last id) up to the next size so only
+     * a handful of distinct statements exist and their prepared handles stay cached.
+     */
+    private static final int[] CHUNK_SIZES = { 1, 10, 100, 500 };
+    static final int MAX_CHUNK = CHUNK_SIZES[CHUNK_SIZES.length - 1]; // stays well under placeholder/packet limits
+
+    private static final Map<String, Boolean> CASCADES = new ConcurrentHashMap<>(); // "child->parent" -> declared cascade
+
+    private ChunkedDelete() {
+        // Utility class
+    }
+
+    /**
+     * A table whose rows reference the parent table.
+     */
+    record Child(String table, String foreignKeyColumn) { }
+
+    /**
+     * Deletes the given ids from the table (and their dependent child rows) atomically.
+     *
+     * @return number of parent rows deleted
+     */
+    static int deleteByIds(String table, List<Integer> ids, Child... children) throws SQLException {
+        if (ids == null || ids.isEmpty()) return 0;
+
+        int[] sorted = ids.stream().filter(Objects::nonNull).mapToInt(Integer::intValue).distinct().toArray();
+        Arrays.sort(sorted); // consistent lock order across concurrent purges
+        if (sorted.length == 0) return 0;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int deleted = 0;
+                for (int from = 0; from < sorted.length; from += MAX_CHUNK) {
+                    int to = Math.min(from + MAX_CHUNK, sorted.length);
+                    for (Child child : children) {
+                        if (!isCascading(conn, child.table(), table)) {
+                            deleteChunk(conn, child.table(), child.foreignKeyColumn(), sorted, from, to);
+                        }
+                    }
+                    deleted += deleteChunk(conn, table, "id", sorted, from, to);
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback(); // nothing is deleted if any chunk fails
+                throw ex;
+            }
+        }
+    }
+
+    private static int deleteChunk(Connection conn, String table, String column,
+                                   int[] ids, int from, int to) throws SQLException {
+        int count = to - from;
+        int size = bucket(count);
+
+        StringBuilder sql = new StringBuilder("DELETE FROM ").append(table)
+                .append(" WHERE ").append(column).append(" IN (");
+        for (int i = 0; i < size; i++) sql.append(i == 0 ? "?" : ",?");
+        sql.append(")");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < size; i++) {
+                ps.setInt(i + 1, ids[from + Math.min(i, count - 1)]); // pad with the last id
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    static int bucket(int count) { // smallest IN-list size that fits count ids (also used by batched lookups)
+        for (int s : CHUNK_SIZES) if (count <= s) return s;
+        return MAX_CHUNK;
+    }
+
+    /**
+     * True if the schema declares child -> parent with ON DELETE CASCADE (looked up once).
+     */
+    private static boolean isCascading(Connection conn, String child, String parent) throws SQLException {
+        String key = child + "->" + parent;
+        Boolean cached = CASCADES.get(key);
+        if (cached != null) return cached;
+
+        DatabaseMetaData md = conn.getMetaData();
+        String table = md.storesUpperCaseIdentifiers() ? child.toUpperCase() : child;
+        boolean cascade = false;
+        try (ResultSet rs = md.getImportedKeys(conn.getCatalog(), null, table)) {
+            while (rs.next()) {
+                if (parent.equalsIgnoreCase(rs.getString("PKTABLE_NAME"))
+                        && rs.getShort("DELETE_RULE") == DatabaseMetaData.importedKeyCascade) {
+                    cascade = true;
+                }
+            }
+        }
+        CASCADES.put(key, cascade);
+        return cascade;
+    }
+}
@@ -0,0 +1,180 @@
+package com.hospital.dao;
+
+import java.util.ArrayList;          // report lines
+import java.util.Collection;         // row count of list results
+import java.util.List;               // list interface
+import java.util.Map;                // operations by name
+import java.util.concurrent.ConcurrentHashMap;      // registered operations
+import java.util.concurrent.ConcurrentSkipListMap;  // report order
+import java.util.concurrent.Executors;              // log thread
+import java.util.concurrent.TimeUnit;               // log interval unit
+import java.util.concurrent.atomic.LongAdder;       // contention-free counters
+
+import com.hospital.db.DBConnection; // pool counters for the report
+import com.hospital.util.Jmx;        // MBean registration
+import com.hospital.util.LatencyHistogram; // latency percentiles
+
+/**
+ * Latency histograms and call, row and error counts of every DAO method.
+ * Each operation is published as an MXBean (com.hospital:type=Dao,dao=PatientDAO,op=create) on first use,
+ * and everything can be printed periodically with -Dhospital.metrics.logSeconds=N.
+ * A DAO method wraps its body in {@code try (DaoMetrics.Call call = METRICS.start("name"))} and returns
+ * through {@link Call#done}; leaving the block without done() (an exception) counts as an error.
+ */
+public final class DaoMetrics {
+
+    /** Seconds between metric dumps to stdout; 0 disables them. */
+    public static final long LOG_SECONDS = Long.getLong("hospital.metrics.logSeconds", 0L);
+
+    private static final Map<String, Operation> ALL = new ConcurrentSkipListMap<>(); // "PatientDAO.create" -> op, sorted
+
+    /**
+     * Management interface of one operation (times in milliseconds).
+     */
+    public interface OperationMXBean {
+        long getCalls();
+        long getErrors();
+        long getRows();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP95Millis();
+        double getP99Millis();
+        double getMaxMillis();
+        void reset();
+    }
+
+    /**
+     * Counters of one DAO method.
+     */
+    static final class Operation implements OperationMXBean {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+
+        @Override public long getCalls() { return latency.count(); }
+        @Override public long getErrors() { return errors.sum(); }
+        @Override public long getRows() { return rows.sum(); }
+        @Override public double getMeanMillis() { return latency.meanNanos() / 1e6; }
+        @Override public double getP50Millis() { return latency.percentileNanos(0.50) / 1e6; }
+        @Override public double getP95Millis() { return latency.percentileNanos(0.95) / 1e6; }
+        @Override public double getP99Millis() { return latency.percentileNanos(0.99) / 1e6; }
+        @Override public double getMaxMillis() { return latency.maxNanos() / 1e6; }
+
+        @Override
+        public void reset() {
+            latency.reset();
+            errors.reset();
+            rows.reset();
+        }
+    }
+
+    /**
+     * One timed call; close it (try-with-resources) when the method returns.
+     */
+    public static final class Call implements AutoCloseable {
+        private final Operation op;
+        private final long start = System.nanoTime();
+        private boolean done; // set by done(); otherwise the call failed
+
+        private Call(Operation op) {
+            this.op = op;
+        }
+
+        public void done() { // success without rows
+            done = true;
+        }
+
+        /**
+         * Marks success and returns the result; rows are the size of a list or page, 1 for a found object
+         * or true, 0 for null or false. Counts, ids and other numbers say what they touched with
+         * {@link #done(Object, long)}.
+         */
+        public <T> T done(T result) {
+            long n = result == null ? 0
+                    : result instanceof Collection<?> c ? c.size()
+                    : result instanceof Page<?> p ? p.rows().size()
+                    : result instanceof BatchUpdateResult b ? b.updatedCount()
+                    : result instanceof Boolean b ? (b ? 1 : 0)
+                    : 1;
+            return done(result, n);
+        }
+
+        public <T> T done(T result, long rows) { // marks success with an explicit row count
+            op.rows.add(rows);
+            done = true;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            op.latency.record(System.nanoTime() - start);
+            if (!done) op.errors.increment();
+        }
+    }
+
+    private final String dao; // e.g. "PatientDAO"
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>(); // method -> counters
+
+    private DaoMetrics(String dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Returns the metrics of one DAO class (keep it in a static field).
+     */
+    public static DaoMetrics of(Class<?> daoClass) {
+        return new DaoMetrics(daoClass.getSimpleName());
+    }
+
+    /**
+     * Starts timing a call of the named method.
+     */
+    public Call start(String method) {
+        Operation op = operations.get(method);
+        if (op == null) op = operations.computeIfAbsent(method, this::register); // first call only
+        return new Call(op);
+    }
+
+    private Operation register(String method) { // publish a new operation
+        Operation op = new Operation();
+        ALL.put(dao + "." + method, op);
+        Jmx.register("type=Dao,dao=" + dao + ",op=" + method, op, OperationMXBean.class);
+        return op;
+    }
+
+    /**
+     * Returns one line per called operation, then the pool and cache counters.
+     */
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Operation> e : ALL.entrySet()) {
+            Operation op = e.getValue();
+            if (op.getCalls() == 0) continue;
+            lines.add(String.format("%s calls=%d errors=%d rows=%d p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    e.getKey(), op.getCalls(), op.getErrors(), op.getRows(),
+                    op.getP50Millis(), op.getP95Millis(), op.getP99Millis(), op.getMaxMillis()));
+        }
+        lines.add("pool " + DBConnection.poolStats());
+        lines.add("cache " + ReferenceCache.patients().stats());
+        lines.add("cache " + ReferenceCache.doctors().stats());
+        return lines;
+    }
+
+    /**
+     * Prints {@link #report()} every {@link #LOG_SECONDS} seconds on a daemon thread (if enabled).
+     */
+    public static void startLog() {
+        if (LOG_SECONDS <= 0) return;
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-log");
+            t.setDaemon(true); // never keeps the JVM alive
+            return t;
+        }).scheduleAtFixedRate(() -> {
+            try {
+                for (String line : report()) System.out.println("[metrics] " + line);
+            } catch (RuntimeException ex) {
+                System.err.println("Metrics dump failed: " + ex.getMessage()); // keep the schedule alive
+            }
+        }, LOG_SECONDS, LOG_SECONDS, TimeUnit.SECONDS);
+    }
+}
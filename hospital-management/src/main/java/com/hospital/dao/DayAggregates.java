@@ -0,0 +1,253 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // the day's bookings
+import java.sql.ResultSet;           // query results
+import java.sql.SQLException;        // SQL exception handling
+import java.time.DayOfWeek;          // working-hour template day
+import java.time.LocalDate;          // counted day
+import java.time.LocalDateTime;      // snapshot clock
+import java.time.LocalTime;          // booking start, periods
+import java.util.ArrayList;          // snapshot lists
+import java.util.Arrays;             // hour counters
+import java.util.Comparator;         // period order
+import java.util.HashMap;            // counters by id
+import java.util.LinkedHashMap;      // specializations in first-seen order
+import java.util.List;               // list interface
+import java.util.Map;                // map interface
+import java.util.concurrent.CopyOnWriteArrayList; // listeners added from the EDT
+
+import com.hospital.db.DBConnection; // database connection utility
+import com.hospital.model.Doctor;    // names and specializations
+
+/**
+ * Counters over today's appointments for the dashboard: per doctor, per specialization and per hour.
+ * They are read from the database once a day (one range scan of idx_appt_date_time) and then kept
+ * current by the bookings and deletions of this desk ({@link AppointmentDAO}) and of other desks
+ * ({@link ChangeFeed}), so a dashboard refresh never re-runs a GROUP BY over the appointments table.
+ * Per-specialization counts and capacity are derived from the per-doctor counters when a snapshot is taken.
+ */
+public final class DayAggregates {
+
+    /** Label of doctors without a specialization. */
+    public static final String NO_SPECIALIZATION = "Unspecified";
+
+    private static final DayAggregates SHARED = new DayAggregates(); // process-wide instance
+
+    /**
+     * Bookings of today that one row (doctor, specialization or the whole day) accounts for.
+     */
+    public record Count(String label, int count) { }
+
+    /**
+     * Hours of today in which a specialization has no free capacity left; to is exclusive.
+     */
+    public record FullPeriod(String specialization, LocalTime from, LocalTime to) { }
+
+    /**
+     * Dashboard view of one day.
+     * byHour has 24 entries (bookings starting in each hour); fullPeriods lists the hours from now on in which
+     * every working doctor of a specialization is booked, by their working-hour templates.
+     */
+    public record Snapshot(LocalDate day, int total, List<Count> byDoctor, List<Count> bySpecialization,
+                           List<Integer> byHour, List<FullPeriod> fullPeriods) { }
+
+    private static final Comparator<Count> BUSIEST_FIRST = (x, y) ->
+            x.count() != y.count() ? Integer.compare(y.count(), x.count()) : x.label().compareTo(y.label());
+
+    private record Booking(int doctorId, int hour) { } // what one appointment adds to the counters
+
+    private LocalDate day;                                       // counted day; null until loaded
+    private final Map<Integer, Booking> bookings = new HashMap<>(); // appointment id -> its contribution
+    private final Map<Integer, int[]> doctorHours = new HashMap<>(); // doctor id -> bookings per hour
+    private final int[] hours = new int[24];                     // bookings per hour, all doctors
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private DayAggregates() {
+    }
+
+    public static DayAggregates shared() { // instance used by the DAOs and the dashboard
+        return SHARED;
+    }
+
+    /**
+     * Registers a listener, called (on the thread that made the change) after the counters changed.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the current counters of today. Reads the day from the database on first use and after
+     * midnight; otherwise works from memory (doctor names from the shared cache).
+     */
+    public Snapshot snapshot() throws SQLException {
+        return snapshot(LocalDateTime.now());
+    }
+
+    Snapshot snapshot(LocalDateTime now) throws SQLException { // the snapshot itself, with an explicit clock
+        LocalDate today = now.toLocalDate();
+        Map<Integer, int[]> perDoctor;
+        int[] perHour;
+        synchronized (this) {
+            if (!today.equals(day)) load(today);
+            perDoctor = new HashMap<>();
+            doctorHours.forEach((id, h) -> perDoctor.put(id, h.clone()));
+            perHour = hours.clone();
+        }
+
+        Map<Integer, Doctor> doctors = new HashMap<>();
+        for (Doctor d : ReferenceCache.doctors().allShared()) doctors.put(d.getId(), d);
+
+        List<Count> byDoctor = new ArrayList<>();
+        Map<String, Integer> bySpecialization = new LinkedHashMap<>();
+        int total = 0;
+        for (Map.Entry<Integer, int[]> e : perDoctor.entrySet()) {
+            int count = 0;
+            for (int c : e.getValue()) count += c;
+            if (count == 0) continue;
+            Doctor d = doctors.get(e.getKey());
+            byDoctor.add(new Count(d == null ? "Doctor #" + e.getKey() : d.getFirstName() + " " + d.getLastName(), count));
+            bySpecialization.merge(specialization(d), count, Integer::sum);
+            total += count;
+        }
+        byDoctor.sort(BUSIEST_FIRST);
+        List<Count> specs = new ArrayList<>();
+        bySpecialization.forEach((spec, count) -> specs.add(new Count(spec, count)));
+        specs.sort(BUSIEST_FIRST);
+
+        List<Integer> byHour = new ArrayList<>(24);
+        for (int h : perHour) byHour.add(h);
+
+        return new Snapshot(today, total, byDoctor, specs, byHour, fullPeriods(now, doctors, perDoctor));
+    }
+
+    /**
+     * Counts a booking that was stored or changed (a changed booking first leaves its old place).
+     */
+    void booked(int appointmentId, int doctorId, LocalDate date, LocalTime time) {
+        synchronized (this) {
+            if (day == null) return;            // not loaded: the first snapshot reads the day
+            Booking old = bookings.remove(appointmentId);
+            if (old != null) subtract(old);
+            if (date.equals(day)) {
+                Booking b = new Booking(doctorId, time.getHour());
+                bookings.put(appointmentId, b);
+                doctorHours.computeIfAbsent(doctorId, id -> new int[24])[b.hour()]++;
+                hours[b.hour()]++;
+            } else if (old == null) {
+                return;                          // another day, nothing changed
+            }
+        }
+        changed();
+    }
+
+    /**
+     * Forgets deleted bookings.
+     */
+    void removed(Iterable<Integer> appointmentIds) {
+        boolean any = false;
+        synchronized (this) {
+            for (Integer id : appointmentIds) {
+                Booking old = id == null ? null : bookings.remove(id);
+                if (old == null) continue;
+                subtract(old);
+                any = true;
+            }
+        }
+        if (any) changed();
+    }
+
+    /**
+     * Drops the counters; the next snapshot reads the day again (e.g. after cascading deletes).
+     */
+    public void clear() {
+        synchronized (this) {
+            day = null;
+            bookings.clear();
+            doctorHours.clear();
+            Arrays.fill(hours, 0);
+        }
+        changed();
+    }
+
+    private void load(LocalDate date) throws SQLException { // caller holds the lock, so no change slips in between
+        bookings.clear();
+        doctorHours.clear();
+        Arrays.fill(hours, 0);
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = SqlStatement.APPOINTMENT_STARTS_BETWEEN.prepare(conn)) { // idx_appt_date_time
+            ps.setObject(1, date);
+            ps.setObject(2, date);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Booking b = new Booking(rs.getInt(2), rs.getObject(4, LocalTime.class).getHour());
+                    bookings.put(rs.getInt(1), b);
+                    doctorHours.computeIfAbsent(b.doctorId(), id -> new int[24])[b.hour()]++;
+                    hours[b.hour()]++;
+                }
+            }
+        }
+        day = date;
+    }
+
+    private void subtract(Booking b) { // caller holds the lock
+        int[] h = doctorHours.get(b.doctorId());
+        if (h != null) h[b.hour()]--;
+        hours[b.hour()]--;
+    }
+
+    private void changed() {
+        for (Runnable listener : listeners) listener.run();
+    }
+
+    /**
+     * Upcoming hours in which bookings fill every working slot of a specialization.
+     * Capacity of a doctor-hour is the working minutes of the hour divided by the booking length.
+     */
+    private static List<FullPeriod> fullPeriods(LocalDateTime now, Map<Integer, Doctor> doctors,
+                                                Map<Integer, int[]> perDoctor) throws SQLException {
+        DayOfWeek weekday = now.getDayOfWeek();
+        int slotMinutes = BookingIndex.SLOT_SECONDS / 60;
+        Map<String, int[]> capacity = new HashMap<>(); // specialization -> free-or-booked slots per hour
+        Map<String, int[]> booked = new HashMap<>();   // specialization -> bookings per hour
+        Map<Integer, int[]> working = SlotFinder.shared().workingMinutesByHour(new ArrayList<>(doctors.keySet()), weekday);
+        int currentHour = now.getHour(); // earlier hours are not upcoming
+        for (Doctor d : doctors.values()) {
+            String spec = specialization(d);
+            int[] cap = capacity.computeIfAbsent(spec, s -> new int[24]);
+            int[] minutes = working.get(d.getId());
+            for (int h = currentHour; h < 24; h++) cap[h] += minutes[h] / slotMinutes;
+            int[] counts = perDoctor.get(d.getId());
+            if (counts != null) {
+                int[] b = booked.computeIfAbsent(spec, s -> new int[24]);
+                for (int h = currentHour; h < 24; h++) b[h] += counts[h];
+            }
+        }
+
+        List<FullPeriod> result = new ArrayList<>();
+        capacity.forEach((spec, cap) -> {
+            int[] b = booked.getOrDefault(spec, new int[24]);
+            int start = -1;
+            for (int h = currentHour; h <= 24; h++) {
+                boolean full = h < 24 && cap[h] > 0 && b[h] >= cap[h];
+                if (full && start < 0) start = h;
+                if (!full && start >= 0) {
+                    result.add(new FullPeriod(spec, LocalTime.of(start, 0), h == 24 ? LocalTime.MAX : LocalTime.of(h, 0)));
+                    start = -1;
+                }
+            }
+        });
+        result.sort(Comparator.comparing(FullPeriod::from).thenComparing(FullPeriod::specialization));
+        return result;
+    }
+
+    private static String specialization(Doctor d) { // grouping key
+        return d == null || d.getSpecialization() == null || d.getSpecialization().isBlank()
+                ? NO_SPECIALIZATION : d.getSpecialization().trim();
+    }
+}
@@ -5,58 +5,181 @@ import java.sql.Connection; // database connection
 import java.sql.PreparedStatement; // prepared SQL statement
 import java.sql.ResultSet; // query results
 import java.sql.SQLException; // SQL exception
-import java.sql.Statement; // SQL statement
+import java.time.DayOfWeek; // working-hour day
+import java.time.LocalTime; // working-hour bounds
 import java.util.ArrayList; // list implementation
+import java.util.HashMap; // templates by doctor
 import java.util.List; // list interface
+import java.util.Map; // map interface
+import java.util.Set; // changed field set
 
 import com.hospital.db.DBConnection; // database connection helper
 import com.hospital.model.Doctor; // doctor model
+import com.hospital.model.WorkingHours; // weekly working-hour template
+import com.hospital.util.PrefixIndex; // type-ahead index
 
 public class DoctorDAO { // data access object for doctors
 
+    private static final DaoMetrics METRICS = DaoMetrics.of(DoctorDAO.class); // latency, rows and errors per method
+
+    private final ReferenceCache<Doctor> cache = ReferenceCache.doctors(); // shared with every panel
+
     // Insert a new doctor record into the database with auto-generated ID
     public void create(Doctor doctor) throws SQLException {
-        String sql = """
-                INSERT INTO doctors (first_name, last_name, specialization, phone)
-                VALUES (?, ?, ?, ?)""";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (DaoMetrics.Call call = METRICS.start("create")) {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = SqlStatement.DOCTOR_INSERT.prepare(conn)) {
 
-            ps.setString(1, doctor.getFirstName());
-            ps.setString(2, doctor.getLastName());
-            ps.setString(3, doctor.getSpecialization());
-            ps.setString(4, doctor.getPhone());
+                ps.setString(1, doctor.getFirstName());
+                ps.setString(2, doctor.getLastName());
+                ps.setString(3, doctor.getSpecialization());
+                ps.setString(4, doctor.getPhone());
 
-            ps.executeUpdate();
+                ps.executeUpdate();
 
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) doctor.setId(rs.getInt(1));
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) doctor.setId(rs.getInt(1));
+                }
+                doctor.markClean();
             }
+            cache.written(doctor); // other panels see it without a query
+            call.done(doctor, 1); // the inserted row
+        }
+    }
+
+    /**
+     * Writes the changed fields of one doctor.
+     * Returns false if no doctor with this id exists.
+     */
+    public boolean update(Doctor doctor) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("update")) {
+            return call.done(write(List.of(doctor)).statusOf(0) != BatchUpdateResult.Status.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Writes the changed fields of many doctors as JDBC batches in one transaction.
+     * Only the columns reported by {@link Doctor#getDirtyFields()} are written; on failure nothing is.
+     */
+    public BatchUpdateResult updateAll(List<Doctor> doctors) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("updateAll")) {
+            return call.done(write(doctors));
+        }
+    }
+
+    private BatchUpdateResult write(List<Doctor> doctors) throws SQLException { // update and updateAll, measured once by the caller
+        BatchUpdateResult result = BatchUpdate.run("doctors", doctors, DOCTOR_UPDATE);
+        for (int i = 0; i < doctors.size(); i++) {
+            if (result.statusOf(i) == BatchUpdateResult.Status.UPDATED) cache.written(doctors.get(i)); // keep the cache current
+        }
+        return result;
+    }
+
+    /**
+     * Returns the doctor with this id (from the shared cache when possible), or null.
+     */
+    public Doctor findById(int id) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("findById")) {
+            return call.done(cache.get(id));
         }
     }
 
+    /**
+     * Returns all doctors, newest first, from the shared cache (loaded once, refreshed after writes).
+     * Each call copies every doctor; above hospital.cache.maxListEntries each call reads the whole table.
+     */
     public List<Doctor> listAll() throws SQLException {
-        String sql = """
-                SELECT id, first_name, last_name, specialization, phone
-                FROM doctors
-                ORDER BY id DESC
-                """;
+        try (DaoMetrics.Call call = METRICS.start("listAll")) {
+            return call.done(cache.all());
+        }
+    }
+
+    /**
+     * Loads the doctor list into the shared cache and builds the prefix index behind {@link #suggestCached}
+     * (off the EDT); false if there are too many doctors to index, so suggestions keep querying the database.
+     */
+    public boolean warmSuggestions() throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("warmSuggestions")) {
+            return call.done(cache.warm(), 0); // nothing is returned to the caller
+        }
+    }
+
+    /**
+     * Returns up to limit doctors whose first name, last name, full name, specialization or id starts with the query,
+     * from the in-memory prefix index; null while the index is not built.
+     */
+    public List<Doctor> suggestCached(String query, int limit) { // per keystroke, never touches the database
+        try (DaoMetrics.Call call = METRICS.start("suggestCached")) {
+            return call.done(cache.search(query, limit));
+        }
+    }
+
+    /**
+     * Same as {@link #suggestCached}, but falls back to an indexed name query while the index is cold.
+     */
+    public List<Doctor> suggest(String query, int limit) throws SQLException { // type-ahead search
+        try (DaoMetrics.Call call = METRICS.start("suggest")) {
+            List<Doctor> hits = cache.search(query, limit); // as suggestCached, counted once under suggest
+            return call.done(hits != null ? hits : searchByPrefix(query, limit));
+        }
+    }
+
+    private List<Doctor> searchByPrefix(String query, int limit) throws SQLException { // indexed fallback
+        String q = PrefixIndex.normalize(query);
+        if (q.isEmpty()) return List.of();
+        if (q.length() <= 9 && q.chars().allMatch(Character::isDigit)) { // an id
+            Doctor byId = cache.get(Integer.parseInt(q)); // as findById
+            return byId == null ? List.of() : List.of(byId);
+        }
+
+        String pattern = SqlStatement.likePrefix(q.split(" ")[0]); // first word: prefix of either name (index range)
+        List<Doctor> result = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = SqlStatement.DOCTOR_SEARCH_NAME.prepare(conn)) {
+            ps.setString(1, pattern);
+            ps.setInt(2, limit * 4); // headroom for rows the full query filters out
+            ps.setString(3, pattern);
+            ps.setInt(4, limit * 4);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && result.size() < limit) {
+                    Doctor row = mapRow(rs);
+                    if (PrefixIndex.matches(searchKeys(row), q)) result.add(row); // same rules as the index
+                }
+            }
+        }
+        return result;
+    }
+
+    static List<String> searchKeys(Doctor d) { // keys a doctor is found by
+        String first = d.getFirstName() == null ? "" : d.getFirstName();
+        String last = d.getLastName() == null ? "" : d.getLastName();
+        return List.of(first, last, first + " " + last, last + " " + first, String.valueOf(d.getId()),
+                d.getSpecialization() == null ? "" : d.getSpecialization());
+    }
+
+    static Doctor selectById(int id) throws SQLException { // cache loader: one doctor by primary key
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = SqlStatement.DOCTOR_BY_ID.prepare(conn)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        }
+    }
 
+    static List<Doctor> selectByIds(int[] ids) throws SQLException { // cache loader: many doctors, batched
+        return IdLookup.select("doctors", ids, DoctorDAO::mapRow);
+    }
+
+    static List<Doctor> selectAll() throws SQLException { // cache loader: every doctor
         List<Doctor> result = new ArrayList<>();
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
+             PreparedStatement ps = SqlStatement.DOCTOR_LIST_ALL.prepare(conn);
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                result.add(new Doctor(
-                        rs.getInt("id"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("specialization"),
-                        rs.getString("phone")
-                ));
+                result.add(mapRow(rs));
             }
         }
 
@@ -64,52 +187,183 @@ public class DoctorDAO { // data access object for doctors
     }
 
     /**
-     * Deletes doctors by ids.
-     * NOTE: If appointments reference doctors, delete those appointments first.
+     * Returns one page of doctors, newest first.
+     * Pass null for the first page, then the cursors of the returned page.
      */
-    public int deleteByIds(List<Integer> ids) throws SQLException {
-        if (ids == null || ids.isEmpty()) return 0;
+    public Page<Doctor> page(PageCursor cursor, int pageSize) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("page")) {
+            Page<Doctor> page = Keyset.page(
+                    SqlStatement.DOCTOR_PAGE_NEXT,
+                    SqlStatement.DOCTOR_PAGE_PREVIOUS,
+                    cursor,
+                    pageSize,
+                    Keyset::bindId,
+                    DoctorDAO::mapRow,
+                    (d, dir) -> PageCursor.byId(dir, d.getId())
+            );
+            cache.loaded(page.rows()); // id lookups elsewhere can use these rows
+            return call.done(page);
+        }
+    }
 
-        // 1) delete appointments that reference these doctors (avoid FK errors)
-        deleteAppointmentsByDoctorIds(ids);
+    /**
+     * Returns the page of doctors that starts at a row offset (newest first), for random access.
+     */
+    public Page<Doctor> pageAt(int offset, int pageSize) throws SQLException { // offset page of doctors
+        try (DaoMetrics.Call call = METRICS.start("pageAt")) {
+            Page<Doctor> page = Keyset.at(
+                    SqlStatement.DOCTOR_PAGE_AT,
+                    offset,
+                    pageSize,
+                    DoctorDAO::mapRow,
+                    (r, dir) -> PageCursor.byId(dir, r.getId())
+            );
+            cache.loaded(page.rows()); // id lookups elsewhere can use these rows
+            return call.done(page);
+        }
+    }
 
-        // 2) delete doctors
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < ids.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("?");
+    public int count() throws SQLException { // number of doctors
+        try (DaoMetrics.Call call = METRICS.start("count")) {
+            return call.done(Keyset.count(SqlStatement.DOCTOR_COUNT), 0); // a count returns no rows
         }
+    }
 
-        String sql = "DELETE FROM doctors WHERE id IN (" + sb + ")";
+    /**
+     * Streams all doctors, newest first, without materializing a list.
+     */
+    public <X extends Exception> long streamAll(RowCallback<Doctor, X> callback) throws SQLException, X {
+        try (DaoMetrics.Call call = METRICS.start("streamAll")) {
+            long delivered = Streaming.forEach(SqlStatement.DOCTOR_LIST_ALL, Streaming.Binder.NONE, DoctorDAO::mapRow, callback);
+            return call.done(delivered, delivered);
+        }
+    }
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    /**
+     * Deletes doctors by ids in one transaction, in bounded chunks.
+     * Their appointments go with them (ON DELETE CASCADE, or explicitly if the schema lacks it).
+     */
+    public int deleteByIds(List<Integer> ids) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("deleteByIds")) {
+            int deleted = ChunkedDelete.deleteByIds("doctors", ids, DOCTOR_APPOINTMENTS);
+            if (ids != null) cache.removed(ids); // forget cached copies
+            if (deleted > 0) { // their appointments are gone too
+                BookingIndex.shared().clear();
+                DayAggregates.shared().clear();
+            }
+            return call.done(deleted, deleted);
+        }
+    }
 
-            for (int i = 0; i < ids.size(); i++) {
-                ps.setInt(i + 1, ids.get(i));
+    /**
+     * Returns a doctor's weekly working hours, or {@link WorkingHours#DEFAULT} if none are stored.
+     */
+    public WorkingHours workingHours(int doctorId) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("workingHours")) {
+            List<WorkingHours.Shift> shifts = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = SqlStatement.WORKING_HOURS_BY_DOCTOR.prepare(conn)) {
+                ps.setInt(1, doctorId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) shifts.add(mapShift(rs));
+                }
             }
-            return ps.executeUpdate();
+            return call.done(shifts.isEmpty() ? WorkingHours.DEFAULT : new WorkingHours(shifts));
         }
     }
 
-    private int deleteAppointmentsByDoctorIds(List<Integer> doctorIds) throws SQLException {
-        if (doctorIds == null || doctorIds.isEmpty()) return 0;
+    /**
+     * Replaces a doctor's working hours in one transaction.
+     * Saving an empty template removes the stored hours, so the doctor works the default template again.
+     */
+    public void saveWorkingHours(int doctorId, WorkingHours hours) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("saveWorkingHours")) {
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    try (PreparedStatement ps = SqlStatement.WORKING_HOURS_DELETE.prepare(conn)) {
+                        ps.setInt(1, doctorId);
+                        ps.executeUpdate();
+                    }
+                    try (PreparedStatement ps = SqlStatement.WORKING_HOURS_INSERT.prepare(conn)) {
+                        for (WorkingHours.Shift s : hours.shifts()) {
+                            ps.setInt(1, doctorId);
+                            ps.setInt(2, s.day().getValue()); // ISO day number
+                            ps.setObject(3, s.start());
+                            ps.setObject(4, s.end());
+                            ps.addBatch();
+                        }
+                        if (!hours.isEmpty()) ps.executeBatch();
+                    }
+                    conn.commit();
+                } catch (SQLException | RuntimeException ex) {
+                    conn.rollback();
+                    throw ex;
+                }
+            }
+            SlotFinder.shared().workingHoursChanged(); // next search reloads the templates
+            call.done();
+        }
+    }
 
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < doctorIds.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("?");
+    static Map<Integer, WorkingHours> selectAllWorkingHours() throws SQLException { // SlotFinder loader: every stored template
+        Map<Integer, List<WorkingHours.Shift>> shifts = new HashMap<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = SqlStatement.WORKING_HOURS_ALL.prepare(conn);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) shifts.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>()).add(mapShift(rs));
         }
 
-        String sql = "DELETE FROM appointments WHERE doctor_id IN (" + sb + ")";
+        Map<Integer, WorkingHours> result = new HashMap<>();
+        shifts.forEach((id, list) -> result.put(id, new WorkingHours(list)));
+        return result;
+    }
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    // column order of SqlStatement WORKING_HOURS_* selects: doctor_id, day_of_week, start_time, end_time
+    private static WorkingHours.Shift mapShift(ResultSet rs) throws SQLException {
+        return new WorkingHours.Shift(
+                DayOfWeek.of(rs.getInt(2)),
+                rs.getObject(3, LocalTime.class),
+                rs.getObject(4, LocalTime.class)
+        );
+    }
+
+    private static final ChunkedDelete.Child DOCTOR_APPOINTMENTS = new ChunkedDelete.Child("appointments", "doctor_id");
+
+    private static final BatchUpdate.Mapping<Doctor, Doctor.Field> DOCTOR_UPDATE = new BatchUpdate.Mapping<>() {
+        @Override public Integer id(Doctor d) { return d.getId(); }
+        @Override public Set<Doctor.Field> dirtyFields(Doctor d) { return d.getDirtyFields(); }
+        @Override public void markClean(Doctor d) { d.markClean(); }
 
-            for (int i = 0; i < doctorIds.size(); i++) {
-                ps.setInt(i + 1, doctorIds.get(i));
+        @Override
+        public String column(Doctor.Field f) {
+            return switch (f) {
+                case FIRST_NAME -> "first_name";
+                case LAST_NAME -> "last_name";
+                case SPECIALIZATION -> "specialization";
+                case PHONE -> "phone";
+            };
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, int i, Doctor d, Doctor.Field f) throws SQLException {
+            switch (f) {
+                case FIRST_NAME -> ps.setString(i, d.getFirstName());
+                case LAST_NAME -> ps.setString(i, d.getLastName());
+                case SPECIALIZATION -> ps.setString(i, d.getSpecialization());
+                case PHONE -> ps.setString(i, d.getPhone());
             }
-            return ps.executeUpdate();
         }
+    };
+
+    // column order of SqlStatement DOCTOR_* selects: id, first_name, last_name, specialization, phone
+    static Doctor mapRow(ResultSet rs) throws SQLException {
+        return new Doctor(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5)
+        );
     }
 }
@@ -0,0 +1,45 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // query results
+import java.sql.SQLException;        // SQL exception handling
+import java.util.ArrayList;          // result list
+import java.util.List;               // list interface
+
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Loads many rows by primary key with a few IN-list queries instead of one query per id.
+ * Lists are padded like {@link ChunkedDelete}'s so their prepared handles stay cached.
+ */
+final class IdLookup {
+
+    private IdLookup() {
+        // Utility class
+    }
+
+    /**
+     * Returns the rows of the table with these ids (missing ids are skipped), in no particular order.
+     */
+    static <T> List<T> select(String table, int[] ids, RowMapper<T> mapper) throws SQLException {
+        List<T> result = new ArrayList<>(ids.length);
+        if (ids.length == 0) return result;
+
+        try (Connection conn = DBConnection.getConnection()) { // one connection for all chunks
+            for (int from = 0; from < ids.length; from += ChunkedDelete.MAX_CHUNK) {
+                int count = Math.min(ChunkedDelete.MAX_CHUNK, ids.length - from);
+                int size = ChunkedDelete.bucket(count);
+                try (PreparedStatement ps = conn.prepareStatement(SqlStatement.selectByIds(table, size))) {
+                    for (int i = 0; i < size; i++) {
+                        ps.setInt(i + 1, ids[from + Math.min(i, count - 1)]); // pad with the last id
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) result.add(mapper.map(rs));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // result of SQL query
+import java.sql.SQLException;        // SQL exception handling
+import java.util.ArrayList;          // page rows
+import java.util.Collections;        // reverse backward pages
+import java.util.List;               // list interface
+
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Shared keyset (seek) pagination used by the DAOs.
+ * Each page is one indexed range scan of pageSize + 1 rows; the extra row tells whether more rows exist.
+ */
+final class Keyset {
+
+    private Keyset() {
+        // Utility class
+    }
+
+    /**
+     * Binds the seek key of a cursor (null = first page) and returns the next parameter index.
+     */
+    @FunctionalInterface
+    interface KeyBinder {
+        int bind(PreparedStatement ps, PageCursor cursor) throws SQLException;
+    }
+
+    /**
+     * Binds filter parameters from index on and returns the next parameter index.
+     */
+    @FunctionalInterface
+    interface FilterBinder {
+        FilterBinder NONE = (ps, index) -> index; // no filters
+
+        int bind(PreparedStatement ps, int index) throws SQLException;
+    }
+
+    /**
+     * Builds the cursor that points at a row.
+     */
+    @FunctionalInterface
+    interface CursorFactory<T> {
+        PageCursor at(T row, PageCursor.Direction direction);
+    }
+
+    static <T> Page<T> page(
+            SqlStatement nextSql,       // rows after the key, display order
+            SqlStatement previousSql,   // rows before the key, reverse display order
+            PageCursor cursor,          // null for the first page
+            int pageSize,               // requested rows per page
+            KeyBinder binder,           // binds the seek key
+            RowMapper<T> mapper,        // maps one row
+            CursorFactory<T> cursors    // builds neighbour cursors
+    ) throws SQLException {
+        return page(nextSql.sql(), previousSql.sql(), cursor, pageSize, binder, mapper, cursors);
+    }
+
+    /**
+     * Same as above for queries built at runtime (e.g. search filters); the binder binds filters and seek key.
+     */
+    static <T> Page<T> page(
+            String nextSql,
+            String previousSql,
+            PageCursor cursor,
+            int pageSize,
+            KeyBinder binder,
+            RowMapper<T> mapper,
+            CursorFactory<T> cursors
+    ) throws SQLException {
+        int size = Math.max(1, Math.min(pageSize, Page.MAX_SIZE)); // clamp page size
+        boolean backward = cursor != null && cursor.direction() == PageCursor.Direction.PREVIOUS;
+
+        List<T> rows = new ArrayList<>(size + 1);
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = conn.prepareStatement(backward ? previousSql : nextSql)) { // cached seek query
+
+            int idx = binder.bind(ps, cursor); // bind seek key
+            ps.setInt(idx, size + 1);          // one extra row to detect a further page
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.add(mapper.map(rs));
+            }
+        }
+
+        boolean more = rows.size() > size;            // a further page exists in scan direction
+        if (more) rows.remove(rows.size() - 1);       // drop the probe row
+
+        if (backward) {
+            if (!more) {
+                // reached the top: return a full first page instead of a short one
+                return page(nextSql, previousSql, null, pageSize, binder, mapper, cursors);
+            }
+            Collections.reverse(rows); // back to display order
+        }
+
+        if (rows.isEmpty()) {
+            // nothing left past the cursor (e.g. rows were deleted): fall back to the first page
+            return cursor == null
+                    ? new Page<>(rows, null, null)
+                    : page(nextSql, previousSql, null, pageSize, binder, mapper, cursors);
+        }
+
+        boolean hasNext = backward || more;           // going back, the page we came from follows
+        boolean hasPrevious = backward || cursor != null; // going forward, the page we came from precedes
+        return new Page<>(
+                rows,
+                hasNext ? cursors.at(rows.get(rows.size() - 1), PageCursor.Direction.NEXT) : null,
+                hasPrevious ? cursors.at(rows.get(0), PageCursor.Direction.PREVIOUS) : null
+        );
+    }
+
+    /**
+     * Returns the page that starts at a row offset, for random access (e.g. a dragged scrollbar).
+     * The statement takes (limit, offset). Its cursors allow continuing with {@link #page} from there.
+     */
+    static <T> Page<T> at(
+            SqlStatement sql,           // offset query, display order
+            int offset,                 // rows to skip
+            int pageSize,               // requested rows per page
+            RowMapper<T> mapper,        // maps one row
+            CursorFactory<T> cursors    // builds neighbour cursors
+    ) throws SQLException {
+        return at(sql.sql(), FilterBinder.NONE, offset, pageSize, mapper, cursors);
+    }
+
+    /**
+     * Same as above for queries built at runtime; filters are bound first, then (limit, offset).
+     */
+    static <T> Page<T> at(
+            String sql,
+            FilterBinder filters,
+            int offset,
+            int pageSize,
+            RowMapper<T> mapper,
+            CursorFactory<T> cursors
+    ) throws SQLException {
+        int size = Math.max(1, Math.min(pageSize, Page.MAX_SIZE)); // clamp page size
+        int skip = Math.max(0, offset);
+
+        List<T> rows = new ArrayList<>(size + 1);
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = conn.prepareStatement(sql)) { // cached offset query
+            int idx = filters.bind(ps, 1);
+            ps.setInt(idx, size + 1); // one extra row to detect a further page
+            ps.setInt(idx + 1, skip);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.add(mapper.map(rs));
+            }
+        }
+
+        boolean more = rows.size() > size;
+        if (more) rows.remove(rows.size() - 1); // drop the probe row
+        if (rows.isEmpty()) return new Page<>(rows, null, null);
+
+        return new Page<>(
+                rows,
+                more ? cursors.at(rows.get(rows.size() - 1), PageCursor.Direction.NEXT) : null,
+                skip > 0 ? cursors.at(rows.get(0), PageCursor.Direction.PREVIOUS) : null
+        );
+    }
+
+    /**
+     * Returns the single number a COUNT(*) statement yields.
+     */
+    static int count(SqlStatement sql) throws SQLException {
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = sql.prepare(conn);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Binds an id seek key; the first page seeks from the largest possible id.
+     */
+    static int bindId(PreparedStatement ps, PageCursor cursor) throws SQLException {
+        ps.setInt(1, cursor == null ? Integer.MAX_VALUE : cursor.id());
+        return 2;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hospital.dao;
+
+import java.sql.SQLException;        // SQL exception handling
+import java.time.LocalDate;          // appointment date
+import java.time.LocalTime;          // appointment time
+import java.util.ArrayList;          // resolved rows
+import java.util.List;               // list interface
+import java.util.Objects;            // null-safe comparison
+
+import com.hospital.dao.AppointmentDAO.AppointmentRow; // resolved row
+import com.hospital.model.Doctor;    // doctor model
+import com.hospital.model.Patient;   // patient model
+import com.hospital.util.BoundedIntMap; // int-keyed bounded map
+
+/**
+ * Client-side join of appointment rows with patient and doctor names.
+ * The database returns only ids; names come from the shared reference caches (misses are loaded in
+ * batches) and each person's display name is built once and shared by all of their rows.
+ * A name is rebuilt when the cached person's name (or specialization) differs from the one it was built from.
+ */
+final class NameDimension {
+
+    /**
+     * Appointment row as stored: ids instead of names.
+     */
+    record NarrowRow(int id, int patientId, int doctorId, LocalDate date, LocalTime time, String notes) { }
+
+    /**
+     * Display name and the values it was built from.
+     */
+    private record Entry(String firstName, String lastName, String specialization, String name) {
+        boolean builtFrom(String first, String last, String spec) {
+            return Objects.equals(firstName, first) && Objects.equals(lastName, last) && Objects.equals(specialization, spec);
+        }
+    }
+
+    private static final NameDimension SHARED = new NameDimension(); // process-wide instance
+
+    private final ReferenceCache<Patient> patientCache = ReferenceCache.patients();
+    private final ReferenceCache<Doctor> doctorCache = ReferenceCache.doctors();
+    private final BoundedIntMap<Entry> patientNames = new BoundedIntMap<>(ReferenceCache.MAX_ENTRIES); // id -> name
+    private final BoundedIntMap<Entry> doctorNames = new BoundedIntMap<>(ReferenceCache.MAX_ENTRIES);  // id -> name
+
+    private NameDimension() {
+    }
+
+    static NameDimension shared() { // instance used by AppointmentDAO
+        return SHARED;
+    }
+
+    /**
+     * Turns stored rows into display rows, in the same order. Rows whose patient or doctor
+     * no longer exists are dropped, as the SQL inner join would.
+     */
+    List<AppointmentRow> resolve(List<NarrowRow> rows) throws SQLException {
+        patientCache.loadAll(rows.stream().mapToInt(NarrowRow::patientId).distinct().toArray()); // batched misses
+        doctorCache.loadAll(rows.stream().mapToInt(NarrowRow::doctorId).distinct().toArray());
+
+        List<AppointmentRow> result = new ArrayList<>(rows.size());
+        for (NarrowRow r : rows) {
+            String patient = patientName(r.patientId());
+            String doctor = doctorName(r.doctorId());
+            if (patient == null || doctor == null) continue; // deleted meanwhile
+            result.add(new AppointmentRow(r.id(), patient, doctor, r.date(), r.time(), r.notes()));
+        }
+        return result;
+    }
+
+    private String patientName(int id) throws SQLException { // shared display name, or null
+        Patient p = patientCache.peekShared(id);
+        if (p == null) p = patientCache.get(id); // evicted since loadAll (cache smaller than the page's people)
+        if (p == null) return null;
+        synchronized (this) {
+            Entry e = patientNames.get(id);
+            if (e != null && e.builtFrom(p.getFirstName(), p.getLastName(), null)) return e.name();
+            String name = AppointmentRow.patientName(p);
+            patientNames.put(id, new Entry(p.getFirstName(), p.getLastName(), null, name));
+            return name;
+        }
+    }
+
+    private String doctorName(int id) throws SQLException { // shared display name, or null
+        Doctor d = doctorCache.peekShared(id);
+        if (d == null) d = doctorCache.get(id);
+        if (d == null) return null;
+        synchronized (this) {
+            Entry e = doctorNames.get(id);
+            if (e != null && e.builtFrom(d.getFirstName(), d.getLastName(), d.getSpecialization())) return e.name();
+            String name = AppointmentRow.doctorName(d);
+            doctorNames.put(id, new Entry(d.getFirstName(), d.getLastName(), d.getSpecialization(), name));
+            return name;
+        }
+    }
+}
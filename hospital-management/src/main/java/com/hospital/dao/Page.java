@@ -0,0 +1,25 @@
+package com.hospital.dao;
+
+import java.util.List; // list interface
+
+/**
+ * One page of rows plus the cursors of its neighbour pages.
+ * A null cursor means there is no page in that direction.
+ */
+public record Page<T>(
+        List<T> rows,        // rows in display order
+        PageCursor next,     // cursor of the following page (null on the last page)
+        PageCursor previous  // cursor of the preceding page (null on the first page)
+) {
+
+    public static final int DEFAULT_SIZE = 100; // rows per page when the caller has no preference
+    public static final int MAX_SIZE = 1_000;   // upper bound so a page never becomes a full table scan
+
+    public boolean hasNext() { // true if a following page exists
+        return next != null;
+    }
+
+    public boolean hasPrevious() { // true if a preceding page exists
+        return previous != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hospital.dao;
+
+import java.time.LocalDate; // appointment date (schedule order)
+import java.time.LocalTime; // appointment time (schedule order)
+
+/**
+ * Keyset position used to fetch the page next to a previously returned page.
+ * Cursors are taken from {@link Page#next()} / {@link Page#previous()}; pass null for the first page.
+ */
+public record PageCursor(
+        Direction direction, // which neighbour page to fetch
+        int id,              // id of the boundary row
+        LocalDate date,      // appointment date of the boundary row (schedule order only)
+        LocalTime time       // appointment time of the boundary row (schedule order only)
+) {
+
+    public enum Direction {
+        NEXT,     // rows after the boundary in display order (older)
+        PREVIOUS  // rows before the boundary in display order (newer)
+    }
+
+    static PageCursor byId(Direction direction, int id) { // cursor for id-ordered pages
+        return new PageCursor(direction, id, null, null);
+    }
+}
@@ -1,80 +1,192 @@
 package com.hospital.dao;
 
 import java.sql.Connection;          // JDBC connection interface
-import java.sql.Date;                // SQL Date type
 import java.sql.PreparedStatement;   // precompiled SQL statement
 import java.sql.ResultSet;           // result of SQL query
 import java.sql.SQLException;        // SQL exception handling
-import java.sql.Statement;           // SQL statement interface
 import java.sql.Types;               // SQL type constants
 import java.time.LocalDate;          // modern date API
 import java.util.ArrayList;          // resizable list implementation
 import java.util.List;               // list interface
+import java.util.Set;                // changed field set
 
+import com.hospital.db.Backend;      // embedded backend has no row estimates
+import com.hospital.db.DBConfig;     // backend
 import com.hospital.db.DBConnection; // database connection utility
 import com.hospital.model.Patient;  // patient domain model
+import com.hospital.util.PrefixIndex;   // type-ahead index
 
 public class PatientDAO {
 
+    private static final DaoMetrics METRICS = DaoMetrics.of(PatientDAO.class); // latency, rows and errors per method
+
+    /** Search results up to this size are counted exactly (see {@link #countMatches}). */
+    public static final int EXACT_COUNT_LIMIT = 10_000;
+
+    private final ReferenceCache<Patient> cache = ReferenceCache.patients(); // shared with every panel
+
     public void create(Patient patient) throws SQLException { // inserts a new patient record
-        String sql = """
-                INSERT INTO patients (first_name, last_name, phone, gender, birth_date)
-                VALUES (?, ?, ?, ?, ?)
-                """; // SQL insert query
-
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) { // prepare statement
-
-            ps.setString(1, patient.getFirstName()); // bind first name
-            ps.setString(2, patient.getLastName());  // bind last name
-            ps.setString(3, patient.getPhone());     // bind phone number
-            ps.setString(4, patient.getGender());    // bind gender
-
-            if (patient.getBirthDate() != null) {    // check birth date existence
-                ps.setDate(5, Date.valueOf(patient.getBirthDate())); // bind birth date
-            } else {
-                ps.setNull(5, Types.DATE);            // set NULL if birth date is missing
-            }
+        try (DaoMetrics.Call call = METRICS.start("create")) {
+            try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+                 PreparedStatement ps = SqlStatement.PATIENT_INSERT.prepare(conn)) { // cached insert statement
+
+                ps.setString(1, patient.getFirstName()); // bind first name
+                ps.setString(2, patient.getLastName());  // bind last name
+                ps.setString(3, patient.getPhone());     // bind phone number
+                ps.setString(4, patient.getGender());    // bind gender
+
+                if (patient.getBirthDate() != null) {    // check birth date existence
+                    ps.setObject(5, patient.getBirthDate()); // bind birth date
+                } else {
+                    ps.setNull(5, Types.DATE);            // set NULL if birth date is missing
+                }
 
-            ps.executeUpdate();                        // execute insert query
+                ps.executeUpdate();                        // execute insert query
 
-            try (ResultSet rs = ps.getGeneratedKeys()) { // fetch auto-generated keys
-                if (rs.next()) patient.setId(rs.getInt(1)); // set generated patient id
+                try (ResultSet rs = ps.getGeneratedKeys()) { // fetch auto-generated keys
+                    if (rs.next()) patient.setId(rs.getInt(1)); // set generated patient id
+                }
+                patient.markClean(); // stored: nothing pending
             }
+            cache.written(patient); // other panels see it without a query
+            call.done(patient, 1); // the inserted row
         }
     }
 
+    /**
+     * Writes the changed fields of one patient.
+     *
+     * @return true if the patient exists and was updated (or had nothing to write)
+     */
+    public boolean update(Patient patient) throws SQLException { // updates changed columns only
+        try (DaoMetrics.Call call = METRICS.start("update")) {
+            return call.done(write(List.of(patient)).statusOf(0) != BatchUpdateResult.Status.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Writes the changed fields of many patients as JDBC batches in one transaction.
+     * Only the columns reported by {@link Patient#getDirtyFields()} are written; on failure nothing is.
+     */
+    public BatchUpdateResult updateAll(List<Patient> patients) throws SQLException { // batched multi-row update
+        try (DaoMetrics.Call call = METRICS.start("updateAll")) {
+            return call.done(write(patients));
+        }
+    }
+
+    private BatchUpdateResult write(List<Patient> patients) throws SQLException { // update and updateAll, measured once by the caller
+        BatchUpdateResult result = BatchUpdate.run("patients", patients, PATIENT_UPDATE);
+        for (int i = 0; i < patients.size(); i++) {
+            if (result.statusOf(i) == BatchUpdateResult.Status.UPDATED) cache.written(patients.get(i)); // keep the cache current
+        }
+        return result;
+    }
+
+    /**
+     * Returns the patient with this id (from the shared cache when possible), or null.
+     */
+    public Patient findById(int id) throws SQLException { // O(1) on a cache hit
+        try (DaoMetrics.Call call = METRICS.start("findById")) {
+            return call.done(cache.get(id));
+        }
+    }
+
+    /**
+     * Returns all patients, newest first, from the shared cache (loaded once, refreshed after writes).
+     * Each call copies every patient. With more than hospital.cache.maxListEntries patients the list is
+     * not cached and each call reads the whole table: prefer paging or {@link #streamAll}.
+     */
     public List<Patient> listAll() throws SQLException { // retrieves all patients
-        String sql = """
-                SELECT id, first_name, last_name, phone, gender, birth_date
-                FROM patients
-                ORDER BY id DESC
-                """; // SQL select query
+        try (DaoMetrics.Call call = METRICS.start("listAll")) {
+            return call.done(cache.all());
+        }
+    }
+
+    /**
+     * Loads the patient list into the shared cache and builds the prefix index behind {@link #suggestCached}
+     * (off the EDT); false if there are too many patients to index, so suggestions keep querying the database.
+     */
+    public boolean warmSuggestions() throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("warmSuggestions")) {
+            return call.done(cache.warm(), 0); // nothing is returned to the caller
+        }
+    }
+
+    /**
+     * Returns up to limit patients whose first name, last name, full name or id starts with the query,
+     * from the in-memory prefix index; null while the index is not built.
+     */
+    public List<Patient> suggestCached(String query, int limit) { // per keystroke, never touches the database
+        try (DaoMetrics.Call call = METRICS.start("suggestCached")) {
+            return call.done(cache.search(query, limit));
+        }
+    }
+
+    /**
+     * Same as {@link #suggestCached}, but falls back to an indexed name query while the index is cold.
+     */
+    public List<Patient> suggest(String query, int limit) throws SQLException { // type-ahead search
+        try (DaoMetrics.Call call = METRICS.start("suggest")) {
+            List<Patient> hits = cache.search(query, limit); // as suggestCached, counted once under suggest
+            return call.done(hits != null ? hits : searchByPrefix(query, limit));
+        }
+    }
+
+    private List<Patient> searchByPrefix(String query, int limit) throws SQLException { // indexed fallback
+        String q = PrefixIndex.normalize(query);
+        if (q.isEmpty()) return List.of();
+        if (q.length() <= 9 && q.chars().allMatch(Character::isDigit)) { // an id
+            Patient byId = cache.get(Integer.parseInt(q)); // as findById
+            return byId == null ? List.of() : List.of(byId);
+        }
 
+        String pattern = SqlStatement.likePrefix(q.split(" ")[0]); // first word: prefix of either name (index range)
+        List<Patient> result = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = SqlStatement.PATIENT_SEARCH_NAME.prepare(conn)) {
+            ps.setString(1, pattern);
+            ps.setInt(2, limit * 4); // headroom for rows the full query filters out
+            ps.setString(3, pattern);
+            ps.setInt(4, limit * 4);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && result.size() < limit) {
+                    Patient row = mapRow(rs);
+                    if (PrefixIndex.matches(searchKeys(row), q)) result.add(row); // same rules as the index
+                }
+            }
+        }
+        return result;
+    }
+
+    static List<String> searchKeys(Patient p) { // keys a patient is found by
+        String first = p.getFirstName() == null ? "" : p.getFirstName();
+        String last = p.getLastName() == null ? "" : p.getLastName();
+        return List.of(first, last, first + " " + last, last + " " + first, String.valueOf(p.getId()));
+    }
+
+    static Patient selectById(int id) throws SQLException { // cache loader: one patient by primary key
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = SqlStatement.PATIENT_BY_ID.prepare(conn)) { // cached select statement
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        }
+    }
+
+    static List<Patient> selectByIds(int[] ids) throws SQLException { // cache loader: many patients, batched
+        return IdLookup.select("patients", ids, PatientDAO::mapRow);
+    }
+
+    static List<Patient> selectAll() throws SQLException { // cache loader: every patient
         List<Patient> result = new ArrayList<>(); // list to store patients
 
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql); // prepare statement
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = SqlStatement.PATIENT_LIST_ALL.prepare(conn); // cached select statement
              ResultSet rs = ps.executeQuery()) {               // execute query
 
             while (rs.next()) {                                // iterate over result set
-                Integer id = rs.getInt("id");                  // read patient id
-                String firstName = rs.getString("first_name"); // read first name
-                String lastName = rs.getString("last_name");   // read last name
-                String phone = rs.getString("phone");          // read phone
-                String gender = rs.getString("gender");        // read gender
-
-                Date bd = rs.getDate("birth_date");            // read birth date
-                LocalDate birthDate = (bd != null) ? bd.toLocalDate() : null; // convert to LocalDate
-
-                result.add(new Patient(                         // create Patient object
-                        id,
-                        firstName,
-                        lastName,
-                        phone,
-                        gender,
-                        birthDate
-                ));
+                result.add(mapRow(rs));                        // create Patient object
             }
         }
 
@@ -82,50 +194,205 @@ public class PatientDAO {
     }
 
     /**
-     * Deletes patients by ids.
-     * NOTE: If appointments reference patients, delete those appointments first.
+     * Returns one page of patients, newest first.
+     * Pass null for the first page, then the cursors of the returned page.
      */
-    public int deleteByIds(List<Integer> ids) throws SQLException { // deletes patients by id list
-        if (ids == null || ids.isEmpty()) return 0; // guard clause for empty input
+    public Page<Patient> page(PageCursor cursor, int pageSize) throws SQLException { // keyset page of patients
+        try (DaoMetrics.Call call = METRICS.start("page")) {
+            Page<Patient> page = Keyset.page(
+                    SqlStatement.PATIENT_PAGE_NEXT,
+                    SqlStatement.PATIENT_PAGE_PREVIOUS,
+                    cursor,
+                    pageSize,
+                    Keyset::bindId,                                      // seek on id
+                    PatientDAO::mapRow,                                  // map each row
+                    (p, dir) -> PageCursor.byId(dir, p.getId())          // boundary cursor
+            );
+            cache.loaded(page.rows()); // id lookups elsewhere can use these rows
+            return call.done(page);
+        }
+    }
 
-        deleteAppointmentsByPatientIds(ids); // remove dependent appointments first
+    /**
+     * Returns the page of patients that starts at a row offset (newest first), for random access.
+     */
+    public Page<Patient> pageAt(int offset, int pageSize) throws SQLException { // offset page of patients
+        try (DaoMetrics.Call call = METRICS.start("pageAt")) {
+            Page<Patient> page = Keyset.at(
+                    SqlStatement.PATIENT_PAGE_AT,
+                    offset,
+                    pageSize,
+                    PatientDAO::mapRow,
+                    (r, dir) -> PageCursor.byId(dir, r.getId())
+            );
+            cache.loaded(page.rows()); // id lookups elsewhere can use these rows
+            return call.done(page);
+        }
+    }
 
-        StringBuilder sb = new StringBuilder(); // builds SQL placeholders
-        for (int i = 0; i < ids.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("?");
+    public int count() throws SQLException { // number of patients
+        try (DaoMetrics.Call call = METRICS.start("count")) {
+            return call.done(Keyset.count(SqlStatement.PATIENT_COUNT), 0); // a count returns no rows
         }
+    }
 
-        String sql = "DELETE FROM patients WHERE id IN (" + sb + ")"; // delete query
+    /**
+     * Returns one page of the patients matching a search, newest first (same cursors as {@link #page}).
+     * Every criterion is a WHERE condition, so only matching rows leave the database.
+     */
+    public Page<Patient> search(PatientSearch search, PageCursor cursor, int pageSize) throws SQLException { // keyset page of matches
+        try (DaoMetrics.Call call = METRICS.start("search")) {
+            String where = search.where();
+            Page<Patient> page = Keyset.page(
+                    SqlStatement.patientSelect() + where + " AND id < ? ORDER BY id DESC LIMIT ?",
+                    SqlStatement.patientSelect() + where + " AND id > ? ORDER BY id ASC LIMIT ?",
+                    cursor,
+                    pageSize,
+                    (ps, c) -> {
+                        int idx = search.bind(ps, 1);                                // filters first
+                        ps.setInt(idx, c == null ? Integer.MAX_VALUE : c.id());     // then the seek key
+                        return idx + 1;
+                    },
+                    PatientDAO::mapRow,
+                    (p, dir) -> PageCursor.byId(dir, p.getId())
+            );
+            cache.loaded(page.rows());
+            return call.done(page);
+        }
+    }
 
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql)) { // prepare statement
+    /**
+     * Returns the page of matching patients that starts at a row offset (newest first), for random access.
+     */
+    public Page<Patient> searchAt(PatientSearch search, int offset, int pageSize) throws SQLException { // offset page of matches
+        try (DaoMetrics.Call call = METRICS.start("searchAt")) {
+            Page<Patient> page = Keyset.at(
+                    SqlStatement.patientSelect() // deferred join: skip over ids only, then fetch the page's rows
+                            + "JOIN (SELECT id AS page_id FROM patients " + search.where() + " ORDER BY id DESC LIMIT ? OFFSET ?) k ON id = k.page_id"
+                            + " ORDER BY id DESC",
+                    search::bind,
+                    offset,
+                    pageSize,
+                    PatientDAO::mapRow,
+                    (r, dir) -> PageCursor.byId(dir, r.getId())
+            );
+            cache.loaded(page.rows());
+            return call.done(page);
+        }
+    }
 
-            for (int i = 0; i < ids.size(); i++) {
-                ps.setInt(i + 1, ids.get(i)); // bind patient ids
+    /**
+     * Returns the number of patients matching a search.
+     * Up to {@link #EXACT_COUNT_LIMIT} matches are counted exactly; beyond that the optimizer's
+     * row estimate is returned instead, since counting millions of rows takes seconds
+     * (the embedded backend has no estimates and always counts).
+     */
+    public RowCount countMatches(PatientSearch search) throws SQLException { // count or estimate
+        try (DaoMetrics.Call call = METRICS.start("countMatches")) {
+            if (search.isEmpty()) return call.done(RowCount.exact(Keyset.count(SqlStatement.PATIENT_COUNT)), 0); // as count()
+            String where = search.where();
+
+            try (Connection conn = DBConnection.getConnection()) { // borrow pooled DB connection
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "SELECT COUNT(*) FROM (SELECT 1 FROM patients " + where + " LIMIT ?) t")) { // stops at the limit
+                    ps.setInt(search.bind(ps, 1), EXACT_COUNT_LIMIT + 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        long n = rs.next() ? rs.getLong(1) : 0;
+                        if (n <= EXACT_COUNT_LIMIT) return call.done(RowCount.exact(n), 0);
+                    }
+                }
+                if (DBConfig.BACKEND == Backend.EMBEDDED) { // no row estimates, and no round trip to save: count them all
+                    try (PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM patients " + where)) {
+                        search.bind(ps, 1);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            return call.done(RowCount.exact(rs.next() ? rs.getLong(1) : 0), 0);
+                        }
+                    }
+                }
+                try (PreparedStatement ps = conn.prepareStatement("EXPLAIN SELECT 1 FROM patients " + where)) {
+                    search.bind(ps, 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        long estimate = 0;
+                        if (rs.next()) estimate = Math.round(rs.getLong("rows") * rs.getDouble("filtered") / 100);
+                        return call.done(new RowCount(Math.max(estimate, EXACT_COUNT_LIMIT + 1), false), 0); // at least what was counted
+                    }
+                }
             }
-            return ps.executeUpdate();        // execute delete and return affected rows
         }
     }
 
-    private int deleteAppointmentsByPatientIds(List<Integer> patientIds) throws SQLException { // deletes related appointments
-        if (patientIds == null || patientIds.isEmpty()) return 0; // guard clause
+    /**
+     * Streams all patients, newest first, without materializing a list.
+     * The heap stays flat as long as the callback does not keep the rows.
+     *
+     * @return number of rows delivered
+     */
+    public <X extends Exception> long streamAll(RowCallback<Patient, X> callback) throws SQLException, X { // streaming variant of listAll
+        try (DaoMetrics.Call call = METRICS.start("streamAll")) {
+            long delivered = Streaming.forEach(SqlStatement.PATIENT_LIST_ALL, Streaming.Binder.NONE, PatientDAO::mapRow, callback);
+            return call.done(delivered, delivered);
+        }
+    }
 
-        StringBuilder sb = new StringBuilder(); // builds SQL placeholders
-        for (int i = 0; i < patientIds.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("?");
+    /**
+     * Deletes patients by ids in one transaction, in bounded chunks.
+     * Their appointments go with them (ON DELETE CASCADE, or explicitly if the schema lacks it).
+     */
+    public int deleteByIds(List<Integer> ids) throws SQLException { // deletes patients by id list
+        try (DaoMetrics.Call call = METRICS.start("deleteByIds")) {
+            int deleted = ChunkedDelete.deleteByIds("patients", ids, PATIENT_APPOINTMENTS); // atomic chunked delete
+            if (ids != null) cache.removed(ids);                                            // forget cached copies
+            if (deleted > 0) { // their appointments are gone too
+                BookingIndex.shared().clear();
+                DayAggregates.shared().clear();
+            }
+            return call.done(deleted, deleted);
         }
+    }
 
-        String sql = "DELETE FROM appointments WHERE patient_id IN (" + sb + ")"; // delete appointments query
+    private static final ChunkedDelete.Child PATIENT_APPOINTMENTS = new ChunkedDelete.Child("appointments", "patient_id"); // dependent rows
 
-        try (Connection conn = DBConnection.getConnection(); // open DB connection
-             PreparedStatement ps = conn.prepareStatement(sql)) { // prepare statement
+    private static final BatchUpdate.Mapping<Patient, Patient.Field> PATIENT_UPDATE = new BatchUpdate.Mapping<>() { // update description
+        @Override public Integer id(Patient p) { return p.getId(); }
+        @Override public Set<Patient.Field> dirtyFields(Patient p) { return p.getDirtyFields(); }
+        @Override public void markClean(Patient p) { p.markClean(); }
 
-            for (int i = 0; i < patientIds.size(); i++) {
-                ps.setInt(i + 1, patientIds.get(i)); // bind patient ids
+        @Override
+        public String column(Patient.Field f) { // field to column
+            return switch (f) {
+                case FIRST_NAME -> "first_name";
+                case LAST_NAME -> "last_name";
+                case PHONE -> "phone";
+                case GENDER -> "gender";
+                case BIRTH_DATE -> "birth_date";
+            };
+        }
+
+        @Override
+        public void bind(PreparedStatement ps, int i, Patient p, Patient.Field f) throws SQLException { // bind field value
+            switch (f) {
+                case FIRST_NAME -> ps.setString(i, p.getFirstName());
+                case LAST_NAME -> ps.setString(i, p.getLastName());
+                case PHONE -> ps.setString(i, p.getPhone());
+                case GENDER -> ps.setString(i, p.getGender());
+                case BIRTH_DATE -> {
+                    if (p.getBirthDate() != null) ps.setObject(i, p.getBirthDate());
+                    else ps.setNull(i, Types.DATE);
+                }
             }
-            return ps.executeUpdate();                // execute delete and return affected rows
         }
+    };
+
+    // column order of SqlStatement PATIENT_* selects: id, first_name, last_name, phone, gender, birth_date
+    static Patient mapRow(ResultSet rs) throws SQLException { // maps the current row to a Patient
+        Integer id = rs.getInt(1);                     // read patient id
+        String firstName = rs.getString(2);            // read first name
+        String lastName = rs.getString(3);             // read last name
+        String phone = rs.getString(4);                // read phone
+        String gender = rs.getString(5);               // read gender
+
+        LocalDate birthDate = rs.getObject(6, LocalDate.class); // read birth date (null if missing)
+
+        return new Patient(id, firstName, lastName, phone, gender, birthDate);
     }
 }
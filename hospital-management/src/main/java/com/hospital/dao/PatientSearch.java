@@ -0,0 +1,111 @@
+package com.hospital.dao;
+
+import java.sql.PreparedStatement;   // filter parameters
+import java.sql.SQLException;        // SQL exception handling
+import java.time.LocalDate;          // birth date bounds
+import java.util.ArrayList;          // condition list
+import java.util.List;               // list interface
+
+import com.hospital.model.Patient;   // matched patient
+import com.hospital.util.PrefixIndex; // accent and case folding
+
+/**
+ * Patient search criteria; null or blank fields are ignored.
+ * Each criterion becomes an indexed SQL condition (see migrations V2-V4):
+ * name words match name prefixes, phone matches a prefix, birth dates are an inclusive range.
+ */
+public record PatientSearch(
+        String name,          // "ay" or "ayse yil": prefixes of first/last name
+        String phone,         // phone prefix
+        LocalDate bornFrom,   // earliest birth date (inclusive)
+        LocalDate bornTo,     // latest birth date (inclusive)
+        String gender         // exact gender
+) {
+
+    public static final PatientSearch ALL = new PatientSearch(null, null, null, null, null); // no filters
+
+    public boolean isEmpty() { // true if nothing filters
+        return words().isEmpty() && blank(phone) && bornFrom == null && bornTo == null && blank(gender);
+    }
+
+    /**
+     * Returns true if the patient matches, by the same rules as the SQL conditions
+     * (case- and accent-insensitive prefixes), e.g. for rows another desk just changed.
+     */
+    public boolean matches(Patient p) {
+        List<String> words = words();
+        if (words.size() == 1) {
+            if (!startsWith(p.getLastName(), words.get(0)) && !startsWith(p.getFirstName(), words.get(0))) return false;
+        } else if (words.size() > 1) {
+            String a = words.get(0);
+            String b = String.join(" ", words.subList(1, words.size()));
+            boolean firstLast = startsWith(p.getFirstName(), a) && startsWith(p.getLastName(), b);
+            boolean lastFirst = startsWith(p.getLastName(), a) && startsWith(p.getFirstName(), b);
+            if (!firstLast && !lastFirst) return false;
+        }
+        if (!blank(phone) && (p.getPhone() == null || !p.getPhone().startsWith(phone.trim()))) return false;
+        if (bornFrom != null && (p.getBirthDate() == null || p.getBirthDate().isBefore(bornFrom))) return false;
+        if (bornTo != null && (p.getBirthDate() == null || p.getBirthDate().isAfter(bornTo))) return false;
+        return blank(gender) || gender.trim().equalsIgnoreCase(p.getGender());
+    }
+
+    /**
+     * Returns the WHERE clause (always present, so callers can append "AND ..."), with ? placeholders in {@link #bind} order.
+     */
+    String where() {
+        List<String> conditions = conditions();
+        return conditions.isEmpty() ? "WHERE 1 = 1" : "WHERE " + String.join(" AND ", conditions);
+    }
+
+    private List<String> conditions() {
+        List<String> result = new ArrayList<>();
+        List<String> words = words();
+        if (words.size() == 1) {
+            result.add("(last_name LIKE ? OR first_name LIKE ?)"); // index merge of both name indexes
+        } else if (words.size() > 1) {
+            result.add("((first_name LIKE ? AND last_name LIKE ?) OR (last_name LIKE ? AND first_name LIKE ?))");
+        }
+        if (!blank(phone)) result.add("phone LIKE ?");
+        if (bornFrom != null) result.add("birth_date >= ?");
+        if (bornTo != null) result.add("birth_date <= ?");
+        if (!blank(gender)) result.add("gender = ?"); // low cardinality: filtered, not indexed
+        return result;
+    }
+
+    /**
+     * Binds the condition parameters from index on and returns the next parameter index.
+     */
+    int bind(PreparedStatement ps, int index) throws SQLException {
+        int i = index;
+        List<String> words = words();
+        if (words.size() == 1) {
+            String p = SqlStatement.likePrefix(words.get(0));
+            ps.setString(i++, p);
+            ps.setString(i++, p);
+        } else if (words.size() > 1) {
+            String a = SqlStatement.likePrefix(words.get(0));                                  // first word
+            String b = SqlStatement.likePrefix(String.join(" ", words.subList(1, words.size()))); // the rest
+            ps.setString(i++, a);
+            ps.setString(i++, b);
+            ps.setString(i++, a);
+            ps.setString(i++, b);
+        }
+        if (!blank(phone)) ps.setString(i++, SqlStatement.likePrefix(phone.trim()));
+        if (bornFrom != null) ps.setObject(i++, bornFrom);
+        if (bornTo != null) ps.setObject(i++, bornTo);
+        if (!blank(gender)) ps.setString(i++, gender.trim());
+        return i;
+    }
+
+    private List<String> words() { // name split on whitespace
+        return blank(name) ? List.of() : List.of(name.trim().split("\\s+"));
+    }
+
+    private static boolean startsWith(String value, String prefix) { // collation-like prefix test
+        return value != null && PrefixIndex.normalize(value).startsWith(PrefixIndex.normalize(prefix));
+    }
+
+    private static boolean blank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,176 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // EXPLAIN rows
+import java.sql.SQLException;        // SQL exception handling
+import java.sql.Timestamp;           // change feed watermark
+import java.time.LocalDate;          // date parameter
+import java.time.LocalTime;          // time parameter
+import java.util.ArrayList;          // list implementation
+import java.util.List;               // list interface
+import java.util.Set;                // accepted access types
+import java.util.regex.Matcher;      // H2 plan parsing
+import java.util.regex.Pattern;      // H2 plan parsing
+
+import com.hospital.db.Backend;      // embedded plans look different
+import com.hospital.db.DBConfig;     // backend
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Runs EXPLAIN on the DAO's index-dependent queries and reports whether the database picks the expected index,
+ * and on MySQL whether it seeks into it (access type range or ref) rather than walking all of it.
+ * Plans depend on table statistics, so run it against a database with realistic data.
+ */
+public final class QueryPlanCheck {
+
+    private QueryPlanCheck() {
+        // Utility class
+    }
+
+    /**
+     * Outcome of one check.
+     */
+    public record Result(String name, boolean ok, String detail) { }
+
+    private record Check(
+            String name,              // what the query is for
+            String sql,               // query to explain
+            Streaming.Binder binder,  // sample parameters
+            String table,             // table (or alias) that must use the index
+            String expectedIndex,     // index the plan should use
+            Set<String> accessTypes   // MySQL access types that count as a seek
+    ) {
+        Check(String name, String sql, Streaming.Binder binder, String table, String expectedIndex) {
+            this(name, sql, binder, table, expectedIndex, SEEK);
+        }
+    }
+
+    private static final Set<String> SEEK = Set.of("range", "ref"); // EXPLAIN type; "index" is a full index scan
+    private static final Set<String> RANGE = Set.of("range");       // keyset seeks
+
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\*\\s*\\w+\\.(\\w+)"); // "/* public.idx_patients_phone: ..." in H2 plans
+
+    private static final LocalDate SAMPLE_DATE = LocalDate.of(2024, 1, 15); // any date works for the plan
+    private static final LocalTime SAMPLE_TIME = LocalTime.of(9, 0);        // any time works for the plan
+
+    private static final List<Check> CHECKS = List.of(
+            new Check("appointments in schedule order",
+                    SqlStatement.APPOINTMENT_SCHEDULE_PAGE_NEXT.sql(),
+                    ps -> {
+                        for (int i = 1; i <= 3; i++) ps.setObject(i, SAMPLE_DATE);
+                        ps.setObject(4, SAMPLE_TIME);
+                        ps.setObject(5, SAMPLE_TIME);
+                        ps.setInt(6, Integer.MAX_VALUE);
+                        ps.setInt(7, 101);
+                    },
+                    "a", "idx_appt_date_time", RANGE),
+            new Check("appointments on a day",
+                    "SELECT id FROM appointments WHERE appointment_date = ?",
+                    ps -> ps.setObject(1, SAMPLE_DATE),
+                    "appointments", "idx_appt_date_time"),
+            new Check("doctor's day",
+                    SqlStatement.APPOINTMENT_DOCTOR_DAY_STARTS.sql(),
+                    ps -> { ps.setInt(1, 1); ps.setObject(2, SAMPLE_DATE); },
+                    "appointments", "idx_appt_doctor_date_time"),
+            new Check("booking overlap check",
+                    SqlStatement.APPOINTMENT_OVERLAP.sql(),
+                    ps -> { ps.setInt(1, 1); ps.setObject(2, SAMPLE_DATE); ps.setObject(3, SAMPLE_TIME); ps.setObject(4, SAMPLE_TIME); },
+                    "appointments", "idx_appt_doctor_date_time"),
+            new Check("doctor's week schedule",
+                    SqlStatement.APPOINTMENT_NARROW_DOCTOR_RANGE.sql(),
+                    ps -> { ps.setInt(1, 1); ps.setObject(2, SAMPLE_DATE); ps.setObject(3, SAMPLE_DATE.plusDays(6)); },
+                    "appointments", "idx_appt_doctor_date_time"),
+            new Check("day schedule (all doctors)",
+                    SqlStatement.APPOINTMENT_NARROW_DAY.sql(),
+                    ps -> ps.setObject(1, SAMPLE_DATE),
+                    "appointments", "idx_appt_date_time"),
+            new Check("appointments of a date range (export)",
+                    SqlStatement.APPOINTMENT_DETAILED_RANGE.sql(),
+                    ps -> { ps.setObject(1, SAMPLE_DATE); ps.setObject(2, SAMPLE_DATE.plusDays(30)); },
+                    "a", "idx_appt_date_time"),
+            new Check("doctor's appointments of a date range (export)",
+                    SqlStatement.APPOINTMENT_DETAILED_DOCTOR_RANGE.sql(),
+                    ps -> { ps.setInt(1, 1); ps.setObject(2, SAMPLE_DATE); ps.setObject(3, SAMPLE_DATE.plusDays(30)); },
+                    "a", "idx_appt_doctor_date_time"),
+            new Check("bookings of a week (free slots, all doctors)",
+                    SqlStatement.APPOINTMENT_STARTS_BETWEEN.sql(),
+                    ps -> { ps.setObject(1, SAMPLE_DATE); ps.setObject(2, SAMPLE_DATE.plusDays(6)); },
+                    "appointments", "idx_appt_date_time"),
+            new Check("doctor's week (free slots)",
+                    SqlStatement.APPOINTMENT_DOCTOR_STARTS_BETWEEN.sql(),
+                    ps -> { ps.setInt(1, 1); ps.setObject(2, SAMPLE_DATE); ps.setObject(3, SAMPLE_DATE.plusDays(6)); },
+                    "appointments", "idx_appt_doctor_date_time"),
+            new Check("patient by name",
+                    "SELECT id FROM patients WHERE last_name = ? AND first_name LIKE ?",
+                    ps -> { ps.setString(1, "Smith"); ps.setString(2, "J%"); },
+                    "patients", "idx_patients_name"),
+            new Check("patient by first-name prefix",
+                    "SELECT id FROM patients WHERE first_name LIKE ?",
+                    ps -> ps.setString(1, "Jo%"),
+                    "patients", "idx_patients_first_name"),
+            new Check("doctor by last-name prefix",
+                    "SELECT id FROM doctors WHERE last_name LIKE ?",
+                    ps -> ps.setString(1, "Sm%"),
+                    "doctors", "idx_doctors_name"),
+            new Check("patient by phone prefix",
+                    "SELECT id FROM patients WHERE phone LIKE ?",
+                    ps -> ps.setString(1, "0532%"),
+                    "patients", "idx_patients_phone"),
+            new Check("patients by birth date range",
+                    "SELECT id FROM patients WHERE birth_date BETWEEN ? AND ?",
+                    ps -> { ps.setObject(1, LocalDate.of(1980, 1, 1)); ps.setObject(2, LocalDate.of(1980, 1, 31)); },
+                    "patients", "idx_patients_birth_date"),
+            new Check("changed appointments (change feed)",
+                    SqlStatement.APPOINTMENT_CHANGES.sql(),
+                    ps -> {
+                        Timestamp mark = new Timestamp(System.currentTimeMillis() - 60_000);
+                        for (int i = 1; i <= 3; i++) ps.setTimestamp(i, mark);
+                        ps.setInt(4, 0);
+                        ps.setInt(5, 501);
+                    },
+                    "a", "idx_appt_updated_at", RANGE)
+    );
+
+    /**
+     * Explains every registered query.
+     */
+    public static List<Result> runAll() throws SQLException {
+        List<Result> results = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            for (Check c : CHECKS) results.add(run(conn, c));
+        }
+        return results;
+    }
+
+    private static Result run(Connection conn, Check c) throws SQLException {
+        if (DBConfig.BACKEND == Backend.EMBEDDED) return runEmbedded(conn, c);
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + c.sql())) {
+            c.binder().bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (!c.table().equalsIgnoreCase(rs.getString("table"))) continue;
+                    String key = rs.getString("key");
+                    String type = rs.getString("type");
+                    String detail = "type=" + type + ", key=" + key + ", rows=" + rs.getString("rows");
+                    boolean seeks = type != null && c.accessTypes().contains(type.toLowerCase()); // right key, walked end to end, is no index use
+                    return new Result(c.name(), seeks && c.expectedIndex().equalsIgnoreCase(key), detail);
+                }
+            }
+        }
+        return new Result(c.name(), false, "table " + c.table() + " not in plan");
+    }
+
+    private static Result runEmbedded(Connection conn, Check c) throws SQLException { // H2: one PLAN column, index choices in comments
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + c.sql())) {
+            c.binder().bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                String plan = rs.next() ? rs.getString(1) : "";
+                List<String> indexes = new ArrayList<>();
+                Matcher m = PLAN_INDEX.matcher(plan);
+                while (m.find()) indexes.add(m.group(1));
+                return new Result(c.name(), indexes.contains(c.expectedIndex().toLowerCase()), "indexes=" + indexes);
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.hospital.dao;
+
+import java.sql.SQLException;        // SQL exception handling
+import java.util.ArrayList;          // copied lists
+import java.util.Arrays;             // trim the miss list
+import java.util.Collections;        // read-only snapshot
+import java.util.List;               // list interface
+import java.util.function.Function;  // search keys of an entry
+import java.util.function.ToIntFunction; // id of an entry
+import java.util.function.UnaryOperator; // copy of an entry
+
+import com.hospital.db.DBConfig;     // backend
+import com.hospital.model.Doctor;    // doctor model
+import com.hospital.model.Patient;   // patient model
+import com.hospital.util.BoundedIntMap; // int-keyed bounded map
+import com.hospital.util.Jmx;           // MBean registration
+import com.hospital.util.PrefixIndex;   // type-ahead index
+
+/**
+ * Process-wide cache of reference data (patients, doctors) shared by all panels.
+ * Lookups by id are O(1) on an int-keyed map; the full list is kept as one snapshot,
+ * together with a prefix index over it for type-ahead pickers. The two have separate limits:
+ * a list too big for the id map is still kept and indexed, it just does not fill the map.
+ * The DAOs update the cache on every write, and rows read by the tables are added to it.
+ * The full list expires after a while because other desks write too.
+ * Entries are mutable models, so the cache keeps its own copies: rows coming in are copied, and the
+ * public lookups hand out copies, so an edit is only seen by others once it is saved.
+ */
+public final class ReferenceCache<T> {
+
+    /** Upper bound on cached entries per cache; the default holds every row of a 300k-patient table. */
+    public static final int MAX_ENTRIES = Integer.getInteger("hospital.cache.maxEntries", 500_000);
+
+    /** Upper bound on the full list (and its prefix index); bigger lists are read but not kept. */
+    public static final int MAX_LIST_ENTRIES = Integer.getInteger("hospital.cache.maxListEntries", 1_000_000);
+
+    private static final long ALL_TTL_MS = DBConfig.BACKEND.isShared()
+            ? 5 * 60_000L      // reload the full list after this (other desks' changes)
+            : Long.MAX_VALUE;  // embedded: every change goes through this process
+
+    /**
+     * Loads one entry by id (null if it does not exist).
+     */
+    @FunctionalInterface
+    interface ByIdLoader<T> {
+        T load(int id) throws SQLException;
+    }
+
+    /**
+     * Loads the entries with these ids (missing ids are skipped).
+     */
+    @FunctionalInterface
+    interface ByIdsLoader<T> {
+        List<T> load(int[] ids) throws SQLException;
+    }
+
+    /**
+     * Loads every entry, in display order.
+     */
+    @FunctionalInterface
+    interface AllLoader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    /**
+     * Cache counters.
+     */
+    public record Stats(String name, int size, int maxSize, long hits, long misses, long evictions) {
+        public double hitRate() { // hits / lookups, 0 before the first lookup
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * Management interface of a cache (com.hospital:type=ReferenceCache,name=patients).
+     */
+    public interface CacheMXBean {
+        int getSize();
+        int getMaxSize();
+        long getHits();
+        long getMisses();
+        long getEvictions();
+        double getHitRate();
+        void clear();
+    }
+
+    private static final ReferenceCache<Patient> PATIENTS =
+            new ReferenceCache<>("patients", Patient::getId, Patient::new, PatientDAO::searchKeys,
+                    PatientDAO::selectById, PatientDAO::selectByIds, PatientDAO::selectAll);
+    private static final ReferenceCache<Doctor> DOCTORS =
+            new ReferenceCache<>("doctors", Doctor::getId, Doctor::new, DoctorDAO::searchKeys,
+                    DoctorDAO::selectById, DoctorDAO::selectByIds, DoctorDAO::selectAll);
+
+    private final String name;
+    private final ToIntFunction<T> idOf;
+    private final UnaryOperator<T> copyOf;
+    private final Function<T, List<String>> searchKeys;
+    private final ByIdLoader<T> byIdLoader;
+    private final ByIdsLoader<T> byIdsLoader;
+    private final AllLoader<T> allLoader;
+
+    private final BoundedIntMap<T> byId = new BoundedIntMap<>(MAX_ENTRIES); // id -> entry
+    private List<T> all;      // full list snapshot, or null
+    private PrefixIndex<T> index; // prefix index over the snapshot, or null
+    private long allLoadedAt; // when the snapshot was loaded
+    private boolean overLimit; // the last full load exceeded MAX_LIST_ENTRIES: warm() does not retry
+    private boolean warnedOverLimit; // the limit was reported
+    private long hits;        // lookups served from memory
+    private long misses;      // lookups that went to the database
+
+    private ReferenceCache(String name, ToIntFunction<T> idOf, UnaryOperator<T> copyOf, Function<T, List<String>> searchKeys,
+                           ByIdLoader<T> byIdLoader, ByIdsLoader<T> byIdsLoader, AllLoader<T> allLoader) {
+        this.name = name;
+        this.idOf = idOf;
+        this.copyOf = copyOf;
+        this.searchKeys = searchKeys;
+        this.byIdLoader = byIdLoader;
+        this.byIdsLoader = byIdsLoader;
+        this.allLoader = allLoader;
+        Jmx.register("type=ReferenceCache,name=" + name, new CacheMXBean() {
+            @Override public int getSize() { return stats().size(); }
+            @Override public int getMaxSize() { return stats().maxSize(); }
+            @Override public long getHits() { return stats().hits(); }
+            @Override public long getMisses() { return stats().misses(); }
+            @Override public long getEvictions() { return stats().evictions(); }
+            @Override public double getHitRate() { return stats().hitRate(); }
+            @Override public void clear() { ReferenceCache.this.clear(); }
+        }, CacheMXBean.class);
+    }
+
+    public static ReferenceCache<Patient> patients() { // shared patient cache
+        return PATIENTS;
+    }
+
+    public static ReferenceCache<Doctor> doctors() { // shared doctor cache
+        return DOCTORS;
+    }
+
+    /**
+     * Returns a copy of the entry with this id, loading it on a miss; null if it does not exist.
+     */
+    public T get(int id) throws SQLException {
+        synchronized (this) {
+            T cached = byId.get(id);
+            if (cached != null) {
+                hits++;
+                return copyOf.apply(cached);
+            }
+            misses++;
+        }
+        T loaded = byIdLoader.load(id);
+        if (loaded == null) return null;
+        synchronized (this) {
+            byId.put(id, loaded);
+        }
+        return copyOf.apply(loaded);
+    }
+
+    /**
+     * Makes sure the entries with these ids are cached, loading all misses with a few batched queries.
+     * Ids must be distinct; ids that do not exist stay missing.
+     */
+    public void loadAll(int[] ids) throws SQLException {
+        int[] missing = new int[ids.length];
+        int count = 0;
+        synchronized (this) {
+            for (int id : ids) {
+                if (byId.get(id) != null) hits++;
+                else missing[count++] = id;
+            }
+            misses += count;
+        }
+        if (count == 0) return;
+
+        List<T> rows = byIdsLoader.load(Arrays.copyOf(missing, count));
+        synchronized (this) {
+            for (T row : rows) byId.put(idOf.applyAsInt(row), row);
+        }
+    }
+
+    /**
+     * Returns a copy of the cached entry with this id without touching the database, or null.
+     */
+    public T peek(int id) {
+        T cached = peekShared(id);
+        return cached == null ? null : copyOf.apply(cached);
+    }
+
+    /**
+     * Returns copies of every entry in display order (newest first), loading the list if it is missing or stale.
+     * Every call copies every entry. Above {@link #MAX_LIST_ENTRIES} the list is not cached, so every call
+     * reads the whole table (logged once); {@link #warm()} builds the index without either cost.
+     */
+    public List<T> all() throws SQLException {
+        List<T> shared = allShared();
+        List<T> copies = new ArrayList<>(shared.size());
+        for (T row : shared) copies.add(copyOf.apply(row));
+        return copies;
+    }
+
+    /**
+     * Loads the full list and builds the prefix index if they are missing or stale, without copying anything
+     * (off the EDT). Returns false if the list exceeds {@link #MAX_LIST_ENTRIES}; that is remembered until
+     * {@link #clear()} or a delete, so later calls return at once instead of reading the table again.
+     */
+    public boolean warm() throws SQLException {
+        synchronized (this) {
+            if (overLimit) return false;
+        }
+        allShared();
+        synchronized (this) {
+            return !overLimit;
+        }
+    }
+
+    /**
+     * Returns copies of up to limit entries matching the query in the prefix index,
+     * or null while the index is not built (call {@link #warm()} off the EDT to build it).
+     */
+    public List<T> search(String query, int limit) {
+        PrefixIndex<T> built;
+        synchronized (this) {
+            built = index;
+        }
+        if (built == null) return null;
+        List<T> hits = built.search(query, limit);
+        List<T> copies = new ArrayList<>(hits.size());
+        for (T row : hits) copies.add(copyOf.apply(row));
+        return copies;
+    }
+
+    /**
+     * Like {@link #peek}, but returns the cache's own instance: read it, never change it.
+     */
+    synchronized T peekShared(int id) {
+        return byId.peek(id);
+    }
+
+    /**
+     * Like {@link #all()}, but returns the cache's own read-only list and instances: read them, never change them.
+     */
+    List<T> allShared() throws SQLException {
+        synchronized (this) {
+            if (all != null && System.currentTimeMillis() - allLoadedAt < ALL_TTL_MS) {
+                hits++;
+                return all;
+            }
+            misses++;
+        }
+        List<T> rows = Collections.unmodifiableList(allLoader.load());
+        if (rows.size() > MAX_LIST_ENTRIES) { // too big to keep
+            synchronized (this) {
+                if (!warnedOverLimit) {
+                    System.err.println(name + ": " + rows.size() + " rows exceed hospital.cache.maxListEntries="
+                            + MAX_LIST_ENTRIES + "; the full list is not cached and type-ahead queries the database");
+                    warnedOverLimit = true; // once per process
+                }
+                overLimit = true;
+            }
+            return rows;
+        }
+
+        PrefixIndex<T> built = PrefixIndex.build(rows, searchKeys); // sort outside the lock
+        synchronized (this) {
+            if (rows.size() <= byId.maxSize()) { // pickers and id lookups share instances
+                for (T row : rows) byId.put(idOf.applyAsInt(row), row);
+            } // else the map keeps its recently used rows instead of cycling the whole list through
+            overLimit = false;
+            all = rows;
+            index = built;
+            allLoadedAt = System.currentTimeMillis();
+        }
+        return rows;
+    }
+
+    /**
+     * Drops everything (e.g. Refresh, or changes made outside this process).
+     */
+    public synchronized void clear() {
+        byId.clear();
+        all = null;
+        index = null;
+        overLimit = false;
+    }
+
+    public synchronized Stats stats() { // current counters
+        return new Stats(name, byId.size(), byId.maxSize(), hits, misses, byId.evictions());
+    }
+
+    /**
+     * Records copies of rows that were just read (e.g. a table block); the full list is left alone.
+     */
+    synchronized void loaded(List<T> rows) {
+        for (T row : rows) byId.put(idOf.applyAsInt(row), copyOf.apply(row));
+    }
+
+    /**
+     * Records a copy of a row that was just inserted or updated.
+     */
+    synchronized void written(T row) {
+        byId.put(idOf.applyAsInt(row), copyOf.apply(row));
+        all = null; // the list changed
+        index = null;
+    }
+
+    /**
+     * Forgets deleted rows.
+     */
+    synchronized void removed(Iterable<Integer> ids) {
+        for (Integer id : ids) {
+            if (id != null) byId.remove(id);
+        }
+        all = null; // the list changed
+        index = null;
+        overLimit = false; // and may fit now
+    }
+}
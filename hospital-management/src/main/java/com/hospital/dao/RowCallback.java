@@ -0,0 +1,13 @@
+package com.hospital.dao;
+
+/**
+ * Receives rows one at a time from a streaming DAO query.
+ * The row must not be kept unless the caller wants it on the heap.
+ *
+ * @param <X> checked exception the callback may throw (e.g. IOException while exporting)
+ */
+@FunctionalInterface
+public interface RowCallback<T, X extends Exception> {
+
+    void accept(T row) throws X; // handle one row
+}
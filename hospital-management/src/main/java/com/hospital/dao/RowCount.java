@@ -0,0 +1,16 @@
+package com.hospital.dao;
+
+/**
+ * Number of rows matching a query: exact, or an optimizer estimate when counting would be too slow.
+ */
+public record RowCount(long value, boolean exact) {
+
+    public static RowCount exact(long value) { // counted
+        return new RowCount(value, true);
+    }
+
+    @Override
+    public String toString() { // "1234" or "~1,200,000"
+        return exact ? String.valueOf(value) : String.format("~%,d", value);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hospital.dao;
+
+import java.sql.ResultSet;    // current result row
+import java.sql.SQLException; // SQL exception handling
+
+/**
+ * Maps the current row of a ResultSet to an object.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException; // read the current row
+}
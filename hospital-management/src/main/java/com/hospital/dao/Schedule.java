@@ -0,0 +1,49 @@
+package com.hospital.dao;
+
+import java.time.LocalDate;          // schedule days
+import java.util.ArrayList;          // day list
+import java.util.List;               // list interface
+
+import com.hospital.dao.AppointmentDAO.AppointmentRow; // display row
+
+/**
+ * Appointments of a date range grouped by day, for day and week views.
+ * Every day of the range is present (days without appointments have an empty list);
+ * appointments within a day are in time order.
+ */
+public record Schedule(LocalDate from, LocalDate to, List<Day> days) {
+
+    /**
+     * One day of a schedule.
+     */
+    public record Day(LocalDate date, List<AppointmentRow> appointments) { }
+
+    public Schedule {
+        days = List.copyOf(days);
+    }
+
+    static Schedule of(LocalDate from, LocalDate to, List<AppointmentRow> rows) { // rows in date/time order, all within the range
+        List<Day> days = new ArrayList<>();
+        int i = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int start = i;
+            while (i < rows.size() && rows.get(i).date().equals(date)) i++;
+            days.add(new Day(date, List.copyOf(rows.subList(start, i))));
+        }
+        return new Schedule(from, to, days);
+    }
+
+    /**
+     * Returns the day of this schedule, or null if the date is outside the range.
+     */
+    public Day day(LocalDate date) {
+        long index = date.toEpochDay() - from.toEpochDay();
+        return index < 0 || index >= days.size() ? null : days.get((int) index);
+    }
+
+    public int size() { // number of appointments
+        int n = 0;
+        for (Day d : days) n += d.appointments().size();
+        return n;
+    }
+}
@@ -0,0 +1,223 @@
+package com.hospital.dao;
+
+import java.sql.SQLException;        // SQL exception handling
+import java.time.DayOfWeek;          // template day (dashboard capacity)
+import java.time.LocalDate;          // search days
+import java.time.LocalDateTime;      // no slots in the past
+import java.time.LocalTime;          // slot bounds
+import java.util.ArrayList;          // result list
+import java.util.Arrays;             // slot sorting
+import java.util.BitSet;             // per doctor-day grid
+import java.util.HashMap;            // templates by doctor
+import java.util.List;               // list interface
+import java.util.Map;                // map interface
+
+import com.hospital.db.DBConfig;     // backend (template expiry)
+import com.hospital.model.Doctor;    // matching doctors
+import com.hospital.model.WorkingHours; // weekly templates
+
+/**
+ * Finds the earliest free appointment slots of one doctor, or across every doctor of a specialization.
+ * <p>
+ * Each doctor-day is two bitsets over a {@link #GRID_MINUTES}-minute grid (288 bits): the working time,
+ * from the doctor's {@link WorkingHours} template, and the start times that would overlap an existing
+ * booking. A slot may start wherever it fits inside working time and is not blocked.
+ * The bookings come from {@link BookingIndex}, which loads the days it does not hold with one indexed
+ * range query per week, so a repeated search is bit scans only, however many doctors match.
+ * <p>
+ * The slots are advice: {@link AppointmentDAO#create} still checks for overlaps when booking.
+ */
+public final class SlotFinder {
+
+    /** Slots start on this grid (minutes). */
+    public static final int GRID_MINUTES = 5;
+
+    private static final int GRID_SECONDS = GRID_MINUTES * 60;
+    private static final int UNITS = 24 * 60 / GRID_MINUTES; // grid units per day
+    private static final int UNITS_PER_HOUR = 60 / GRID_MINUTES;
+    private static final int WINDOW_DAYS = 7;                // days read per query; the search stops once the limit is reached
+
+    private static final long HOURS_TTL_MS = DBConfig.BACKEND.isShared()
+            ? 5 * 60_000L      // reload templates after this (other desks' changes)
+            : Long.MAX_VALUE;  // embedded: every change goes through this process
+
+    private static final DaoMetrics METRICS = DaoMetrics.of(SlotFinder.class); // latency, rows and errors per method
+
+    private static final BitSet[] DEFAULT_WEEK = week(WorkingHours.DEFAULT); // doctors without stored hours
+
+    private static final SlotFinder SHARED = new SlotFinder(); // process-wide instance
+
+    /**
+     * A free slot; end is exclusive.
+     */
+    public record Slot(Doctor doctor, LocalDate date, LocalTime start, LocalTime end) { }
+
+    private Map<Integer, BitSet[]> weeks; // doctor id -> working units per ISO day (index 0 = Monday); null until loaded
+    private long weeksLoadedAt;
+
+    public static SlotFinder shared() { // instance used by the UI
+        return SHARED;
+    }
+
+    /**
+     * Earliest free slots of every doctor whose specialization matches (case-insensitive),
+     * from the start of from (or now, if later) to the end of to, ordered by day and start time.
+     */
+    public List<Slot> findForSpecialization(String specialization, LocalDate from, LocalDate to,
+                                            int slotMinutes, int limit) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("findForSpecialization")) {
+            List<Doctor> doctors = new ArrayList<>();
+            for (Doctor d : ReferenceCache.doctors().allShared()) {
+                if (d.getSpecialization() != null && d.getSpecialization().trim().equalsIgnoreCase(specialization.trim())) doctors.add(new Doctor(d)); // slots reach the UI
+            }
+            return call.done(find(doctors, from, to, slotMinutes, limit, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Earliest free slots of one doctor (none if the doctor does not exist).
+     */
+    public List<Slot> findForDoctor(int doctorId, LocalDate from, LocalDate to,
+                                    int slotMinutes, int limit) throws SQLException {
+        try (DaoMetrics.Call call = METRICS.start("findForDoctor")) {
+            Doctor doctor = ReferenceCache.doctors().get(doctorId);
+            List<Doctor> doctors = doctor == null ? List.of() : List.of(doctor);
+            return call.done(find(doctors, from, to, slotMinutes, limit, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Drops the loaded templates so the next search reads them again.
+     */
+    public synchronized void workingHoursChanged() {
+        weeks = null;
+    }
+
+    /**
+     * Minutes each doctor works in each hour of a day of the week, by their templates (doctor id -> 24 entries).
+     */
+    Map<Integer, int[]> workingMinutesByHour(List<Integer> doctorIds, DayOfWeek day) throws SQLException {
+        Map<Integer, BitSet[]> weeks = weeks();
+        Map<Integer, int[]> result = new HashMap<>();
+        for (int doctorId : doctorIds) {
+            BitSet working = weeks.getOrDefault(doctorId, DEFAULT_WEEK)[day.getValue() - 1];
+            int[] minutes = new int[24];
+            for (int a = working.nextSetBit(0); a >= 0; a = working.nextSetBit(a)) {
+                int b = working.nextClearBit(a); // working run [a, b), split at the hours
+                for (int hourEnd = (a / UNITS_PER_HOUR + 1) * UNITS_PER_HOUR; a < b; hourEnd += UNITS_PER_HOUR) {
+                    int end = Math.min(b, hourEnd);
+                    minutes[a / UNITS_PER_HOUR] += (end - a) * GRID_MINUTES;
+                    a = end;
+                }
+            }
+            result.put(doctorId, minutes);
+        }
+        return result;
+    }
+
+    List<Slot> find(List<Doctor> doctors, LocalDate from, LocalDate to, int slotMinutes, int limit,
+                    LocalDateTime now) throws SQLException { // the search itself, with an explicit clock
+        if (slotMinutes <= 0) throw new IllegalArgumentException("Slot length must be positive: " + slotMinutes);
+        List<Slot> result = new ArrayList<>();
+        if (doctors.isEmpty() || limit <= 0) return result;
+
+        Map<Integer, BitSet[]> weeks = weeks();
+        List<Integer> doctorIds = new ArrayList<>(doctors.size());
+        for (Doctor d : doctors) doctorIds.add(d.getId());
+        int before = Math.max(slotMinutes * 60, BookingIndex.SLOT_SECONDS); // a slot must end this long before a booking starts
+        int lengthUnits = ceilDiv(slotMinutes * 60, GRID_SECONDS);                                // working time a slot needs
+        int stepUnits = ceilDiv(Math.max(slotMinutes * 60, BookingIndex.SLOT_SECONDS), GRID_SECONDS); // listed slots do not overlap each other
+        LocalDate today = now.toLocalDate();
+        int nowUnit = ceilDiv(now.toLocalTime().toSecondOfDay(), GRID_SECONDS);
+        BitSet taken = new BitSet(UNITS); // blocked starts of the doctor-day being scanned, reused
+
+        LocalDate windowStart = from.isBefore(today) ? today : from;
+        while (!windowStart.isAfter(to) && result.size() < limit) {
+            LocalDate windowEnd = windowStart.plusDays(WINDOW_DAYS - 1);
+            if (windowEnd.isAfter(to)) windowEnd = to;
+            Map<Long, int[]> booked = BookingIndex.shared().startsBetween(doctorIds, windowStart, windowEnd); // cached days are free
+
+            for (LocalDate date = windowStart; !date.isAfter(windowEnd) && result.size() < limit; date = date.plusDays(1)) {
+                int wanted = limit - result.size(); // no doctor can contribute more than this today
+                int first = date.equals(today) ? nowUnit : 0;
+                long[] starts = new long[16];       // (unit << 32 | doctor index), sorted below
+                int n = 0;
+
+                for (int i = 0; i < doctors.size(); i++) {
+                    int doctorId = doctors.get(i).getId();
+                    BitSet working = weeks.getOrDefault(doctorId, DEFAULT_WEEK)[date.getDayOfWeek().getValue() - 1];
+                    int a = working.nextSetBit(first);
+                    if (a < 0) continue; // not working (any more) that day
+                    boolean busy = block(taken, booked.get(BookingIndex.key(doctorId, date)), before);
+                    int found = 0;
+
+                    while (a >= 0 && found < wanted) {
+                        int b = working.nextClearBit(a);  // working run [a, b)
+                        int last = b - lengthUnits;        // last start that still ends in the run
+                        for (int u = a; u <= last && found < wanted; u += stepUnits) {
+                            if (busy) u = taken.nextClearBit(u);
+                            if (u > last) break;
+                            if (n == starts.length) starts = Arrays.copyOf(starts, n * 2);
+                            starts[n++] = ((long) u << 32) | i;
+                            found++;
+                        }
+                        a = working.nextSetBit(b);         // next run
+                    }
+                }
+
+                Arrays.sort(starts, 0, n); // by start, then by position in the doctor list
+                for (int k = 0; k < n && result.size() < limit; k++) {
+                    int u = (int) (starts[k] >>> 32);
+                    Doctor doctor = doctors.get((int) starts[k]);
+                    LocalTime start = LocalTime.ofSecondOfDay((long) u * GRID_SECONDS);
+                    int endSecond = u * GRID_SECONDS + slotMinutes * 60;
+                    result.add(new Slot(doctor, date, start, endSecond >= 86_400 ? LocalTime.MAX : LocalTime.ofSecondOfDay(endSecond)));
+                }
+            }
+            windowStart = windowEnd.plusDays(1);
+        }
+        return result;
+    }
+
+    /**
+     * Marks in blocked the grid starts a new slot cannot use: those less than before seconds ahead of a
+     * booked start (one booking, {@link BookingIndex#SLOT_SECONDS}, or the slot length if longer) or less
+     * than one booking after it, the rule create() enforces. Returns false if nothing is booked.
+     */
+    private static boolean block(BitSet blocked, int[] bookedStarts, int before) {
+        blocked.clear();
+        if (bookedStarts == null || bookedStarts.length == 0) return false;
+        for (int s : bookedStarts) {
+            int lo = Math.max(0, Math.floorDiv(s - before, GRID_SECONDS) + 1);           // first start that would overlap
+            int hi = Math.min(UNITS, ceilDiv(s + BookingIndex.SLOT_SECONDS, GRID_SECONDS)); // first start after the booking
+            if (lo < hi) blocked.set(lo, hi);
+        }
+        return true;
+    }
+
+    private synchronized Map<Integer, BitSet[]> weeks() throws SQLException { // templates as grids, loaded once
+        if (weeks == null || System.currentTimeMillis() - weeksLoadedAt > HOURS_TTL_MS) {
+            Map<Integer, BitSet[]> loaded = new HashMap<>();
+            DoctorDAO.selectAllWorkingHours().forEach((id, hours) -> loaded.put(id, week(hours)));
+            weeks = loaded;
+            weeksLoadedAt = System.currentTimeMillis();
+        }
+        return weeks;
+    }
+
+    private static BitSet[] week(WorkingHours hours) { // working units per ISO day
+        BitSet[] week = new BitSet[7];
+        for (int d = 0; d < 7; d++) week[d] = new BitSet(UNITS);
+        for (WorkingHours.Shift s : hours.shifts()) {
+            int from = ceilDiv(s.start().toSecondOfDay(), GRID_SECONDS);     // first whole unit inside the shift
+            int to = s.end().toSecondOfDay() / GRID_SECONDS;                 // units that end by the shift end
+            if (s.end().equals(LocalTime.MAX)) to = UNITS;
+            if (from < to) week[s.day().getValue() - 1].set(from, to);
+        }
+        return week;
+    }
+
+    private static int ceilDiv(int a, int b) { // rounds up (a >= 0)
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,443 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.SQLException;        // SQL exception handling
+import java.sql.Statement;           // generated keys flag
+import java.util.ArrayList;          // borrowed connections during pre-warm
+import java.util.List;               // list interface
+
+import com.hospital.db.DBConfig;     // pool and pre-warm settings
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Registry of every fixed DAO query.
+ * Each statement is declared once here so the driver can cache its prepared handle
+ * on every pooled connection (see the cachePrepStmts / useServerPrepStmts options in DBConfig.URL).
+ */
+public enum SqlStatement {
+
+    PATIENT_INSERT("""
+            INSERT INTO patients (first_name, last_name, phone, gender, birth_date)
+            VALUES (?, ?, ?, ?, ?)
+            """, true),
+
+    PATIENT_BY_ID(Fragments.PATIENT_SELECT + """
+            WHERE id = ?
+            """, false),
+
+    // Type-ahead fallback: params are (last-name pattern, limit, first-name pattern, limit)
+    PATIENT_SEARCH_NAME("(" + Fragments.PATIENT_SELECT + """
+            WHERE last_name LIKE ?
+            ORDER BY last_name, first_name
+            LIMIT ?)
+            UNION
+            (""" + Fragments.PATIENT_SELECT + """
+            WHERE first_name LIKE ?
+            ORDER BY first_name, last_name
+            LIMIT ?)
+            ORDER BY last_name, first_name
+            """, false),
+
+    PATIENT_LIST_ALL(Fragments.PATIENT_SELECT + """
+            ORDER BY id DESC
+            """, false),
+
+    // Keyset pages: params are (seek id, limit); the first page seeks from Integer.MAX_VALUE
+    PATIENT_PAGE_NEXT(Fragments.PATIENT_SELECT + """
+            WHERE id < ?
+            ORDER BY id DESC
+            LIMIT ?
+            """, false),
+
+    PATIENT_PAGE_PREVIOUS(Fragments.PATIENT_SELECT + """
+            WHERE id > ?
+            ORDER BY id ASC
+            LIMIT ?
+            """, false),
+
+    // Random access for virtualized tables: params are (limit, offset).
+    // The offset is skipped on the primary key only; full rows are read for the block itself.
+    PATIENT_PAGE_AT(Fragments.PATIENT_SELECT + """
+            JOIN (SELECT id AS page_id FROM patients ORDER BY id DESC LIMIT ? OFFSET ?) k ON id = k.page_id
+            ORDER BY id DESC
+            """, false),
+
+    PATIENT_COUNT("""
+            SELECT COUNT(*) FROM patients
+            """, false),
+
+    DOCTOR_INSERT("""
+            INSERT INTO doctors (first_name, last_name, specialization, phone)
+            VALUES (?, ?, ?, ?)""", true),
+
+    DOCTOR_BY_ID(Fragments.DOCTOR_SELECT + """
+            WHERE id = ?
+            """, false),
+
+    DOCTOR_SEARCH_NAME("(" + Fragments.DOCTOR_SELECT + """
+            WHERE last_name LIKE ?
+            ORDER BY last_name, first_name
+            LIMIT ?)
+            UNION
+            (""" + Fragments.DOCTOR_SELECT + """
+            WHERE first_name LIKE ?
+            ORDER BY first_name, last_name
+            LIMIT ?)
+            ORDER BY last_name, first_name
+            """, false),
+
+    DOCTOR_LIST_ALL(Fragments.DOCTOR_SELECT + """
+            ORDER BY id DESC
+            """, false),
+
+    DOCTOR_PAGE_NEXT(Fragments.DOCTOR_SELECT + """
+            WHERE id < ?
+            ORDER BY id DESC
+            LIMIT ?
+            """, false),
+
+    DOCTOR_PAGE_PREVIOUS(Fragments.DOCTOR_SELECT + """
+            WHERE id > ?
+            ORDER BY id ASC
+            LIMIT ?
+            """, false),
+
+    DOCTOR_PAGE_AT(Fragments.DOCTOR_SELECT + """
+            JOIN (SELECT id AS page_id FROM doctors ORDER BY id DESC LIMIT ? OFFSET ?) k ON id = k.page_id
+            ORDER BY id DESC
+            """, false),
+
+    DOCTOR_COUNT("""
+            SELECT COUNT(*) FROM doctors
+            """, false),
+
+    APPOINTMENT_INSERT("""
+            INSERT INTO appointments
+            (patient_id, doctor_id, appointment_date, appointment_time, notes)
+            VALUES (?, ?, ?, ?, ?)
+            """, true),
+
+    // Booking checks (idx_appt_doctor_date_time)
+    APPOINTMENT_DOCTOR_DAY_STARTS("""
+            SELECT id, appointment_time
+            FROM appointments
+            WHERE doctor_id = ? AND appointment_date = ?
+            ORDER BY appointment_time
+            """, false),
+
+    APPOINTMENT_OVERLAP("""
+            SELECT id, appointment_time
+            FROM appointments
+            WHERE doctor_id = ? AND appointment_date = ?
+              AND appointment_time BETWEEN ? AND ?
+            LIMIT 1
+            """, false),
+
+    // Serializes bookings of one doctor across desks (held until commit)
+    DOCTOR_LOCK("""
+            SELECT id FROM doctors WHERE id = ? FOR UPDATE
+            """, false),
+
+    // Booked starts over a date range for BookingIndex / SlotFinder, of every doctor (idx_appt_date_time) ...
+    APPOINTMENT_STARTS_BETWEEN("""
+            SELECT id, doctor_id, appointment_date, appointment_time
+            FROM appointments
+            WHERE appointment_date BETWEEN ? AND ?
+            """, false),
+
+    // ... or of one doctor (idx_appt_doctor_date_time)
+    APPOINTMENT_DOCTOR_STARTS_BETWEEN("""
+            SELECT id, doctor_id, appointment_date, appointment_time
+            FROM appointments
+            WHERE doctor_id = ? AND appointment_date BETWEEN ? AND ?
+            """, false),
+
+    // Weekly working-hour templates (primary key doctor_id, day_of_week, start_time)
+    WORKING_HOURS_ALL("""
+            SELECT doctor_id, day_of_week, start_time, end_time
+            FROM doctor_working_hours
+            """, false),
+
+    WORKING_HOURS_BY_DOCTOR("""
+            SELECT doctor_id, day_of_week, start_time, end_time
+            FROM doctor_working_hours
+            WHERE doctor_id = ?
+            """, false),
+
+    WORKING_HOURS_DELETE("""
+            DELETE FROM doctor_working_hours WHERE doctor_id = ?
+            """, false),
+
+    WORKING_HOURS_INSERT("""
+            INSERT INTO doctor_working_hours (doctor_id, day_of_week, start_time, end_time)
+            VALUES (?, ?, ?, ?)
+            """, false),
+
+    APPOINTMENT_LIST_DETAILED(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            ORDER BY a.id DESC
+            """, false),
+
+    // Exports of a date range in date/time order: every doctor (idx_appt_date_time) ...
+    APPOINTMENT_DETAILED_RANGE(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            WHERE a.appointment_date BETWEEN ? AND ?
+            ORDER BY a.appointment_date, a.appointment_time, a.id
+            """, false),
+
+    // ... or one doctor (idx_appt_doctor_date_time)
+    APPOINTMENT_DETAILED_DOCTOR_RANGE(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            WHERE a.doctor_id = ? AND a.appointment_date BETWEEN ? AND ?
+            ORDER BY a.appointment_date, a.appointment_time, a.id
+            """, false),
+
+    APPOINTMENT_PAGE_NEXT(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            WHERE a.id < ?
+            ORDER BY a.id DESC
+            LIMIT ?
+            """, false),
+
+    APPOINTMENT_PAGE_PREVIOUS(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            WHERE a.id > ?
+            ORDER BY a.id ASC
+            LIMIT ?
+            """, false),
+
+    APPOINTMENT_PAGE_AT(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            JOIN (SELECT id FROM appointments ORDER BY id DESC LIMIT ? OFFSET ?) k ON k.id = a.id
+            ORDER BY a.id DESC
+            """, false),
+
+    // Narrow appointment rows (ids, no names) for the client-side join, see NameDimension
+    APPOINTMENT_NARROW_LIST(Fragments.APPOINTMENT_NARROW_SELECT + """
+            ORDER BY id DESC
+            """, false),
+
+    APPOINTMENT_NARROW_PAGE_NEXT(Fragments.APPOINTMENT_NARROW_SELECT + """
+            WHERE id < ?
+            ORDER BY id DESC
+            LIMIT ?
+            """, false),
+
+    APPOINTMENT_NARROW_PAGE_PREVIOUS(Fragments.APPOINTMENT_NARROW_SELECT + """
+            WHERE id > ?
+            ORDER BY id ASC
+            LIMIT ?
+            """, false),
+
+    APPOINTMENT_NARROW_PAGE_AT(Fragments.APPOINTMENT_NARROW_SELECT + """
+            JOIN (SELECT id AS page_id FROM appointments ORDER BY id DESC LIMIT ? OFFSET ?) k ON id = k.page_id
+            ORDER BY id DESC
+            """, false),
+
+    // Schedules in date/time order: one doctor's date range (idx_appt_doctor_date_time) ...
+    APPOINTMENT_NARROW_DOCTOR_RANGE(Fragments.APPOINTMENT_NARROW_SELECT + """
+            WHERE doctor_id = ? AND appointment_date BETWEEN ? AND ?
+            ORDER BY appointment_date, appointment_time, id
+            """, false),
+
+    // ... or one day of every doctor (idx_appt_date_time)
+    APPOINTMENT_NARROW_DAY(Fragments.APPOINTMENT_NARROW_SELECT + """
+            WHERE appointment_date = ?
+            ORDER BY appointment_time, id
+            """, false),
+
+    APPOINTMENT_COUNT("""
+            SELECT COUNT(*) FROM appointments
+            """, false),
+
+    // Schedule order seeks on (date, time, id), spelled out: MySQL does not range-scan idx_appt_date_time
+    // on a row-value comparison, and H2 needs the leading date bound to use the index at all;
+    // params are (date, date, date, time, time, id, limit)
+    APPOINTMENT_SCHEDULE_PAGE_NEXT(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            WHERE a.appointment_date <= ?
+              AND (a.appointment_date < ?
+                   OR (a.appointment_date = ? AND (a.appointment_time < ? OR (a.appointment_time = ? AND a.id < ?))))
+            ORDER BY a.appointment_date DESC, a.appointment_time DESC, a.id DESC
+            LIMIT ?
+            """, false),
+
+    APPOINTMENT_SCHEDULE_PAGE_PREVIOUS(Fragments.APPOINTMENT_DETAIL_SELECT + """
+            WHERE a.appointment_date >= ?
+              AND (a.appointment_date > ?
+                   OR (a.appointment_date = ? AND (a.appointment_time > ? OR (a.appointment_time = ? AND a.id > ?))))
+            ORDER BY a.appointment_date ASC, a.appointment_time ASC, a.id ASC
+            LIMIT ?
+            """, false),
+
+    // Change feed (see ChangeFeed). Rows are read once they are a second old, so writes still
+    // in flight when a poll runs are not skipped by the watermark. The seek past (updated_at, id) is
+    // spelled out so MySQL range-scans idx_*_updated_at from the watermark (a row-value comparison
+    // walks it from the oldest row); params are (updated_at, updated_at, updated_at, id, limit)
+    PATIENT_CHANGES("""
+            SELECT id, first_name, last_name, phone, gender, birth_date, updated_at
+            FROM patients
+            WHERE updated_at >= ? AND (updated_at > ? OR (updated_at = ? AND id > ?))
+              AND updated_at < NOW(3) - INTERVAL '1' SECOND
+            ORDER BY updated_at, id
+            LIMIT ?
+            """, false),
+
+    DOCTOR_CHANGES("""
+            SELECT id, first_name, last_name, specialization, phone, updated_at
+            FROM doctors
+            WHERE updated_at >= ? AND (updated_at > ? OR (updated_at = ? AND id > ?))
+              AND updated_at < NOW(3) - INTERVAL '1' SECOND
+            ORDER BY updated_at, id
+            LIMIT ?
+            """, false),
+
+    APPOINTMENT_CHANGES(Fragments.APPOINTMENT_DETAIL_COLUMNS + """
+                   , a.doctor_id, a.updated_at
+            """ + Fragments.APPOINTMENT_DETAIL_FROM + """
+            WHERE a.updated_at >= ? AND (a.updated_at > ? OR (a.updated_at = ? AND a.id > ?))
+              AND a.updated_at < NOW(3) - INTERVAL '1' SECOND
+            ORDER BY a.updated_at, a.id
+            LIMIT ?
+            """, false),
+
+    // params are (seq, limit)
+    DELETED_ROWS_SINCE("""
+            SELECT seq, table_name, row_id
+            FROM deleted_rows
+            WHERE seq > ?
+              AND deleted_at < NOW(3) - INTERVAL '1' SECOND
+            ORDER BY seq
+            LIMIT ?
+            """, false),
+
+    // starting point of the change feed: now, and the newest row of each table
+    CHANGE_WATERMARKS("""
+            SELECT NOW(3),
+                   (SELECT MAX(id) FROM patients),
+                   (SELECT MAX(id) FROM doctors),
+                   (SELECT MAX(id) FROM appointments),
+                   (SELECT MAX(seq) FROM deleted_rows)
+            """, false),
+
+    // the log only has to outlive the poll interval; old entries go in small batches (in any order)
+    DELETED_ROWS_PRUNE("""
+            DELETE FROM deleted_rows
+            WHERE deleted_at < NOW() - INTERVAL '1' DAY
+            LIMIT 1000
+            """, false);
+
+    /**
+     * Column lists shared by several statements (a nested class so enum constants can use them).
+     */
+    private static final class Fragments {
+        static final String PATIENT_SELECT = """
+                SELECT id, first_name, last_name, phone, gender, birth_date
+                FROM patients
+                """;
+
+        static final String DOCTOR_SELECT = """
+                SELECT id, first_name, last_name, specialization, phone
+                FROM doctors
+                """;
+
+        static final String APPOINTMENT_NARROW_SELECT = """
+                SELECT id, patient_id, doctor_id, appointment_date, appointment_time, notes
+                FROM appointments
+                """;
+
+        static final String APPOINTMENT_DETAIL_COLUMNS = """
+                SELECT a.id,
+                       CONCAT(p.first_name, ' ', p.last_name) AS patient_name,
+                       CONCAT(
+                           d.first_name, ' ', d.last_name,
+                           CASE WHEN d.specialization IS NULL THEN '' ELSE CONCAT(' (', d.specialization, ')') END
+                       ) AS doctor_name,
+                       a.appointment_date,
+                       a.appointment_time,
+                       a.notes
+                """;
+
+        static final String APPOINTMENT_DETAIL_FROM = """
+                FROM appointments a
+                JOIN patients p ON p.id = a.patient_id
+                JOIN doctors d ON d.id = a.doctor_id
+                """;
+
+        static final String APPOINTMENT_DETAIL_SELECT = APPOINTMENT_DETAIL_COLUMNS + APPOINTMENT_DETAIL_FROM;
+    }
+
+    private final String sql;            // SQL text
+    private final boolean generatedKeys; // whether the statement returns generated keys
+
+    SqlStatement(String sql, boolean generatedKeys) {
+        this.sql = sql;
+        this.generatedKeys = generatedKeys;
+    }
+
+    public String sql() { // returns the SQL text
+        return sql;
+    }
+
+    /**
+     * Turns user input into a LIKE prefix pattern, escaping the wildcards % and _.
+     */
+    public static String likePrefix(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 1);
+        for (char c : text.toCharArray()) {
+            if (c == '%' || c == '_' || c == '\\') sb.append('\\');
+            sb.append(c);
+        }
+        return sb.append('%').toString();
+    }
+
+    /**
+     * Returns "WHERE id IN (?, ..., ?)" over size placeholders for a table's select, for queries built at runtime.
+     * Callers pad their ids to {@link ChunkedDelete#bucket} sizes so only a few distinct statements exist.
+     */
+    static String selectByIds(String table, int size) {
+        String select = switch (table) {
+            case "patients" -> Fragments.PATIENT_SELECT;
+            case "doctors" -> Fragments.DOCTOR_SELECT;
+            default -> throw new IllegalArgumentException("No select for " + table);
+        };
+        StringBuilder sql = new StringBuilder(select).append("WHERE id IN (");
+        for (int i = 0; i < size; i++) sql.append(i == 0 ? "?" : ",?");
+        return sql.append(")").toString();
+    }
+
+    /**
+     * Returns the patient column list and FROM clause, for queries built at runtime (see PatientSearch).
+     */
+    static String patientSelect() {
+        return Fragments.PATIENT_SELECT;
+    }
+
+    /**
+     * Prepares this statement on the given connection.
+     * With statement caching enabled the driver returns the cached handle for this connection.
+     */
+    public PreparedStatement prepare(Connection conn) throws SQLException {
+        return generatedKeys
+                ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : conn.prepareStatement(sql);
+    }
+
+    /**
+     * Prepares every registered statement on the pool's warm connections so the first
+     * Refresh does not pay for parsing and preparing.
+     *
+     * @return number of connections that were warmed
+     */
+    public static int prewarm() throws SQLException {
+        int count = Math.max(1, Math.min(DBConfig.POOL_MIN_IDLE, DBConfig.POOL_MAX_SIZE)); // connections to warm
+        List<Connection> borrowed = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                borrowed.add(DBConnection.getConnection()); // hold them all so each one is a different physical connection
+            }
+            for (Connection conn : borrowed) {
+                for (SqlStatement s : values()) {
+                    s.prepare(conn).close(); // closing puts the handle into the connection's cache
+                }
+            }
+            return borrowed.size();
+        } finally {
+            for (Connection conn : borrowed) conn.close(); // return to the pool
+        }
+    }
+}
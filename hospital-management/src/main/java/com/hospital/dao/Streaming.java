@@ -0,0 +1,88 @@
+package com.hospital.dao;
+
+import java.sql.Connection;          // JDBC connection interface
+import java.sql.PreparedStatement;   // precompiled SQL statement
+import java.sql.ResultSet;           // forward-only result
+import java.sql.SQLException;        // SQL exception handling
+import java.sql.Statement;           // H2 session setting
+
+import com.hospital.db.DBConfig;     // streaming fetch size
+import com.hospital.db.DBConnection; // database connection utility
+
+/**
+ * Runs a query with a streaming ResultSet and hands rows to a callback,
+ * so memory stays flat regardless of table size.
+ * On the embedded backend the database runs in this JVM too, so H2 is switched to lazy execution
+ * for the query: it then produces rows as they are read instead of building the result first.
+ * If the callback throws (e.g. a cancelled export), the query is cancelled before the result is closed:
+ * MySQL's driver would otherwise read every remaining row of a streaming result on close.
+ */
+final class Streaming {
+
+    private Streaming() {
+        // Utility class
+    }
+
+    /**
+     * Binds query parameters before execution.
+     */
+    @FunctionalInterface
+    interface Binder {
+        Binder NONE = ps -> { }; // query without parameters
+
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Streams every row of the statement to the callback.
+     *
+     * @return number of rows delivered
+     */
+    static <T, X extends Exception> long forEach(
+            SqlStatement statement,     // forward-only query
+            Binder binder,              // binds parameters
+            RowMapper<T> mapper,        // maps one row (by column index)
+            RowCallback<T, X> callback  // receives each row
+    ) throws SQLException, X {
+        long count = 0;
+        try (Connection conn = DBConnection.getConnection(); // borrow pooled DB connection
+             PreparedStatement ps = statement.prepare(conn)) { // cached statement
+
+            ps.setFetchSize(DBConfig.STREAM_FETCH_SIZE); // stream rows instead of buffering the full result
+            boolean lazy = !DBConfig.BACKEND.isShared();  // embedded H2: its result buffer is on our heap
+            if (lazy) lazyExecution(conn, true);
+            try {
+                binder.bind(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    try {
+                        while (rs.next()) {
+                            callback.accept(mapper.map(rs));
+                            count++;
+                        }
+                    } catch (Throwable ex) { // rows are still coming: stop the server before close drains them
+                        cancel(ps);
+                        throw ex;
+                    }
+                }
+            } finally {
+                ps.setFetchSize(0); // the handle is cached: restore the default for the next borrower
+                if (lazy) lazyExecution(conn, false); // the connection is pooled too
+            }
+        }
+        return count;
+    }
+
+    private static void cancel(PreparedStatement ps) { // best effort: the caller's exception is what matters
+        try {
+            ps.cancel();
+        } catch (SQLException ignored) {
+            // the query may have finished meanwhile
+        }
+    }
+
+    private static void lazyExecution(Connection conn, boolean on) throws SQLException { // H2 session setting
+        try (Statement st = conn.createStatement()) {
+            st.execute("SET LAZY_QUERY_EXECUTION " + (on ? "TRUE" : "FALSE"));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hospital.db;
+
+import java.nio.file.Path; // embedded database location
+
+/**
+ * Database backend, chosen with -Dhospital.db.backend=mysql|embedded (default mysql).
+ * <ul>
+ *   <li>{@link #MYSQL}: a shared MySQL server; several desks work on the same data.</li>
+ *   <li>{@link #EMBEDDED}: an H2 database file inside this process (MySQL compatibility mode),
+ *       for single-workstation sites, offline tests and benchmarks. No network round trips;
+ *       the file is locked by the one process that has it open.</li>
+ * </ul>
+ * The DAO statements are written in the SQL both understand; the few places that differ ask
+ * {@link DBConfig#BACKEND}.
+ */
+public enum Backend {
+
+    MYSQL,
+    EMBEDDED;
+
+    /**
+     * Parses a backend name (case-insensitive).
+     */
+    public static Backend of(String name) {
+        for (Backend b : values()) {
+            if (b.name().equalsIgnoreCase(name.trim())) return b;
+        }
+        throw new IllegalArgumentException("Unknown database backend '" + name + "' (use mysql or embedded)");
+    }
+
+    /**
+     * Returns true if other processes can change the data (so caches expire and the change feed runs).
+     */
+    public boolean isShared() {
+        return this == MYSQL;
+    }
+
+    String defaultUrl(Path embeddedPath) { // URL used when -Dhospital.db.url is not set
+        return switch (this) {
+            case MYSQL -> DBConfig.DEFAULT_URL;
+            // MODE=MySQL: LIMIT, AUTO_INCREMENT, ON UPDATE; lower-case names like MySQL on Linux;
+            // IGNORECASE: text compares case-insensitively, like MySQL's default collation (name search).
+            // The pool's shutdown hook closes the last connection, which closes the database.
+            case EMBEDDED -> "jdbc:h2:file:" + embeddedPath.toAbsolutePath()
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;IGNORECASE=TRUE;DB_CLOSE_ON_EXIT=FALSE";
+        };
+    }
+}
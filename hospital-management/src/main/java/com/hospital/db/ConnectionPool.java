@@ -0,0 +1,358 @@
+package com.hospital.db;
+
+import java.lang.reflect.InvocationHandler;          // intercepts calls on borrowed connections
+import java.lang.reflect.InvocationTargetException; // unwraps exceptions from the physical connection
+import java.lang.reflect.Method;                     // reflected connection method
+import java.lang.reflect.Proxy;                      // dynamic proxy for borrowed connections
+import java.sql.Connection;                          // JDBC connection interface
+import java.sql.DriverManager;                       // opens physical connections
+import java.sql.SQLException;                        // SQL exception handling
+import java.sql.SQLTransientConnectionException;     // thrown when the pool is exhausted
+import java.util.Set;                                // set of borrowed connections
+import java.util.concurrent.ConcurrentHashMap;       // thread-safe set backing
+import java.util.concurrent.Executors;               // housekeeping scheduler factory
+import java.util.concurrent.LinkedBlockingDeque;     // idle connections (LIFO)
+import java.util.concurrent.ScheduledExecutorService; // periodic housekeeping
+import java.util.concurrent.Semaphore;               // bounds borrowed connections
+import java.util.concurrent.TimeUnit;                // time units
+import java.util.concurrent.atomic.AtomicInteger;    // physical connection count
+import java.util.concurrent.atomic.AtomicLong;       // wait time counters
+
+import com.hospital.util.LatencyHistogram;           // acquire time percentiles
+
+/**
+ * Bounded JDBC connection pool.
+ * Keeps physical connections open between DAO calls, validates them on borrow,
+ * retires them after a maximum lifetime and reports connections that are never returned.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000L; // how often idle/leak checks run
+
+    private final String url;      // JDBC url
+    private final String user;     // database user
+    private final String password; // database password
+
+    private final int maxSize;                // max physical connections
+    private final int minIdle;                // idle connections kept warm
+    private final long connectionTimeoutMs;   // max wait for a free connection
+    private final long idleTimeoutMs;         // idle connections above min-idle are closed after this
+    private final long maxLifetimeMs;         // physical connections are retired after this
+    private final long leakDetectionMs;       // borrowed longer than this = leak (0 disables)
+    private final int validationTimeoutSeconds; // isValid timeout
+    private final long validationBypassMs;    // recently used connections skip validation
+
+    private final Semaphore permits;                                     // one permit per borrowable connection
+    private final LinkedBlockingDeque<Entry> idle = new LinkedBlockingDeque<>(); // idle connections, most recent first
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();     // currently borrowed connections
+    private final AtomicInteger total = new AtomicInteger();             // physical connections (idle + borrowed)
+    private final ScheduledExecutorService housekeeper;                  // background maintenance
+
+    private final AtomicLong borrowCount = new AtomicLong();   // successful borrows
+    private final AtomicLong timeoutCount = new AtomicLong();  // borrows that timed out
+    private final AtomicLong totalWaitNanos = new AtomicLong(); // cumulative borrow wait
+    private final AtomicLong maxWaitNanos = new AtomicLong();   // worst borrow wait
+    private final LatencyHistogram acquireTimes = new LatencyHistogram(); // borrow wait distribution
+    private final AtomicLong createdCount = new AtomicLong();   // physical connections opened
+    private final AtomicLong retiredCount = new AtomicLong();   // physical connections closed by the pool
+    private final AtomicLong leakCount = new AtomicLong();      // leaks reported
+
+    private volatile boolean closed; // set once the pool is shut down
+
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, int minIdle,
+                          long connectionTimeoutMs, long idleTimeoutMs, long maxLifetimeMs,
+                          long leakDetectionMs, int validationTimeoutSeconds, long validationBypassMs) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be >= 1");
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.leakDetectionMs = leakDetectionMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.validationBypassMs = validationBypassMs;
+        this.permits = new Semaphore(maxSize, true); // fair: waiting desks are served in order
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true); // never keeps the JVM alive
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a pool from the settings in {@link DBConfig}.
+     */
+    public static ConnectionPool fromConfig() {
+        return new ConnectionPool(
+                DBConfig.URL,
+                DBConfig.USER,
+                DBConfig.PASSWORD,
+                DBConfig.POOL_MAX_SIZE,
+                DBConfig.POOL_MIN_IDLE,
+                DBConfig.POOL_CONNECTION_TIMEOUT_MS,
+                DBConfig.POOL_IDLE_TIMEOUT_MS,
+                DBConfig.POOL_MAX_LIFETIME_MS,
+                DBConfig.POOL_LEAK_DETECTION_MS,
+                DBConfig.POOL_VALIDATION_TIMEOUT_SECONDS,
+                DBConfig.POOL_VALIDATION_BYPASS_MS
+        );
+    }
+
+    /**
+     * Borrows a connection. Closing the returned connection hands it back to the pool.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + connectionTimeoutMs + " ms (" + stats() + ")");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", ex);
+        }
+
+        try {
+            Entry entry;
+            while ((entry = idle.pollFirst()) != null) { // reuse the most recently returned connection
+                if (isUsable(entry)) break;
+                retire(entry);
+            }
+            if (entry == null) entry = open(); // nothing idle: open a new physical connection
+
+            recordWait(System.nanoTime() - start);
+            return lease(entry);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release(); // give the slot back if we could not hand out a connection
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     */
+    public PoolStats stats() {
+        long borrows = borrowCount.get();
+        int leasedNow = leased.size();
+        return new PoolStats(
+                leasedNow,
+                idle.size(),
+                total.get(),
+                maxSize,
+                permits.getQueueLength(),
+                borrows,
+                timeoutCount.get(),
+                borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1_000,
+                maxWaitNanos.get() / 1_000,
+                acquireTimes.percentileNanos(0.50) / 1_000,
+                acquireTimes.percentileNanos(0.95) / 1_000,
+                acquireTimes.percentileNanos(0.99) / 1_000,
+                createdCount.get(),
+                retiredCount.get(),
+                leakCount.get()
+        );
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping.
+     * Borrowed connections are closed when their borrower returns them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        Entry e;
+        while ((e = idle.pollFirst()) != null) retire(e);
+    }
+
+    private Entry open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password); // TCP + auth handshake
+        total.incrementAndGet();
+        createdCount.incrementAndGet();
+        return new Entry(physical);
+    }
+
+    private boolean isUsable(Entry e) {
+        long now = System.currentTimeMillis();
+        if (maxLifetimeMs > 0 && now - e.createdAt >= maxLifetimeMs) return false; // too old
+        if (now - e.lastUsedAt < validationBypassMs) return true; // just returned, skip the round trip
+        try {
+            return e.physical.isValid(validationTimeoutSeconds); // validation on borrow
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private Connection lease(Entry entry) {
+        Lease lease = new Lease(entry, leakDetectionMs > 0 ? new Exception("Connection borrowed here") : null);
+        leased.add(lease);
+        borrowCount.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                lease
+        );
+    }
+
+    private void giveBack(Lease lease) {
+        leased.remove(lease);
+        Entry entry = lease.entry;
+        try {
+            if (closed || entry.physical.isClosed()) {
+                retire(entry);
+                return;
+            }
+            if (!entry.physical.getAutoCommit()) { // never hand out a connection mid-transaction
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.lastUsedAt = System.currentTimeMillis();
+            if (maxLifetimeMs > 0 && entry.lastUsedAt - entry.createdAt >= maxLifetimeMs) {
+                retire(entry);
+            } else {
+                idle.offerFirst(entry);
+            }
+        } catch (SQLException ex) {
+            retire(entry); // broken connection: drop it
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retire(Entry e) {
+        total.decrementAndGet();
+        retiredCount.incrementAndGet();
+        try {
+            e.physical.close();
+        } catch (SQLException ignored) {
+            // connection is being discarded anyway
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        acquireTimes.record(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Periodic maintenance: closes expired idle connections, tops up min-idle and reports leaks.
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // 1) retire idle connections that are too old or idle for too long (keeping min-idle)
+            for (Entry e : idle) {
+                boolean expired = maxLifetimeMs > 0 && now - e.createdAt >= maxLifetimeMs;
+                boolean idleTooLong = idleTimeoutMs > 0 && now - e.lastUsedAt >= idleTimeoutMs && idle.size() > minIdle;
+                if ((expired || idleTooLong) && idle.remove(e)) retire(e);
+            }
+
+            // 2) top up min-idle so the next click does not pay for a handshake; each opening holds a permit
+            //    like a borrow would, so it cannot race a borrower past maxSize (zero timeout: waiters go first)
+            while (!closed && idle.size() < minIdle && total.get() < maxSize
+                    && permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                try {
+                    idle.offerLast(open());
+                } finally {
+                    permits.release();
+                }
+            }
+
+            // 3) report connections borrowed for too long
+            if (leakDetectionMs > 0) {
+                for (Lease l : leased) {
+                    if (!l.leakReported && now - l.borrowedAt >= leakDetectionMs) {
+                        l.leakReported = true;
+                        leakCount.incrementAndGet();
+                        System.err.println("WARNING: possible connection leak, borrowed "
+                                + (now - l.borrowedAt) + " ms ago by " + l.threadName);
+                        l.borrowSite.printStackTrace();
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            System.err.println("Connection pool housekeeping failed: " + ex.getMessage()); // database may be down; retry next round
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private static final class Entry {
+        final Connection physical;                        // real driver connection
+        final long createdAt = System.currentTimeMillis(); // for max lifetime
+        volatile long lastUsedAt = createdAt;             // for idle timeout and validation bypass
+
+        Entry(Connection physical) {
+            this.physical = physical;
+        }
+    }
+
+    /**
+     * One borrow of an entry. Acts as the proxy handler so that close() returns the connection.
+     */
+    private final class Lease implements InvocationHandler {
+        final Entry entry;                                  // borrowed physical connection
+        final Exception borrowSite;                         // stack of the borrower (leak detection only)
+        final long borrowedAt = System.currentTimeMillis(); // for leak detection
+        final String threadName = Thread.currentThread().getName(); // borrowing thread
+        volatile boolean leakReported;                      // report each leak once
+        private boolean returned;                           // guards double close
+
+        Lease(Entry entry, Exception borrowSite) {
+            this.entry = entry;
+            this.borrowSite = borrowSite;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    synchronized (this) {
+                        if (returned) return null;
+                        returned = true;
+                    }
+                    giveBack(this);
+                    return null;
+                }
+                case "isClosed" -> {
+                    synchronized (this) {
+                        if (returned) return true;
+                    }
+                    return entry.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + entry.physical + "]";
+                }
+                default -> {
+                    synchronized (this) {
+                        if (returned) throw new SQLException("Connection is closed");
+                    }
+                }
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause(); // rethrow the driver's SQLException unchanged
+            }
+        }
+    }
+}
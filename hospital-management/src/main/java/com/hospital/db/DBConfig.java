@@ -1,8 +1,11 @@
 package com.hospital.db;
 
+import java.nio.file.Path; // embedded database file
+
 /**
  * Central place for database connection settings.
- * Database credentials are defined here.
+ * Database credentials are defined here; the backend (MySQL server or embedded file) is chosen in {@link Backend}.
+ * Pool settings can be overridden with -Dhospital.db.pool.* system properties.
  */
 public final class DBConfig {
 
@@ -10,9 +13,75 @@ public final class DBConfig {
         // Utility class
     }
 
-    public static final String URL =
-            "jdbc:mysql://localhost:3306/hospital_db?useSSL=false&serverTimezone=UTC";
+    /** Backend (-Dhospital.db.backend=mysql|embedded); an H2 URL in -Dhospital.db.url implies embedded. */
+    public static final Backend BACKEND = Backend.of(System.getProperty("hospital.db.backend",
+            System.getProperty("hospital.db.url", "").startsWith("jdbc:h2:") ? "embedded" : "mysql"));
+
+    /** File of the embedded database (H2 adds .mv.db); created with the schema on first start. */
+    public static final Path EMBEDDED_PATH = Path.of(System.getProperty("hospital.db.embedded.path",
+            System.getProperty("user.home") + "/.hospital/hospital_db"));
+
+    // cachePrepStmts/useServerPrepStmts: the driver keeps server-side prepared handles per pooled connection
+    public static final String DEFAULT_URL =
+            "jdbc:mysql://localhost:3306/hospital_db?useSSL=false&serverTimezone=UTC"
+                    + "&cachePrepStmts=true&useServerPrepStmts=true"
+                    + "&prepStmtCacheSize=256&prepStmtCacheSqlLimit=4096"
+                    + "&rewriteBatchedStatements=true"; // send JDBC batches in as few round trips as possible
+
+    /** JDBC URL; -Dhospital.db.url points tools such as the benchmarks at a scratch database. */
+    public static final String URL = System.getProperty("hospital.db.url", BACKEND.defaultUrl(EMBEDDED_PATH));
+
+    public static final String USER = System.getProperty("hospital.db.user", BACKEND.isShared() ? "root" : "hospital");
+    public static final String PASSWORD = System.getProperty("hospital.db.password",
+            BACKEND.isShared() ? "YOUR_PASSWORD_HERE" : ""); // replace with actual password; the embedded file is local
+
+    // Connection pool settings
+
+    /** Upper bound on physical connections (borrowed + idle). */
+    public static final int POOL_MAX_SIZE =
+            Integer.getInteger("hospital.db.pool.maxSize", 10);
+
+    /** Idle connections kept open so a click never pays the TCP + auth handshake. */
+    public static final int POOL_MIN_IDLE =
+            Integer.getInteger("hospital.db.pool.minIdle", 2);
+
+    /** How long a caller waits for a free connection before failing. */
+    public static final long POOL_CONNECTION_TIMEOUT_MS =
+            Long.getLong("hospital.db.pool.connectionTimeoutMs", 5_000L);
+
+    /** Idle connections above min-idle are closed after this long. */
+    public static final long POOL_IDLE_TIMEOUT_MS =
+            Long.getLong("hospital.db.pool.idleTimeoutMs", 10 * 60_000L);
+
+    /** Physical connections are retired after this age (keep below MySQL wait_timeout). */
+    public static final long POOL_MAX_LIFETIME_MS =
+            Long.getLong("hospital.db.pool.maxLifetimeMs", 30 * 60_000L);
+
+    /** Borrowed connections held longer than this are reported as leaks (0 disables). */
+    public static final long POOL_LEAK_DETECTION_MS =
+            Long.getLong("hospital.db.pool.leakDetectionMs", 60_000L);
+
+    /** Timeout passed to Connection.isValid when validating on borrow. */
+    public static final int POOL_VALIDATION_TIMEOUT_SECONDS =
+            Integer.getInteger("hospital.db.pool.validationTimeoutSeconds", 2);
+
+    /** Connections returned more recently than this are handed out without re-validation. */
+    public static final long POOL_VALIDATION_BYPASS_MS =
+            Long.getLong("hospital.db.pool.validationBypassMs", 500L);
+
+    /** Prepare every registered DAO statement on the warm connections at startup. */
+    public static final boolean PREWARM_STATEMENTS =
+            Boolean.parseBoolean(System.getProperty("hospital.db.prewarm", "true"));
+
+    /**
+     * Fetch size for streaming DAO queries.
+     * Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one instead of buffering the result;
+     * H2 rejects it, and spills large embedded results to disk by itself.
+     */
+    public static final int STREAM_FETCH_SIZE =
+            Integer.getInteger("hospital.db.streamFetchSize", BACKEND.isShared() ? Integer.MIN_VALUE : 0);
 
-    public static final String USER = "root";
-    public static final String PASSWORD = "YOUR_PASSWORD_HERE"; // replace with actual password
+    /** Apply pending db/migration scripts when the application starts. */
+    public static final boolean MIGRATE_ON_STARTUP =
+            Boolean.parseBoolean(System.getProperty("hospital.db.migrate", "true"));
 }
@@ -1,27 +1,115 @@
 package com.hospital.db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture; // startup readiness
+import java.util.concurrent.ExecutionException; // never thrown by READY
+
+import com.hospital.util.Jmx; // MBean registration
 
 /**
  * Provides JDBC database connections.
  * All database access goes through this class.
+ * Connections are borrowed from a shared {@link ConnectionPool}; closing them returns them to the pool.
  */
 public final class DBConnection {
 
+    private static final CompletableFuture<Void> READY = new CompletableFuture<>(); // completed by the startup thread
+
     private DBConnection() {
         // Utility class
     }
 
     /**
-     * Creates and returns a new database connection.
+     * Management interface of the pool (com.hospital:type=ConnectionPool); times in microseconds.
+     */
+    public interface PoolMXBean {
+        int getActive();
+        int getIdle();
+        int getTotal();
+        int getWaiting();
+        long getBorrows();
+        long getTimeouts();
+        long getAvgAcquireMicros();
+        long getP50AcquireMicros();
+        long getP95AcquireMicros();
+        long getP99AcquireMicros();
+        long getMaxAcquireMicros();
+        long getLeaks();
+    }
+
+    /**
+     * Lazily created pool (holder idiom: created on first use, thread-safe).
+     */
+    private static final class Holder {
+        static final ConnectionPool POOL = createPool();
+
+        private static ConnectionPool createPool() {
+            ConnectionPool pool = ConnectionPool.fromConfig();
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "db-pool-shutdown"));
+            Jmx.register("type=ConnectionPool", new PoolMXBean() { // every getter reads a fresh snapshot
+                @Override public int getActive() { return pool.stats().active(); }
+                @Override public int getIdle() { return pool.stats().idle(); }
+                @Override public int getTotal() { return pool.stats().total(); }
+                @Override public int getWaiting() { return pool.stats().waiting(); }
+                @Override public long getBorrows() { return pool.stats().borrows(); }
+                @Override public long getTimeouts() { return pool.stats().timeouts(); }
+                @Override public long getAvgAcquireMicros() { return pool.stats().avgWaitMicros(); }
+                @Override public long getP50AcquireMicros() { return pool.stats().p50WaitMicros(); }
+                @Override public long getP95AcquireMicros() { return pool.stats().p95WaitMicros(); }
+                @Override public long getP99AcquireMicros() { return pool.stats().p99WaitMicros(); }
+                @Override public long getMaxAcquireMicros() { return pool.stats().maxWaitMicros(); }
+                @Override public long getLeaks() { return pool.stats().leaks(); }
+            }, PoolMXBean.class);
+            return pool;
+        }
+    }
+
+    /**
+     * Borrows a database connection from the pool.
+     * Callers must close it (try-with-resources) to give it back.
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-                DBConfig.URL,
-                DBConfig.USER,
-                DBConfig.PASSWORD
-        );
+        return Holder.POOL.borrow();
+    }
+
+    /**
+     * Loads the JDBC driver and opens the pool's warm connections ahead of the first query.
+     */
+    public static void initialize() throws SQLException {
+        getConnection().close(); // first borrow creates the pool and loads the driver
+    }
+
+    /**
+     * Completes once the application's startup database work (pool, migrations) is over, successfully or not.
+     * Screens shown while it runs wait for it before their first query, so they do not read a schema being created.
+     */
+    public static CompletableFuture<Void> ready() {
+        return READY;
+    }
+
+    /**
+     * Blocks a background thread until {@link #ready()} completes.
+     */
+    public static void awaitReady() throws InterruptedException {
+        try {
+            READY.get();
+        } catch (ExecutionException ex) {
+            // only ever completed normally
+        }
+    }
+
+    /**
+     * Marks the startup database work as over (see {@link #ready()}).
+     */
+    public static void markReady() {
+        READY.complete(null);
+    }
+
+    /**
+     * Returns pool wait time and active/idle counts.
+     */
+    public static PoolStats poolStats() {
+        return Holder.POOL.stats();
     }
 }
@@ -0,0 +1,218 @@
+package com.hospital.db;
+
+import java.io.IOException;                 // reading scripts
+import java.io.InputStream;                 // classpath resource
+import java.nio.charset.StandardCharsets;   // script encoding
+import java.sql.Connection;                 // JDBC connection interface
+import java.sql.PreparedStatement;          // precompiled SQL statement
+import java.sql.ResultSet;                  // query results
+import java.sql.SQLException;               // SQL exception handling
+import java.sql.Statement;                  // DDL execution
+import java.sql.Timestamp;                  // applied_at column
+import java.util.ArrayList;                 // list implementation
+import java.util.HashMap;                   // applied versions
+import java.util.List;                      // list interface
+import java.util.Map;                       // map interface
+import java.util.zip.CRC32;                 // script checksum
+
+/**
+ * Applies the versioned schema scripts in src/main/resources/db/migration in order
+ * and records each one in the schema_version table. On the embedded backend, a script of the same
+ * name in db/migration/embedded replaces the MySQL one.
+ * Runs at startup (see Main) or from the command line via util.DBMigrate.
+ */
+public final class Migrator {
+
+    private static final String LOCATION = "/db/migration/"; // classpath folder of the scripts
+    private static final String EMBEDDED_LOCATION = "/db/migration/embedded/"; // embedded variants of scripts that differ
+    private static final String LOCK_NAME = "hospital_schema_migration"; // serializes desks starting together
+
+    /**
+     * Ordered script list. Add new scripts at the end; never edit an applied one.
+     */
+    private static final String[] SCRIPTS = {
+            "V1__baseline_tables.sql",
+            "V2__lookup_indexes.sql",
+            "V3__name_prefix_indexes.sql",
+            "V4__patient_search_indexes.sql",
+            "V5__change_tracking.sql",
+            "V6__doctor_working_hours.sql",
+    };
+
+    private Migrator() {
+        // Utility class
+    }
+
+    /**
+     * One script of the migration history.
+     */
+    public record Migration(int version, String description, String script, String sql, long checksum) { }
+
+    /**
+     * One row of schema_version.
+     */
+    public record AppliedMigration(int version, String description, long checksum, Timestamp appliedAt, long executionMs) { }
+
+    /**
+     * Applies all pending scripts.
+     *
+     * @return number of scripts applied
+     */
+    public static int migrate() throws SQLException {
+        List<Migration> migrations = load();
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean locked = lock(conn);
+            try {
+                ensureVersionTable(conn);
+                Map<Integer, Long> applied = appliedChecksums(conn);
+
+                int count = 0;
+                for (Migration m : migrations) {
+                    Long checksum = applied.get(m.version());
+                    if (checksum != null) {
+                        if (checksum != m.checksum()) {
+                            System.err.println("WARNING: migration " + m.script() + " changed after it was applied");
+                        }
+                        continue;
+                    }
+                    apply(conn, m);
+                    count++;
+                }
+                return count;
+            } finally {
+                if (locked) unlock(conn);
+            }
+        }
+    }
+
+    /**
+     * Returns the applied migrations, oldest first.
+     */
+    public static List<AppliedMigration> history() throws SQLException {
+        List<AppliedMigration> result = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            ensureVersionTable(conn);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT version, description, checksum, applied_at, execution_ms FROM schema_version ORDER BY version");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new AppliedMigration(rs.getInt(1), rs.getString(2), rs.getLong(3), rs.getTimestamp(4), rs.getLong(5)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the scripts bundled with the application, in order.
+     */
+    public static List<Migration> load() {
+        List<Migration> result = new ArrayList<>();
+        for (String script : SCRIPTS) {
+            int sep = script.indexOf("__");
+            int version = Integer.parseInt(script.substring(1, sep)); // V<version>__<description>.sql
+            String description = script.substring(sep + 2, script.length() - 4).replace('_', ' ');
+            String sql = read(script);
+
+            CRC32 crc = new CRC32();
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+            result.add(new Migration(version, description, script, sql, crc.getValue()));
+        }
+        return result;
+    }
+
+    private static void apply(Connection conn, Migration m) throws SQLException {
+        long start = System.currentTimeMillis();
+        try (Statement st = conn.createStatement()) {
+            for (String stmt : split(m.sql())) {
+                st.execute(stmt); // MySQL DDL commits implicitly, so scripts are applied statement by statement
+            }
+        } catch (SQLException ex) {
+            throw new SQLException("Migration " + m.script() + " failed: " + ex.getMessage(), ex.getSQLState(), ex.getErrorCode(), ex);
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            ps.setInt(1, m.version());
+            ps.setString(2, m.description());
+            ps.setLong(3, m.checksum());
+            ps.setLong(4, elapsed);
+            ps.executeUpdate();
+        }
+        System.out.println("Applied migration " + m.script() + " in " + elapsed + " ms");
+    }
+
+    private static void ensureVersionTable(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("""
+                    CREATE TABLE IF NOT EXISTS schema_version (
+                      version INT PRIMARY KEY,
+                      description VARCHAR(200) NOT NULL,
+                      checksum BIGINT NOT NULL,
+                      applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                      execution_ms BIGINT NOT NULL
+                    )""");
+        }
+    }
+
+    private static Map<Integer, Long> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> result = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) result.put(rs.getInt(1), rs.getLong(2));
+        }
+        return result;
+    }
+
+    private static boolean lock(Connection conn) {
+        if (!DBConfig.BACKEND.isShared()) return false; // an embedded file has a single process: nothing to serialize
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, 30)")) {
+            ps.setString(1, LOCK_NAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        } catch (SQLException ex) {
+            return false; // database without named locks: run unlocked
+        }
+    }
+
+    private static void unlock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException ignored) {
+            // lock is released with the session anyway
+        }
+    }
+
+    /**
+     * Splits a script into statements on semicolons at line end, dropping -- comments.
+     */
+    static List<String> split(String script) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String stmt = current.toString().trim();
+                result.add(stmt.substring(0, stmt.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) result.add(current.toString().trim());
+        return result;
+    }
+
+    private static String read(String script) { // the embedded variant of a script wins if there is one
+        InputStream variant = DBConfig.BACKEND == Backend.EMBEDDED ? Migrator.class.getResourceAsStream(EMBEDDED_LOCATION + script) : null;
+        try (InputStream in = variant != null ? variant : Migrator.class.getResourceAsStream(LOCATION + script)) {
+            if (in == null) throw new IllegalStateException("Missing migration script " + script);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read migration script " + script, ex);
+        }
+    }
+}
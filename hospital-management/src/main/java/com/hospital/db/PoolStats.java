@@ -0,0 +1,40 @@
+package com.hospital.db;
+
+/**
+ * Point-in-time snapshot of the connection pool counters.
+ * Used to size the pool under load.
+ */
+public record PoolStats(
+        int active,           // connections currently borrowed
+        int idle,             // connections open and waiting in the pool
+        int total,            // physical connections (active + idle)
+        int maxSize,          // configured upper bound
+        int waiting,          // threads blocked waiting for a connection
+        long borrows,         // successful borrows since start
+        long timeouts,        // borrows that gave up waiting
+        long avgWaitMicros,   // average time spent waiting to borrow
+        long maxWaitMicros,   // worst time spent waiting to borrow
+        long p50WaitMicros,   // median borrow time (validation and connect included)
+        long p95WaitMicros,   // 95th percentile borrow time
+        long p99WaitMicros,   // 99th percentile borrow time
+        long created,         // physical connections opened
+        long retired,         // physical connections closed by the pool
+        long leaks            // borrowed connections reported as leaked
+) {
+
+    @Override
+    public String toString() {
+        return "active=" + active
+                + ", idle=" + idle
+                + ", total=" + total + "/" + maxSize
+                + ", waiting=" + waiting
+                + ", borrows=" + borrows
+                + ", timeouts=" + timeouts
+                + ", avgWait=" + avgWaitMicros + "us"
+                + ", maxWait=" + maxWaitMicros + "us"
+                + ", p50/p95/p99Wait=" + p50WaitMicros + "/" + p95WaitMicros + "/" + p99WaitMicros + "us"
+                + ", created=" + created
+                + ", retired=" + retired
+                + ", leaks=" + leaks;
+    }
+}
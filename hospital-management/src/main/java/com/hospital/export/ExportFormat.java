@@ -0,0 +1,37 @@
+package com.hospital.export; // export package
+
+import java.util.Locale; // case-insensitive names
+
+/**
+ * File formats of an export.
+ */
+public enum ExportFormat {
+    CSV(".csv"),       // RFC 4180: header row, quoted where needed, CRLF line ends
+    NDJSON(".ndjson"); // one JSON object per line
+
+    private final String extension; // file name suffix (before .gz)
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Format named by a file name: .ndjson or .jsonl (optionally followed by .gz) is NDJSON, anything else CSV.
+     */
+    public static ExportFormat ofFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) name = name.substring(0, name.length() - 3);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+
+    /**
+     * Format by name (csv, ndjson), ignoring case.
+     */
+    public static ExportFormat of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
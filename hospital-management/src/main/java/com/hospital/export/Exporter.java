@@ -0,0 +1,152 @@
+package com.hospital.export; // export package
+
+import java.io.IOException;          // write failures
+import java.io.InterruptedIOException; // cancelled export
+import java.nio.file.AtomicMoveNotSupportedException; // move fallback
+import java.nio.file.Files;          // temp file, move, size
+import java.nio.file.Path;           // target file
+import java.nio.file.StandardCopyOption; // replace the target
+import java.sql.SQLException;        // SQL exception handling
+import java.time.LocalDate;          // appointment date filter
+import java.util.List;               // column names
+
+import com.hospital.dao.AppointmentDAO; // streamed appointments
+import com.hospital.dao.DoctorDAO;   // streamed doctors
+import com.hospital.dao.PatientDAO;  // streamed patients
+import com.hospital.model.Doctor;    // doctor rows
+import com.hospital.model.Patient;   // patient rows
+
+/**
+ * Exports a table to a CSV or NDJSON file in constant memory: rows come from a forward-only,
+ * streaming result ({@code streamAll} / {@code streamDetailed} of the DAOs) and go straight into a
+ * {@link RecordWriter}, so neither side ever holds more than one row.
+ * Used by the Export dialog and by {@code com.hospital.util.Export}.
+ */
+public final class Exporter {
+
+    /** Progress is reported after this many rows (and once at the end). */
+    public static final int PROGRESS_EVERY = 1_000;
+
+    /**
+     * What can be exported, with the exported columns.
+     */
+    public enum Entity {
+        APPOINTMENTS(List.of("id", "patient", "doctor", "date", "time", "notes")),
+        PATIENTS(List.of("id", "first_name", "last_name", "phone", "gender", "birth_date")),
+        DOCTORS(List.of("id", "first_name", "last_name", "specialization", "phone"));
+
+        private final List<String> columns;
+
+        Entity(List<String> columns) {
+            this.columns = columns;
+        }
+
+        public List<String> columns() {
+            return columns;
+        }
+    }
+
+    /**
+     * One export. doctorId, from and to filter appointments (null: no filter; from and to are inclusive)
+     * and must be null for the other entities.
+     */
+    public record Request(Entity entity, ExportFormat format, boolean gzip, Integer doctorId, LocalDate from, LocalDate to) {
+        public Request {
+            if (entity != Entity.APPOINTMENTS && (doctorId != null || from != null || to != null)) {
+                throw new IllegalArgumentException("Only appointments can be filtered");
+            }
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new IllegalArgumentException("From (" + from + ") is after To (" + to + ")");
+            }
+        }
+
+        public static Request all(Entity entity, ExportFormat format, boolean gzip) { // whole table
+            return new Request(entity, format, gzip, null, null, null);
+        }
+
+        public boolean filtered() {
+            return doctorId != null || from != null || to != null;
+        }
+    }
+
+    /**
+     * Receives progress while exporting (on the exporting thread).
+     */
+    @FunctionalInterface
+    public interface Progress {
+        Progress NONE = (rows, expected) -> { };
+
+        void rows(long written, long expected); // expected is -1 when unknown (filtered appointments)
+    }
+
+    /**
+     * Outcome of an export; bytes is the size of the file as written (compressed, with gzip).
+     */
+    public record Result(Path path, long rows, long bytes) { }
+
+    private final AppointmentDAO appointmentDAO = new AppointmentDAO();
+    private final PatientDAO patientDAO = new PatientDAO();
+    private final DoctorDAO doctorDAO = new DoctorDAO();
+
+    /**
+     * Writes the export to path, replacing the file. Rows go to a temporary file next to it, which is
+     * moved into place when complete; a failed or cancelled export (the thread was interrupted) deletes
+     * only that temporary file, so it never touches path.
+     */
+    public Result export(Request request, Path path, Progress progress) throws SQLException, IOException {
+        long expected = request.filtered() ? -1 : switch (request.entity()) { // cheap COUNT(*) for the progress bar
+            case APPOINTMENTS -> appointmentDAO.count();
+            case PATIENTS -> patientDAO.count();
+            case DOCTORS -> doctorDAO.count();
+        };
+        progress.rows(0, expected);
+
+        Path dir = path.toAbsolutePath().getParent();
+        Path part = dir.resolve("." + path.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".part"); // same directory: the move is a rename
+        boolean done = false;
+        try {
+            long rows;
+            try (RecordWriter out = new RecordWriter(part, request.format(), request.gzip(), request.entity().columns())) {
+                rows = switch (request.entity()) {
+                    case APPOINTMENTS -> appointmentDAO.streamDetailed(request.doctorId(), request.from(), request.to(), a -> {
+                        out.number(a.id()).text(a.patientName()).text(a.doctorName())
+                                .text(a.date() == null ? null : a.date().toString())
+                                .text(a.time() == null ? null : a.time().toString())
+                                .text(a.notes());
+                        written(out, progress, expected);
+                    });
+                    case PATIENTS -> patientDAO.streamAll((Patient p) -> {
+                        out.number(p.getId()).text(p.getFirstName()).text(p.getLastName()).text(p.getPhone()).text(p.getGender())
+                                .text(p.getBirthDate() == null ? null : p.getBirthDate().toString());
+                        written(out, progress, expected);
+                    });
+                    case DOCTORS -> doctorDAO.streamAll((Doctor d) -> {
+                        out.number(d.getId()).text(d.getFirstName()).text(d.getLastName()).text(d.getSpecialization()).text(d.getPhone());
+                        written(out, progress, expected);
+                    });
+                };
+            }
+            moveIntoPlace(part, path);
+            done = true;
+            progress.rows(rows, rows);
+            return new Result(path, rows, Files.size(path));
+        } finally {
+            if (!done) Files.deleteIfExists(part); // no half-written exports
+        }
+    }
+
+    private static void moveIntoPlace(Path part, Path path) throws IOException { // readers see the old file or the whole new one
+        try {
+            Files.move(part, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(part, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void written(RecordWriter out, Progress progress, long expected) throws IOException { // after each row
+        out.endRecord();
+        if (out.records() % PROGRESS_EVERY != 0) return;
+        if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Export cancelled");
+        progress.rows(out.records(), expected);
+    }
+}
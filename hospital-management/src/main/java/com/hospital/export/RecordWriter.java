@@ -0,0 +1,196 @@
+package com.hospital.export; // export package
+
+import java.io.Closeable;                       // closes the file
+import java.io.IOException;                     // I/O failures
+import java.nio.ByteBuffer;                     // output buffer
+import java.nio.CharBuffer;                     // record text to encode
+import java.nio.channels.Channels;              // gzip stream as a channel
+import java.nio.channels.FileChannel;           // target file
+import java.nio.channels.WritableByteChannel;   // file or gzip
+import java.nio.charset.CharsetEncoder;         // UTF-8 encoding into the buffer
+import java.nio.charset.CoderResult;            // buffer full / bad input
+import java.nio.charset.CodingErrorAction;      // lone surrogates
+import java.nio.charset.StandardCharsets;       // UTF-8
+import java.nio.file.Path;                      // target path
+import java.nio.file.StandardOpenOption;        // create / truncate
+import java.util.List;                          // column names
+import java.util.zip.GZIPOutputStream;          // optional compression
+
+/**
+ * Writes records as CSV or NDJSON into a file through one fixed-size buffer, optionally gzipped.
+ * A record is built field by field ({@link #text}, {@link #number}) and ended with {@link #endRecord};
+ * memory stays constant however many records are written: one record's text and the buffer.
+ */
+public final class RecordWriter implements Closeable {
+
+    /** Size of the output buffer (bytes). */
+    public static final int BUFFER_BYTES = 64 * 1024;
+
+    private final ExportFormat format;
+    private final String[] keys;                 // NDJSON: "name": prefixes, escaped once
+    private final FileChannel file;              // target file
+    private final GZIPOutputStream gzip;         // compressor, or null
+    private final WritableByteChannel out;       // file, or the compressor as a channel
+    private final ByteBuffer buffer;             // encoded bytes waiting for the channel
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder record = new StringBuilder(256); // text of the record being built, reused
+
+    private int field;    // fields of the current record so far
+    private long records; // records written
+    private long bytes;   // bytes written before compression
+
+    /**
+     * Creates (or truncates) the file; a CSV file starts with the header row.
+     */
+    public RecordWriter(Path path, ExportFormat format, boolean compress, List<String> columns) throws IOException {
+        this.format = format;
+        this.keys = new String[columns.size()];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder key = new StringBuilder();
+            json(key, columns.get(i));
+            keys[i] = key.append(':').toString();
+        }
+        this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.gzip = compress ? new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_BYTES) : null;
+            this.out = compress ? Channels.newChannel(gzip) : file;
+        } catch (IOException | RuntimeException ex) {
+            file.close();
+            throw ex;
+        }
+        this.buffer = compress
+                ? ByteBuffer.allocate(BUFFER_BYTES)        // copied into the compressor anyway
+                : ByteBuffer.allocateDirect(BUFFER_BYTES); // written to the file without an extra copy
+
+        if (format == ExportFormat.CSV) {
+            for (String column : columns) text(column);
+            endRow();
+        }
+    }
+
+    /**
+     * Appends a text field (null: empty CSV field, JSON null).
+     */
+    public RecordWriter text(String value) {
+        separate();
+        if (value == null) {
+            if (format == ExportFormat.NDJSON) record.append("null");
+        } else if (format == ExportFormat.NDJSON) {
+            json(record, value);
+        } else {
+            csv(record, value);
+        }
+        return this;
+    }
+
+    /**
+     * Appends a number field.
+     */
+    public RecordWriter number(long value) {
+        separate();
+        record.append(value);
+        return this;
+    }
+
+    /**
+     * Ends the record and hands its bytes to the buffer (written out whenever it fills).
+     */
+    public void endRecord() throws IOException {
+        endRow();
+        records++;
+    }
+
+    public long records() { // records written so far (without the CSV header)
+        return records;
+    }
+
+    public long bytes() { // bytes written so far, before compression
+        return bytes;
+    }
+
+    /**
+     * Writes out the buffer, finishes the gzip stream and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            if (gzip != null) gzip.finish();
+        } finally {
+            if (gzip != null) out.close(); // closes the file channel too
+            else file.close();
+        }
+    }
+
+    private void separate() { // before each field
+        if (format == ExportFormat.NDJSON) {
+            record.append(field == 0 ? '{' : ',');
+            if (field >= keys.length) throw new IllegalStateException("More fields than columns: " + (field + 1));
+            record.append(keys[field]);
+        } else if (field > 0) {
+            record.append(',');
+        }
+        field++;
+    }
+
+    private void endRow() throws IOException { // line end, then encode
+        if (format == ExportFormat.NDJSON) record.append(field == 0 ? "{}\n" : "}\n");
+        else record.append("\r\n");
+
+        CharBuffer chars = CharBuffer.wrap(record);
+        for (CoderResult r = encoder.encode(chars, buffer, true); r.isOverflow(); r = encoder.encode(chars, buffer, true)) {
+            drain(); // buffer full: write it out and continue with the rest of the record
+        }
+        while (encoder.flush(buffer).isOverflow()) drain();
+        encoder.reset();
+        record.setLength(0);
+        field = 0;
+    }
+
+    private void drain() throws IOException { // buffer -> channel
+        buffer.flip();
+        bytes += buffer.remaining();
+        while (buffer.hasRemaining()) out.write(buffer);
+        buffer.clear();
+    }
+
+    private static void csv(StringBuilder sb, String value) { // quoted if it holds a separator, quote or line break
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') sb.append('"'); // "" inside quotes
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private static void json(StringBuilder sb, String value) { // JSON string literal
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -1,5 +1,8 @@
 package com.hospital.model;
 
+import java.time.LocalDate; // appointment date
+import java.time.LocalTime; // appointment time
+
 /**
  * Represents an appointment record.
  */
@@ -8,8 +11,8 @@ public class Appointment {
     private Integer id;                 // unique appointment identifier (primary key)
     private Integer patientId;           // referenced patient id (foreign key)
     private Integer doctorId;            // referenced doctor id (foreign key)
-    private String appointmentDate;      // appointment date in yyyy-MM-dd format
-    private String appointmentTime;      // appointment time in HH:mm:ss format
+    private LocalDate appointmentDate;   // appointment date
+    private LocalTime appointmentTime;   // appointment time
     private String notes;                // optional notes about the appointment
 
     public Appointment() {               // default constructor
@@ -19,8 +22,8 @@ public class Appointment {
             Integer id,                  // appointment id
             Integer patientId,            // patient id
             Integer doctorId,             // doctor id
-            String appointmentDate,       // appointment date
-            String appointmentTime,       // appointment time
+            LocalDate appointmentDate,    // appointment date
+            LocalTime appointmentTime,    // appointment time
             String notes                  // additional notes
     ) {
         this.id = id;                     // assign appointment id
@@ -55,19 +58,19 @@ public class Appointment {
         this.doctorId = doctorId;
     }
 
-    public String getAppointmentDate() {   // returns appointment date
+    public LocalDate getAppointmentDate() {   // returns appointment date
         return appointmentDate;
     }
 
-    public void setAppointmentDate(String appointmentDate) { // sets appointment date
+    public void setAppointmentDate(LocalDate appointmentDate) { // sets appointment date
         this.appointmentDate = appointmentDate;
     }
 
-    public String getAppointmentTime() {   // returns appointment time
+    public LocalTime getAppointmentTime() {   // returns appointment time
         return appointmentTime;
     }
 
-    public void setAppointmentTime(String appointmentTime) { // sets appointment time
+    public void setAppointmentTime(LocalTime appointmentTime) { // sets appointment time
         this.appointmentTime = appointmentTime;
     }
 
@@ -1,16 +1,27 @@
 package com.hospital.model;
 
+import java.util.EnumSet;           // set of changed fields
+import java.util.Objects;           // null-safe equality
+import java.util.Set;               // set interface
+
 /**
  * Represents a doctor record.
  */
 public class Doctor {
 
+    /**
+     * Editable fields, used to track which ones changed since the record was loaded or saved.
+     */
+    public enum Field { FIRST_NAME, LAST_NAME, SPECIALIZATION, PHONE }
+
     private Integer id;               // unique identifier (primary key)
     private String firstName;          // doctor's first name
     private String lastName;           // doctor's last name
     private String specialization;     // medical specialization / department
     private String phone;              // contact phone number
 
+    private final EnumSet<Field> dirty = EnumSet.noneOf(Field.class); // fields changed through setters
+
     public Doctor() { }                // default constructor
 
     public Doctor(
@@ -27,6 +38,10 @@ public class Doctor {
         this.phone = phone;            // assign phone
     }
 
+    public Doctor(Doctor other) {      // copy of the values, without pending changes
+        this(other.id, other.firstName, other.lastName, other.specialization, other.phone);
+    }
+
     public Integer getId() {            // returns doctor id
         return id;
     }
@@ -40,6 +55,7 @@ public class Doctor {
     }
 
     public void setFirstName(String firstName) { // sets first name
+        mark(Field.FIRST_NAME, this.firstName, firstName);
         this.firstName = firstName;
     }
 
@@ -48,6 +64,7 @@ public class Doctor {
     }
 
     public void setLastName(String lastName) {   // sets last name
+        mark(Field.LAST_NAME, this.lastName, lastName);
         this.lastName = lastName;
     }
 
@@ -56,6 +73,7 @@ public class Doctor {
     }
 
     public void setSpecialization(String specialization) { // sets specialization
+        mark(Field.SPECIALIZATION, this.specialization, specialization);
         this.specialization = specialization;
     }
 
@@ -64,6 +82,23 @@ public class Doctor {
     }
 
     public void setPhone(String phone) { // sets phone number
+        mark(Field.PHONE, this.phone, phone);
         this.phone = phone;
     }
+
+    public Set<Field> getDirtyFields() { // fields changed since load/save (copy)
+        return EnumSet.copyOf(dirty);
+    }
+
+    public boolean isDirty() {          // true if any field changed
+        return !dirty.isEmpty();
+    }
+
+    public void markClean() {           // called by the DAO after the changes are stored
+        dirty.clear();
+    }
+
+    private void mark(Field field, Object oldValue, Object newValue) { // record a real change only
+        if (!Objects.equals(oldValue, newValue)) dirty.add(field);
+    }
 }
@@ -1,12 +1,20 @@
 package com.hospital.model; // model package
 
 import java.time.LocalDate; // date type
+import java.util.EnumSet; // set of changed fields
+import java.util.Objects; // null-safe equality
+import java.util.Set; // set interface
 
 /**
  * Represents a patient record in the system.
  */
 public class Patient { // patient model class
 
+    /**
+     * Editable fields, used to track which ones changed since the record was loaded or saved.
+     */
+    public enum Field { FIRST_NAME, LAST_NAME, PHONE, GENDER, BIRTH_DATE }
+
     private Integer id; // unique identifier (null when not saved yet)
     private String firstName; // patient's first name
     private String lastName; // patient's last name
@@ -14,6 +22,8 @@ public class Patient { // patient model class
     private String gender; // gender
     private LocalDate birthDate; // birth date (can be null)
 
+    private final EnumSet<Field> dirty = EnumSet.noneOf(Field.class); // fields changed through setters
+
     public Patient() { } // no-arg constructor
 
     public Patient(Integer id, String firstName, String lastName, String phone, String gender, LocalDate birthDate) { // full constructor
@@ -25,21 +35,33 @@ public class Patient { // patient model class
         this.birthDate = birthDate; // set birth date
     }
 
+    public Patient(Patient other) { // copy of the values, without pending changes
+        this(other.id, other.firstName, other.lastName, other.phone, other.gender, other.birthDate);
+    }
+
     public Integer getId() { return id; } // get ID
     public void setId(Integer id) { this.id = id; } // set ID
 
     public String getFirstName() { return firstName; } // get first name
-    public void setFirstName(String firstName) { this.firstName = firstName; } // set first name
+    public void setFirstName(String firstName) { mark(Field.FIRST_NAME, this.firstName, firstName); this.firstName = firstName; } // set first name
 
     public String getLastName() { return lastName; } // get last name
-    public void setLastName(String lastName) { this.lastName = lastName; } // set last name
+    public void setLastName(String lastName) { mark(Field.LAST_NAME, this.lastName, lastName); this.lastName = lastName; } // set last name
 
     public String getPhone() { return phone; } // get phone
-    public void setPhone(String phone) { this.phone = phone; } // set phone
+    public void setPhone(String phone) { mark(Field.PHONE, this.phone, phone); this.phone = phone; } // set phone
 
     public String getGender() { return gender; } // get gender
-    public void setGender(String gender) { this.gender = gender; } // set gender
+    public void setGender(String gender) { mark(Field.GENDER, this.gender, gender); this.gender = gender; } // set gender
 
     public LocalDate getBirthDate() { return birthDate; } // get birth date
-    public void setBirthDate(LocalDate birthDate) { this.birthDate = birthDate; } // set birth date
+    public void setBirthDate(LocalDate birthDate) { mark(Field.BIRTH_DATE, this.birthDate, birthDate); this.birthDate = birthDate; } // set birth date
+
+    public Set<Field> getDirtyFields() { return EnumSet.copyOf(dirty); } // fields changed since load/save (copy)
+    public boolean isDirty() { return !dirty.isEmpty(); } // true if any field changed
+    public void markClean() { dirty.clear(); } // called by the DAO after the changes are stored
+
+    private void mark(Field field, Object oldValue, Object newValue) { // record a real change only
+        if (!Objects.equals(oldValue, newValue)) dirty.add(field);
+    }
 }
@@ -0,0 +1,85 @@
+package com.hospital.model;
+
+import java.time.DayOfWeek;         // shift day
+import java.time.LocalTime;         // shift bounds
+import java.util.ArrayList;         // sorted copy
+import java.util.Comparator;        // shift order
+import java.util.List;              // list interface
+import java.util.Objects;           // null checks
+
+/**
+ * A doctor's weekly working-hour template: the shifts worked on each day of the week.
+ * Immutable; shifts are kept in (day, start) order.
+ */
+public final class WorkingHours {
+
+    /**
+     * One working period on a day of the week; end is exclusive.
+     */
+    public record Shift(DayOfWeek day, LocalTime start, LocalTime end) {
+        public Shift {
+            Objects.requireNonNull(day, "day");
+            Objects.requireNonNull(start, "start");
+            Objects.requireNonNull(end, "end");
+            if (!start.isBefore(end)) throw new IllegalArgumentException("Shift must end after it starts: " + start + "-" + end);
+        }
+    }
+
+    /** Template of doctors without stored hours: Monday to Friday, 09:00-17:00. */
+    public static final WorkingHours DEFAULT = weekdays(LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+    private final List<Shift> shifts; // sorted by day, then start
+
+    public WorkingHours(List<Shift> shifts) { // copies and sorts the shifts
+        List<Shift> sorted = new ArrayList<>(shifts);
+        sorted.sort(Comparator.comparing(Shift::day).thenComparing(Shift::start));
+        this.shifts = List.copyOf(sorted);
+    }
+
+    /**
+     * Same hours every working day (Monday to Friday).
+     */
+    public static WorkingHours weekdays(LocalTime start, LocalTime end) {
+        List<Shift> shifts = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.getValue() <= DayOfWeek.FRIDAY.getValue()) shifts.add(new Shift(day, start, end));
+        }
+        return new WorkingHours(shifts);
+    }
+
+    public List<Shift> shifts() {          // every shift, in week order
+        return shifts;
+    }
+
+    public List<Shift> on(DayOfWeek day) { // shifts of one day, in start order
+        List<Shift> result = new ArrayList<>();
+        for (Shift s : shifts) {
+            if (s.day() == day) result.add(s);
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {              // true if the doctor never works
+        return shifts.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {       // same shifts
+        return o instanceof WorkingHours other && shifts.equals(other.shifts);
+    }
+
+    @Override
+    public int hashCode() {
+        return shifts.hashCode();
+    }
+
+    @Override
+    public String toString() {              // e.g. "MONDAY 09:00-17:00, TUESDAY 09:00-12:00"
+        StringBuilder sb = new StringBuilder();
+        for (Shift s : shifts) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(s.day()).append(' ').append(s.start()).append('-').append(s.end());
+        }
+        return sb.toString();
+    }
+}
@@ -4,17 +4,18 @@ package com.hospital.ui; // UI package
 import java.awt.BorderLayout; // border layout manager
 import java.awt.Dimension; // dimension for component sizing
 import java.awt.FlowLayout; // flow layout for button arrangement
-import java.sql.Date; // SQL date type
-import java.sql.Time; // SQL time type
-import java.text.SimpleDateFormat; // date formatting utility
+import java.time.LocalDate; // appointment date
+import java.time.LocalTime; // appointment time
+import java.time.ZoneId; // spinner values are local wall-clock times
+import java.time.format.DateTimeFormatter; // immutable, thread-safe formatting
+import java.time.temporal.ChronoUnit; // minute precision
 import java.util.ArrayList; // list for storing IDs
+import java.util.Arrays; // slot label lookup
 import java.util.List; // list interface
 import java.util.Objects; // object utility methods
 
 import javax.swing.BorderFactory; // factory for borders
-import javax.swing.DefaultComboBoxModel; // model for combo boxes
 import javax.swing.JButton; // button component
-import javax.swing.JComboBox; // dropdown/combo box component
 import javax.swing.JLabel; // label for text display
 import javax.swing.JOptionPane; // dialog for user messages
 import javax.swing.JPanel; // panel container
@@ -23,39 +24,59 @@ import javax.swing.JSpinner; // spinner for date/time input
 import javax.swing.JTable; // table component
 import javax.swing.JTextArea; // multi-line text area
 import javax.swing.SpinnerDateModel; // spinner model for dates
+import javax.swing.SwingUtilities; // back to the EDT
 import javax.swing.border.EmptyBorder; // border with padding
 import javax.swing.table.DefaultTableCellRenderer; // table cell renderer
-import javax.swing.table.TableRowSorter; // row sorter for table
 
 import com.hospital.dao.AppointmentDAO; // DAO for appointments
 import com.hospital.dao.AppointmentDAO.AppointmentRow; // appointment row record
+import com.hospital.dao.BookingIndex; // booking length
+import com.hospital.dao.ChangeFeed; // changes made at other desks
 import com.hospital.dao.DoctorDAO; // DAO for doctors
 import com.hospital.dao.PatientDAO; // DAO for patients
+import com.hospital.dao.ReferenceCache; // shared patient/doctor cache
+import com.hospital.dao.SlotFinder; // free slot search
 import com.hospital.model.Doctor; // doctor model
 import com.hospital.model.Patient; // patient model
 import com.hospital.ui.table.AppointmentsTableModel; // custom table model
 
-public class AppointmentsPanel extends JPanel { // panel for managing appointments
+public class AppointmentsPanel extends JPanel implements Card { // panel for managing appointments
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE; // yyyy-MM-dd, like the date spinner
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm"); // like the time spinner
+
+    private static final int FREE_SLOT_DAYS = 7;     // days searched from the chosen date
+    private static final int FREE_SLOT_CHOICES = 10; // slots offered
 
     private final AppointmentDAO appointmentDAO = new AppointmentDAO(); // DAO for appointment operations
     private final PatientDAO patientDAO = new PatientDAO(); // DAO for patient operations
     private final DoctorDAO doctorDAO = new DoctorDAO(); // DAO for doctor operations
 
-    private final JComboBox<Patient> patientCombo = new JComboBox<>(); // dropdown for patient selection
-    private final JComboBox<Doctor> doctorCombo = new JComboBox<>(); // dropdown for doctor selection
+    private final SearchPicker<Patient> patientPicker = new SearchPicker<>(new SearchPicker.Source<>() { // type-ahead patient search
+        @Override public List<Patient> cached(String query, int limit) { return patientDAO.suggestCached(query, limit); }
+        @Override public List<Patient> search(String query, int limit) throws Exception { return patientDAO.suggest(query, limit); }
+    }, this::formatPatient);
+    private final SearchPicker<Doctor> doctorPicker = new SearchPicker<>(new SearchPicker.Source<>() { // type-ahead doctor search
+        @Override public List<Doctor> cached(String query, int limit) { return doctorDAO.suggestCached(query, limit); }
+        @Override public List<Doctor> search(String query, int limit) throws Exception { return doctorDAO.suggest(query, limit); }
+    }, this::formatDoctor);
 
     private final JSpinner dateSpinner = new JSpinner(new SpinnerDateModel()); // spinner for date input
     private final JSpinner timeSpinner = new JSpinner(new SpinnerDateModel()); // spinner for time input
 
     private final JTextArea notesArea = new JTextArea(4, 20); // text area for appointment notes
 
-    private final AppointmentsTableModel tableModel = new AppointmentsTableModel(); // table model
+    private final AppointmentsTableModel tableModel = new AppointmentsTableModel(appointmentDAO, this::showTableError); // lazy model over all appointments
     private final JTable table = new JTable(tableModel); // table to display appointments
 
     private final JButton btnRefresh = new JButton("Refresh"); // refresh button
     private final JButton btnCreate = new JButton("Create Appointment"); // create appointment button
+    private final JButton btnFreeSlot = new JButton("Find Free Slot"); // earliest free slots button
     private final JButton btnDelete = new JButton("Delete Selected"); // delete appointment button
 
+    private final JLabel rowsLabel = new JLabel(" "); // row count or load error
+
+
     public AppointmentsPanel() { // constructor initializes the panel
         setLayout(new BorderLayout(14, 14)); // set main layout
         setBorder(new EmptyBorder(14, 14, 14, 14)); // set padding border
@@ -64,6 +85,7 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
         add(buildCenter(), BorderLayout.CENTER); // add center content
 
         wireUI(); // bind UI events
+        ChangeFeed.shared().addListener(c -> SwingUtilities.invokeLater(() -> tableModel.apply(c.appointments()))); // other desks' bookings
         reloadAll(); // load initial data
     }
 
@@ -103,9 +125,9 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
         notesArea.setLineWrap(true); // enable line wrapping
         notesArea.setWrapStyleWord(true); // wrap at word boundaries
 
-        form.add(row("Patient", patientCombo)); // add patient row
+        form.add(row("Patient", patientPicker)); // add patient row
         form.add(gap(8)); // spacing
-        form.add(row("Doctor", doctorCombo)); // add doctor row
+        form.add(row("Doctor", doctorPicker)); // add doctor row
         form.add(gap(8)); // spacing
         form.add(row("Date", dateSpinner)); // add date row
         form.add(gap(8)); // spacing
@@ -119,6 +141,8 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
         form.add(notesWrap); // add to form
 
         JPanel createRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0)); // button row
+        btnFreeSlot.setToolTipText("Earliest free slots of the selected doctor's specialization in the " + FREE_SLOT_DAYS + " days from the chosen date"); // explain the search
+        createRow.add(btnFreeSlot); // add free slot button
         createRow.add(btnCreate); // add create button
         form.add(createRow); // add to form
 
@@ -129,16 +153,25 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
         tableCard.setBorder(BorderFactory.createTitledBorder("Latest Appointments")); // add title
 
         table.setRowHeight(26); // set row height
-        table.setAutoCreateRowSorter(true); // enable sorting
-        table.setRowSorter(new TableRowSorter<>(tableModel)); // add sorter
+        // No row sorter: sorting would have to load every block; rows come newest first
+        tableModel.addTableModelListener(e -> rowsLabel.setText(tableModel.getRowCount() + " appointments")); // row count below the table
 
-        // Time column renderer to format as HH:mm
-        SimpleDateFormat timeFmt = new SimpleDateFormat("HH:mm"); // time format
-        table.setDefaultRenderer(Time.class, new DefaultTableCellRenderer() { // custom renderer
+        // Date and time column renderers; the formatters are shared, nothing is allocated per cell but the text
+        table.setDefaultRenderer(LocalDate.class, new DefaultTableCellRenderer() { // custom renderer
+            @Override
+            protected void setValue(Object value) { // override value display
+                if (value instanceof LocalDate d) { // check if date type
+                    setText(DATE_FORMAT.format(d)); // format date
+                } else {
+                    super.setValue(value); // default behavior
+                }
+            }
+        });
+        table.setDefaultRenderer(LocalTime.class, new DefaultTableCellRenderer() { // custom renderer
             @Override
             protected void setValue(Object value) { // override value display
-                if (value instanceof Time t) { // check if time type
-                    setText(timeFmt.format(t)); // format time
+                if (value instanceof LocalTime t) { // check if time type
+                    setText(TIME_FORMAT.format(t)); // format time as HH:mm
                 } else {
                     super.setValue(value); // default behavior
                 }
@@ -146,6 +179,7 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
         });
 
         tableCard.add(new JScrollPane(table), BorderLayout.CENTER); // add table to card
+        tableCard.add(rowsLabel, BorderLayout.SOUTH); // add row count below table
 
         center.add(formCard, BorderLayout.WEST); // add form on left
         center.add(tableCard, BorderLayout.CENTER); // add table on right
@@ -170,33 +204,73 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
     }
 
     private void wireUI() { // bind UI event listeners
-        btnRefresh.addActionListener(e -> reloadAll()); // refresh button: reload all data
+        btnRefresh.addActionListener(e -> { // refresh button: reload all data
+            ReferenceCache.patients().clear(); // pick up other desks' patients
+            ReferenceCache.doctors().clear(); // and doctors
+            reloadAll();
+        });
 
         btnCreate.addActionListener(e -> { // create appointment button
             try {
-                Patient p = (Patient) patientCombo.getSelectedItem(); // get selected patient
-                Doctor d = (Doctor) doctorCombo.getSelectedItem(); // get selected doctor
+                Patient p = patientPicker.getSelectedItem(); // get selected patient
+                Doctor d = doctorPicker.getSelectedItem(); // get selected doctor
 
                 if (p == null || p.getId() == null || d == null || d.getId() == null) { // validate selection
                     JOptionPane.showMessageDialog(this, "Please select patient and doctor."); // error message
                     return; // exit
                 }
 
-                Date sqlDate = toSqlDate((java.util.Date) dateSpinner.getValue()); // convert date
-                Time sqlTime = toSqlTime((java.util.Date) timeSpinner.getValue()); // convert time
+                LocalDate date = toLocalDate((java.util.Date) dateSpinner.getValue()); // convert date
+                LocalTime time = toLocalTime((java.util.Date) timeSpinner.getValue()); // convert time
                 String notes = notesArea.getText(); // get notes
 
-                appointmentDAO.create(p.getId(), d.getId(), sqlDate, sqlTime, notes); // save to database
-
-                notesArea.setText(""); // clear form
-                reloadTableOnly(); // reload table
-
-                JOptionPane.showMessageDialog(this, "Appointment created."); // success message
+                btnCreate.setEnabled(false); // no double submit while saving
+                BackgroundLoader.run( // save off the EDT
+                        () -> appointmentDAO.create(p.getId(), d.getId(), date, time, notes), // save to database
+                        id -> { // back on the EDT
+                            btnCreate.setEnabled(true); // allow next booking
+                            notesArea.setText(""); // clear form
+                            tableModel.insertFirst(AppointmentRow.of(id, p, d, date, time, notes)); // newest first, no reload
+                            JOptionPane.showMessageDialog(this, "Appointment created."); // success message
+                        },
+                        ex -> { // failed (e.g. double booking)
+                            btnCreate.setEnabled(true); // allow retry
+                            showError(ex); // show error
+                        }
+                );
             } catch (Exception ex) { // handle errors
                 showError(ex); // show error
             }
         });
 
+        btnFreeSlot.addActionListener(e -> { // suggest free slots instead of guessing a time
+            Doctor d = doctorPicker.getSelectedItem(); // get selected doctor
+            if (d == null || d.getId() == null) { // a doctor gives the specialization
+                JOptionPane.showMessageDialog(this, "Please select a doctor (any doctor of the wanted specialization)."); // info
+                return; // exit
+            }
+
+            LocalDate from = toLocalDate((java.util.Date) dateSpinner.getValue()); // search from the chosen date
+            LocalDate to = from.plusDays(FREE_SLOT_DAYS - 1); // through the next days
+            int minutes = BookingIndex.SLOT_SECONDS / 60; // one booking
+            String spec = d.getSpecialization(); // search the whole specialization when there is one
+
+            btnFreeSlot.setEnabled(false); // no double search
+            BackgroundLoader.run( // search off the EDT
+                    () -> (spec == null || spec.isBlank())
+                            ? SlotFinder.shared().findForDoctor(d.getId(), from, to, minutes, FREE_SLOT_CHOICES)
+                            : SlotFinder.shared().findForSpecialization(spec, from, to, minutes, FREE_SLOT_CHOICES),
+                    slots -> { // back on the EDT
+                        btnFreeSlot.setEnabled(true); // allow next search
+                        pickSlot(slots); // let the user choose
+                    },
+                    ex -> { // failed
+                        btnFreeSlot.setEnabled(true); // allow retry
+                        showError(ex); // show error
+                    }
+            );
+        });
+
         btnDelete.addActionListener(e -> { // delete appointment button
             try {
                 int[] viewRows = table.getSelectedRows(); // get selected rows
@@ -220,89 +294,49 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
                     if (row != null) ids.add(row.id()); // collect ID
                 }
 
-                int deleted = appointmentDAO.deleteByIds(ids); // delete from database
-                reloadTableOnly(); // reload table
-
-                JOptionPane.showMessageDialog(this, "Deleted: " + deleted); // show count
+                BackgroundLoader.run( // delete off the EDT
+                        () -> appointmentDAO.deleteByIds(ids), // delete from database
+                        deleted -> { // back on the EDT
+                            tableModel.removeAll(ids); // in place, no re-count
+                            JOptionPane.showMessageDialog(this, "Deleted: " + deleted); // show count
+                        },
+                        this::showError // show error
+                );
             } catch (Exception ex) { // handle errors
                 showError(ex); // show error
             }
         });
     }
 
-    private void reloadAll() { // reload combos and table
-        reloadCombos(); // reload patient and doctor dropdowns
+    private void reloadAll() { // reload picker indexes and table
+        warmPickers(); // build the patient and doctor search indexes
         reloadTableOnly(); // reload table
     }
 
-    private void reloadCombos() { // reload patient and doctor dropdowns
-        try {
-            List<Patient> patients = patientDAO.listAll(); // fetch all patients
-            List<Doctor> doctors = doctorDAO.listAll(); // fetch all doctors
-
-            Patient prevP = (Patient) patientCombo.getSelectedItem(); // save selection
-            Doctor prevD = (Doctor) doctorCombo.getSelectedItem(); // save selection
-
-            patientCombo.setModel(new DefaultComboBoxModel<>(patients.toArray(new Patient[0]))); // set patient list
-            doctorCombo.setModel(new DefaultComboBoxModel<>(doctors.toArray(new Doctor[0]))); // set doctor list
-
-            patientCombo.setRenderer((list, value, index, isSelected, cellHasFocus) -> { // custom patient renderer
-                JLabel label = new JLabel(formatPatient(value)); // format patient display
-                styleComboCell(label, list, isSelected); // apply styling
-                return label; // return cell
-            });
-
-            doctorCombo.setRenderer((list, value, index, isSelected, cellHasFocus) -> { // custom doctor renderer
-                JLabel label = new JLabel(formatDoctor(value)); // format doctor display
-                styleComboCell(label, list, isSelected); // apply styling
-                return label; // return cell
-            });
-
-            if (prevP != null) selectPatient(prevP.getId()); // restore patient selection
-            if (prevD != null) selectDoctor(prevD.getId()); // restore doctor selection
-
-        } catch (Exception ex) { // handle errors
-            showError(ex); // show error
-        }
+    private void warmPickers() { // build the patient and doctor prefix indexes in the shared cache (off the EDT)
+        BackgroundLoader.run(
+                () -> { patientDAO.warmSuggestions(); doctorDAO.warmSuggestions(); return null; }, // pickers query the database until this is done
+                ignored -> { },
+                this::showError // show error
+        );
     }
 
-    private void styleComboCell(JLabel label, javax.swing.JList<?> list, boolean isSelected) { // style combo cells
-        label.setBorder(new EmptyBorder(4, 8, 4, 8)); // padding
-        if (isSelected) { // if selected
-            label.setOpaque(true); // enable opaque background
-            label.setBackground(list.getSelectionBackground()); // set background color
-            label.setForeground(list.getSelectionForeground()); // set text color
-        }
+    private void reloadTableOnly() { // re-count and reload visible rows (off the EDT)
+        tableModel.reload(); // drops loaded blocks
     }
 
-    private void reloadTableOnly() { // reload appointment table
-        try {
-            tableModel.setRows(appointmentDAO.listAllDetailed()); // fetch and set appointments
-        } catch (Exception ex) { // handle errors
-            showError(ex); // show error
-        }
+    @Override
+    public void cardShown() { // card brought to front
+        tableModel.resume(); // re-counts if a count was dropped while hidden
     }
 
-    private void selectPatient(Integer id) { // select patient by ID
-        if (id == null) return; // exit if ID is null
-        for (int i = 0; i < patientCombo.getItemCount(); i++) { // iterate items
-            Patient p = patientCombo.getItemAt(i); // get item
-            if (p != null && Objects.equals(p.getId(), id)) { // check match
-                patientCombo.setSelectedIndex(i); // select
-                return; // exit
-            }
-        }
+    @Override
+    public void cardHidden() { // another card brought to front
+        tableModel.suspend(); // nobody will look at the rows: skip pending fetches
     }
 
-    private void selectDoctor(Integer id) { // select doctor by ID
-        if (id == null) return; // exit if ID is null
-        for (int i = 0; i < doctorCombo.getItemCount(); i++) { // iterate items
-            Doctor d = doctorCombo.getItemAt(i); // get item
-            if (d != null && Objects.equals(d.getId(), id)) { // check match
-                doctorCombo.setSelectedIndex(i); // select
-                return; // exit
-            }
-        }
+    private void showTableError(Exception ex) { // report a failed block load (EDT)
+        rowsLabel.setText("Failed to load appointments: " + ex.getMessage()); // not a dialog: every visible block may fail
     }
 
     private String formatPatient(Patient p) { // format patient for display
@@ -323,16 +357,36 @@ public class AppointmentsPanel extends JPanel { // panel for managing appointmen
         return (s == null) ? "" : s; // return empty if null, else string
     }
 
-    private static Date toSqlDate(java.util.Date utilDate) { // convert util.Date to sql.Date
-        SimpleDateFormat f = new SimpleDateFormat("yyyy-MM-dd"); // date format
-        String s = f.format(Objects.requireNonNull(utilDate)); // format to string
-        return Date.valueOf(s); // convert to SQL date
+    private void pickSlot(List<SlotFinder.Slot> slots) { // offers the slots and fills the form with the chosen one
+        if (slots.isEmpty()) { // nothing free
+            JOptionPane.showMessageDialog(this, "No free slot in the " + FREE_SLOT_DAYS + " days from the chosen date."); // info
+            return; // exit
+        }
+
+        String[] labels = new String[slots.size()]; // one line per slot
+        for (int i = 0; i < labels.length; i++) { // describe each slot
+            SlotFinder.Slot s = slots.get(i); // current slot
+            labels[i] = DATE_FORMAT.format(s.date()) + "  " + TIME_FORMAT.format(s.start()) + "-" + TIME_FORMAT.format(s.end())
+                    + "  " + formatDoctor(s.doctor()); // e.g. "2025-03-10  09:30-10:00  Ali Veli — Cardiology (ID: 3)"
+        }
+        Object choice = JOptionPane.showInputDialog(this, "Earliest free slots:", "Free Slots",
+                JOptionPane.PLAIN_MESSAGE, null, labels, labels[0]); // let the user pick
+        if (choice == null) return; // cancelled
+
+        SlotFinder.Slot slot = slots.get(Arrays.asList(labels).indexOf(choice)); // chosen slot
+        ZoneId zone = ZoneId.systemDefault(); // spinners hold local wall-clock times
+        doctorPicker.setSelectedItem(slot.doctor()); // may be another doctor of the specialization
+        dateSpinner.setValue(java.util.Date.from(slot.date().atStartOfDay(zone).toInstant())); // set date
+        timeSpinner.setValue(java.util.Date.from(slot.date().atTime(slot.start()).atZone(zone).toInstant())); // set time
+    }
+
+    static LocalDate toLocalDate(java.util.Date utilDate) { // spinner value to date (package-private for the benchmarks)
+        return Objects.requireNonNull(utilDate).toInstant().atZone(ZoneId.systemDefault()).toLocalDate(); // no string round trip
     }
 
-    private static Time toSqlTime(java.util.Date utilDate) { // convert util.Date to sql.Time
-        SimpleDateFormat f = new SimpleDateFormat("HH:mm"); // time format
-        String hhmm = f.format(Objects.requireNonNull(utilDate)); // format to string
-        return Time.valueOf(hhmm + ":00"); // convert to SQL time with seconds
+    static LocalTime toLocalTime(java.util.Date utilDate) { // spinner value to time (package-private for the benchmarks)
+        return Objects.requireNonNull(utilDate).toInstant().atZone(ZoneId.systemDefault())
+                .toLocalTime().truncatedTo(ChronoUnit.MINUTES); // whole minutes, seconds are 00
     }
 
     private void showError(Exception ex) { // display error dialog
@@ -0,0 +1,136 @@
+package com.hospital.ui; // UI package
+
+import java.util.concurrent.CancellationException; // cancelled worker
+import java.util.concurrent.ExecutionException; // failed worker
+import java.util.function.Consumer; // EDT callbacks
+
+import javax.swing.SwingUtilities; // EDT checks
+import javax.swing.SwingWorker; // background execution
+
+import com.hospital.db.DBConnection; // startup migrations
+
+/**
+ * Runs DAO calls off the Swing event dispatch thread.
+ * At most one load is in flight per loader: loads requested meanwhile are coalesced into
+ * a single follow-up load (the latest request wins) and the in-flight result is discarded as stale.
+ * Work requested during startup waits for the migrations ({@link DBConnection#ready()}) before it runs.
+ * All callbacks run on the EDT.
+ */
+public class BackgroundLoader<T> { // one loader per panel data source
+
+    /**
+     * Work that runs in the background.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws Exception; // runs off the EDT
+    }
+
+    private final Consumer<T> onLoaded; // receives the result (EDT)
+    private final Consumer<Exception> onError; // receives failures (EDT)
+    private final Consumer<Boolean> onBusy; // loading state changes (EDT)
+
+    private SwingWorker<T, Void> inFlight; // running worker, if any
+    private Task<T> pending; // latest request that arrived while a worker was running
+
+    public BackgroundLoader(Consumer<T> onLoaded, Consumer<Exception> onError, Consumer<Boolean> onBusy) { // callbacks
+        this.onLoaded = onLoaded;
+        this.onError = onError;
+        this.onBusy = onBusy;
+    }
+
+    /**
+     * Requests a load. Must be called on the EDT.
+     */
+    public void load(Task<T> task) {
+        checkEdt();
+        if (inFlight != null) { // coalesce: remember only the latest request
+            pending = task;
+            return;
+        }
+        start(task);
+    }
+
+    /**
+     * Cancels the in-flight load and drops pending requests (e.g. the card was hidden). Must be called on the EDT.
+     */
+    public void cancel() {
+        checkEdt();
+        pending = null;
+        if (inFlight != null) {
+            inFlight.cancel(true); // interrupts a pool wait; the result is ignored
+            inFlight = null;
+            onBusy.accept(false);
+        }
+    }
+
+    public boolean isLoading() { // true while a load runs
+        return inFlight != null;
+    }
+
+    /**
+     * Runs a one-off task (e.g. a write) in the background and reports on the EDT.
+     */
+    public static <R> void run(Task<R> task, Consumer<R> onSuccess, Consumer<Exception> onError) {
+        new SwingWorker<R, Void>() {
+            @Override
+            protected R doInBackground() throws Exception {
+                DBConnection.awaitReady(); // no queries against a schema being migrated
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    onSuccess.accept(get());
+                } catch (ExecutionException ex) {
+                    onError.accept(ex.getCause() instanceof Exception e ? e : ex);
+                } catch (InterruptedException | CancellationException ex) {
+                    // nothing to report
+                }
+            }
+        }.execute();
+    }
+
+    private void start(Task<T> task) {
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                DBConnection.awaitReady(); // no queries against a schema being migrated
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                if (inFlight != this) return; // cancelled and replaced
+                inFlight = null;
+
+                if (pending != null) { // newer request arrived: drop this result, run the latest one
+                    Task<T> next = pending;
+                    pending = null;
+                    start(next);
+                    return;
+                }
+                onBusy.accept(false);
+
+                if (isCancelled()) return;
+                try {
+                    onLoaded.accept(get());
+                } catch (ExecutionException ex) {
+                    onError.accept(ex.getCause() instanceof Exception e ? e : ex);
+                } catch (InterruptedException | CancellationException ex) {
+                    // cancelled: nothing to show
+                }
+            }
+        };
+        inFlight = worker;
+        onBusy.accept(true);
+        worker.execute();
+    }
+
+    private static void checkEdt() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("BackgroundLoader must be used on the event dispatch thread");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.hospital.ui; // UI package
+
+/**
+ * A MainFrame card that wants to know when it becomes visible or hidden,
+ * e.g. to start loading or to cancel loads nobody will look at.
+ */
+public interface Card { // implemented by the module panels
+
+    void cardShown(); // the card was brought to front
+
+    void cardHidden(); // another card was brought to front
+}
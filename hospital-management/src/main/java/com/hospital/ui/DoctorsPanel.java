@@ -6,7 +6,6 @@ import java.awt.FlowLayout; // flow layout for button panels
 import java.awt.GridBagConstraints; // grid constraints for form layout
 import java.awt.GridBagLayout; // grid bag layout for flexible form positioning
 import java.awt.Insets; // padding/margins for components
-import java.sql.SQLException; // database exception
 import java.util.ArrayList; // list for storing doctor IDs
 import java.util.List; // list interface
 
@@ -18,12 +17,14 @@ import javax.swing.JPanel; // panel container
 import javax.swing.JScrollPane; // scrollable container
 import javax.swing.JTable; // table component
 import javax.swing.JTextField; // text input field
-import javax.swing.table.DefaultTableModel; // default table data model
+import javax.swing.SwingUtilities; // back to the EDT
 
+import com.hospital.dao.ChangeFeed; // changes made at other desks
 import com.hospital.dao.DoctorDAO; // data access object for doctors
 import com.hospital.model.Doctor; // doctor model class
+import com.hospital.ui.table.DoctorsTableModel; // lazy table model
 
-public class DoctorsPanel extends JPanel { // panel for managing doctors UI
+public class DoctorsPanel extends JPanel implements Card { // panel for managing doctors UI
 
     private final DoctorDAO doctorDAO = new DoctorDAO(); // DAO for doctor database operations
 
@@ -33,13 +34,15 @@ public class DoctorsPanel extends JPanel { // panel for managing doctors UI
     private JTextField phoneField; // input field for phone number
 
     private JTable table; // table to display doctor records
-    private DefaultTableModel tableModel; // model for table data
+    private DoctorsTableModel tableModel; // lazy model over all doctors
+    private final JLabel rowsLabel = new JLabel(" "); // row count or load error
 
     public DoctorsPanel() { // constructor initializes UI components
         setLayout(new BorderLayout(10, 10)); // set main layout with gaps
         add(buildTopForm(), BorderLayout.NORTH); // add form at top
         add(buildTableArea(), BorderLayout.CENTER); // add table in center
 
+        ChangeFeed.shared().addListener(c -> SwingUtilities.invokeLater(() -> tableModel.apply(c.doctors()))); // other desks' changes
         refreshTable(); // load initial doctor data
     }
 
@@ -100,19 +103,20 @@ public class DoctorsPanel extends JPanel { // panel for managing doctors UI
         return outer; // return constructed panel
     }
 
-    private JScrollPane buildTableArea() { // create table area with columns
-        tableModel = new DefaultTableModel( // create table model
-                new Object[]{"ID", "First Name", "Last Name", "Specialization", "Phone"}, 0 // columns and rows
-        ) {
-            @Override public boolean isCellEditable(int row, int column) { return false; } // disable cell editing
-        };
+    private JPanel buildTableArea() { // create table area with columns and row count
+        tableModel = new DoctorsTableModel(doctorDAO, this::showLoadError); // rows are fetched in blocks while scrolling
+        tableModel.addTableModelListener(e -> rowsLabel.setText(tableModel.getRowCount() + " doctors")); // row count below the table
 
         table = new JTable(tableModel); // create table with model
         table.setRowHeight(26); // set row height for readability
 
         JScrollPane sp = new JScrollPane(table); // wrap table in scroll pane
         sp.setBorder(BorderFactory.createTitledBorder("Doctors List")); // add border title
-        return sp; // return scroll pane
+
+        JPanel area = new JPanel(new BorderLayout()); // table plus row count
+        area.add(sp, BorderLayout.CENTER); // table in center
+        area.add(rowsLabel, BorderLayout.SOUTH); // row count below
+        return area; // return table area
     }
 
     private void onAdd() { // handle add doctor button click
@@ -128,13 +132,14 @@ public class DoctorsPanel extends JPanel { // panel for managing doctors UI
 
         Doctor d = new Doctor(null, fn, ln, sp.isEmpty() ? null : sp, ph.isEmpty() ? null : ph); // create doctor object
 
-        try {
-            doctorDAO.create(d); // insert into database
-            clearForm(); // reset form
-            refreshTable(); // reload table
-        } catch (SQLException ex) { // handle database error
-            JOptionPane.showMessageDialog(this, "Failed to add doctor: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
-        }
+        BackgroundLoader.run( // insert off the EDT
+                () -> { doctorDAO.create(d); return d; }, // insert into database
+                saved -> { // back on the EDT
+                    clearForm(); // reset form
+                    tableModel.insertFirst(saved); // newest first, no reload
+                },
+                ex -> JOptionPane.showMessageDialog(this, "Failed to add doctor: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE) // show error
+        );
     }
 
     private void onDeleteSelected() { // handle delete button click
@@ -154,37 +159,36 @@ public class DoctorsPanel extends JPanel { // panel for managing doctors UI
 
         List<Integer> ids = new ArrayList<>(); // list to hold doctor IDs
         for (int r : rows) { // iterate through selected rows
-            Object idObj = tableModel.getValueAt(r, 0); // get ID from column 0
-            if (idObj instanceof Number n) ids.add(n.intValue()); // add if number
-            else if (idObj != null) ids.add(Integer.parseInt(idObj.toString())); // parse and add
+            Doctor row = tableModel.getRow(r); // selected rows are loaded
+            if (row != null) ids.add(row.getId()); // collect ID
         }
 
-        try {
-            int deleted = doctorDAO.deleteByIds(ids); // delete from database
-            refreshTable(); // reload table
-            JOptionPane.showMessageDialog(this, "Deleted: " + deleted); // show count
-        } catch (SQLException ex) { // handle database error
-            JOptionPane.showMessageDialog(this, "Failed to delete doctors: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
-        }
+        BackgroundLoader.run( // delete off the EDT
+                () -> doctorDAO.deleteByIds(ids), // delete from database
+                deleted -> { // back on the EDT
+                    tableModel.removeAll(ids); // in place, no re-count
+                    JOptionPane.showMessageDialog(this, "Deleted: " + deleted); // show count
+                },
+                ex -> JOptionPane.showMessageDialog(this, "Failed to delete doctors: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE) // show error
+        );
     }
 
-    private void refreshTable() { // reload table with current data
-        try {
-            List<Doctor> list = doctorDAO.listAll(); // fetch all doctors
-            tableModel.setRowCount(0); // clear table rows
-
-            for (Doctor d : list) { // iterate through doctors
-                tableModel.addRow(new Object[]{ // add row to table
-                        d.getId(), // doctor ID
-                        d.getFirstName(), // first name
-                        d.getLastName(), // last name
-                        d.getSpecialization() == null ? "" : d.getSpecialization(), // specialization (empty if null)
-                        d.getPhone() == null ? "" : d.getPhone() // phone (empty if null)
-                });
-            }
-        } catch (SQLException ex) { // handle database error
-            JOptionPane.showMessageDialog(this, "Failed to load doctors: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
-        }
+    private void refreshTable() { // re-count and reload visible rows (off the EDT)
+        tableModel.reload(); // drops loaded blocks
+    }
+
+    @Override
+    public void cardShown() { // card brought to front
+        tableModel.resume(); // re-counts if a count was dropped while hidden
+    }
+
+    @Override
+    public void cardHidden() { // another card brought to front
+        tableModel.suspend(); // nobody will look at the rows: skip pending fetches
+    }
+
+    private void showLoadError(Exception ex) { // report a failed load (EDT)
+        rowsLabel.setText("Failed to load doctors: " + ex.getMessage()); // not a dialog: every visible block may fail
     }
 
     private void clearForm() { // reset all input fields
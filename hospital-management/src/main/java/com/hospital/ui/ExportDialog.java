@@ -0,0 +1,252 @@
+package com.hospital.ui; // UI package
+
+import java.awt.BorderLayout; // dialog layout
+import java.awt.Component; // form fields
+import java.awt.FlowLayout; // button row
+import java.awt.Frame; // owner window
+import java.awt.GridBagConstraints; // form constraints
+import java.awt.GridBagLayout; // form layout
+import java.awt.Insets; // form padding
+import java.io.File; // chosen file
+import java.time.LocalDate; // date filters
+import java.time.format.DateTimeParseException; // bad date input
+import java.util.List; // progress chunks, doctor suggestions
+import java.util.Locale; // file name
+import java.util.concurrent.CancellationException; // cancelled export
+import java.util.concurrent.ExecutionException; // failed export
+
+import javax.swing.JButton; // buttons
+import javax.swing.JCheckBox; // gzip option
+import javax.swing.JComboBox; // table and format
+import javax.swing.JDialog; // dialog window
+import javax.swing.JFileChooser; // target file
+import javax.swing.JLabel; // labels
+import javax.swing.JOptionPane; // messages
+import javax.swing.JPanel; // containers
+import javax.swing.JProgressBar; // export progress
+import javax.swing.JTextField; // date inputs
+import javax.swing.SwingUtilities; // back to the EDT
+import javax.swing.SwingWorker; // background export
+import javax.swing.border.EmptyBorder; // padding
+
+import com.hospital.dao.DoctorDAO; // doctor suggestions
+import com.hospital.export.ExportFormat; // csv / ndjson
+import com.hospital.export.Exporter; // streaming export
+import com.hospital.model.Doctor; // doctor filter
+
+/**
+ * Exports patients, doctors or (optionally filtered) appointments to a CSV or NDJSON file.
+ * The export streams in the background with a progress bar and can be cancelled; the dialog stays
+ * busy until a cancelled export has really stopped.
+ */
+public class ExportDialog extends JDialog { // opened from the File menu
+
+    private final DoctorDAO doctorDAO = new DoctorDAO(); // DAO for doctor suggestions
+
+    private final JComboBox<Exporter.Entity> entityCombo = new JComboBox<>(Exporter.Entity.values()); // what to export
+    private final JComboBox<ExportFormat> formatCombo = new JComboBox<>(ExportFormat.values()); // file format
+    private final JCheckBox gzipCheck = new JCheckBox("Compress (gzip)"); // .gz output
+    private final SearchPicker<Doctor> doctorPicker = new SearchPicker<>(new SearchPicker.Source<>() { // type-ahead doctor search
+        @Override public List<Doctor> cached(String query, int limit) { return doctorDAO.suggestCached(query, limit); }
+        @Override public List<Doctor> search(String query, int limit) throws Exception { return doctorDAO.suggest(query, limit); }
+    }, d -> d.getFirstName() + " " + d.getLastName() + " (ID: " + d.getId() + ")");
+    private final JTextField fromField = new JTextField(10); // yyyy-mm-dd, blank = open
+    private final JTextField toField = new JTextField(10); // yyyy-mm-dd, blank = open
+
+    private final JProgressBar progressBar = new JProgressBar(); // rows written
+    private final JButton btnExport = new JButton("Export..."); // choose file and start
+    private final JButton btnClose = new JButton("Close"); // cancel or close
+
+    private ExportWorker running; // export in progress (or winding down after Cancel), or null
+
+    public ExportDialog(Frame owner) { // constructor builds the form
+        super(owner, "Export", false);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE); // cancel happens in dispose()
+
+        JPanel form = new JPanel(new GridBagLayout()); // grid-based form layout
+        form.setBorder(new EmptyBorder(12, 12, 6, 12)); // padding
+        GridBagConstraints gbc = new GridBagConstraints(); // constraints for component placement
+        gbc.insets = new Insets(4, 6, 4, 6); // set padding around components
+        gbc.anchor = GridBagConstraints.WEST; // align components to the left
+        gbc.fill = GridBagConstraints.HORIZONTAL; // make components fill horizontally
+
+        int row = 0; // track current row in grid
+        addRow(form, gbc, row++, "Table:", entityCombo);
+        addRow(form, gbc, row++, "Format:", formatCombo);
+        addRow(form, gbc, row++, "", gzipCheck);
+        addRow(form, gbc, row++, "Doctor (blank = all):", doctorPicker);
+        addRow(form, gbc, row++, "From (yyyy-mm-dd):", fromField);
+        addRow(form, gbc, row++, "To (yyyy-mm-dd):", toField);
+
+        gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 2; gbc.weightx = 1; // full-width progress bar
+        progressBar.setStringPainted(true); // show row counts
+        progressBar.setString("");
+        form.add(progressBar, gbc);
+
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 8)); // button panel
+        actions.add(btnExport);
+        actions.add(btnClose);
+
+        setLayout(new BorderLayout()); // form above the buttons
+        add(form, BorderLayout.CENTER);
+        add(actions, BorderLayout.SOUTH);
+
+        entityCombo.addActionListener(e -> updateFilters()); // filters apply to appointments only
+        btnExport.addActionListener(e -> chooseAndExport());
+        btnClose.addActionListener(e -> { // cancel a running export, otherwise close
+            if (running != null) running.stop();
+            else dispose();
+        });
+        updateFilters();
+
+        pack();
+        setLocationRelativeTo(owner); // center on the main window
+    }
+
+    @Override
+    public void dispose() { // closing the dialog cancels a running export
+        if (running != null) running.stop(); // the exporter deletes its temporary file
+        super.dispose();
+    }
+
+    private static void addRow(JPanel form, GridBagConstraints gbc, int row, String label, Component field) { // label + field
+        gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 1; gbc.weightx = 0; // label column
+        form.add(new JLabel(label), gbc);
+        gbc.gridx = 1; gbc.weightx = 1; // field column
+        form.add(field, gbc);
+    }
+
+    private void updateFilters() { // enable the appointment filters only for appointments
+        boolean appointments = entityCombo.getSelectedItem() == Exporter.Entity.APPOINTMENTS;
+        doctorPicker.setEnabled(appointments);
+        fromField.setEnabled(appointments);
+        toField.setEnabled(appointments);
+    }
+
+    private void chooseAndExport() { // validate, pick a file, start
+        Exporter.Entity entity = (Exporter.Entity) entityCombo.getSelectedItem();
+        ExportFormat format = (ExportFormat) formatCombo.getSelectedItem();
+        boolean gzip = gzipCheck.isSelected();
+
+        Exporter.Request request;
+        try {
+            request = entity == Exporter.Entity.APPOINTMENTS
+                    ? new Exporter.Request(entity, format, gzip, doctorFilter(), date(fromField), date(toField))
+                    : Exporter.Request.all(entity, format, gzip);
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Dates must be yyyy-mm-dd.", "Validation", JOptionPane.WARNING_MESSAGE); // show error
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Validation", JOptionPane.WARNING_MESSAGE); // show error
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser(); // where to write
+        chooser.setSelectedFile(new File(entity.name().toLowerCase(Locale.ROOT) + format.extension() + (gzip ? ".gz" : "")));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return; // cancelled
+        File file = chooser.getSelectedFile();
+        if (file.exists() && JOptionPane.showConfirmDialog(this, file.getName() + " exists. Replace it?", "Confirm",
+                JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) return; // keep the old file
+
+        start(request, file);
+    }
+
+    private Integer doctorFilter() { // null = every doctor
+        if (doctorPicker.getText().isBlank()) return null;
+        Doctor d = doctorPicker.getSelectedItem();
+        if (d == null) throw new IllegalArgumentException("Pick a doctor from the suggestions, or leave the field blank.");
+        return d.getId();
+    }
+
+    private static LocalDate date(JTextField field) { // blank = open end
+        String text = field.getText().trim();
+        return text.isEmpty() ? null : LocalDate.parse(text);
+    }
+
+    private void start(Exporter.Request request, File file) { // export in the background
+        btnExport.setEnabled(false);
+        btnClose.setText("Cancel");
+        progressBar.setIndeterminate(request.filtered()); // no row count to compare with
+        progressBar.setValue(0);
+        progressBar.setString("Starting...");
+
+        running = new ExportWorker(request, file);
+        running.execute();
+    }
+
+    private void idle(String status) { // export over: ready for the next one
+        running = null;
+        btnExport.setEnabled(true);
+        btnClose.setEnabled(true);
+        btnClose.setText("Close");
+        progressBar.setIndeterminate(false);
+        progressBar.setString(status);
+    }
+
+    /**
+     * One export. cancel(true) makes SwingWorker call done() at once, while the export thread is still
+     * stopping (and deleting its temporary file); the dialog only becomes idle when that thread has returned.
+     */
+    private final class ExportWorker extends SwingWorker<Exporter.Result, long[]> {
+        private final Exporter.Request request;
+        private final File file;
+        private boolean exited; // EDT: doInBackground has returned
+
+        ExportWorker(Exporter.Request request, File file) {
+            this.request = request;
+            this.file = file;
+        }
+
+        void stop() { // Cancel / dispose (EDT)
+            if (!exited) cancel(true); // too late once the thread is out: done() reports the result
+        }
+
+        @Override
+        protected Exporter.Result doInBackground() throws Exception {
+            try {
+                return new Exporter().export(request, file.toPath(), (rows, expected) -> publish(new long[]{rows, expected}));
+            } finally {
+                SwingUtilities.invokeLater(this::exited);
+            }
+        }
+
+        private void exited() { // the export thread is done (EDT)
+            exited = true;
+            if (isCancelled()) idle("Cancelled"); // done() ran already and left the dialog busy
+        }
+
+        @Override
+        protected void process(List<long[]> chunks) { // latest progress only
+            if (isCancelled()) return;
+            long[] last = chunks.get(chunks.size() - 1);
+            if (last[1] > 0) progressBar.setValue((int) (100 * last[0] / last[1]));
+            progressBar.setString(last[1] < 0 ? last[0] + " rows" : last[0] + " of " + last[1] + " rows");
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) { // the thread may still be running: wait for exited()
+                if (exited) {
+                    idle("Cancelled");
+                    return;
+                }
+                btnClose.setEnabled(false);
+                progressBar.setString("Cancelling...");
+                return;
+            }
+            try {
+                Exporter.Result result = get();
+                idle(result.rows() + " rows");
+                progressBar.setValue(100);
+                JOptionPane.showMessageDialog(ExportDialog.this, "Exported " + result.rows() + " rows to " + result.path()
+                        + " (" + result.bytes() / 1024 + " KB)."); // success message
+            } catch (CancellationException | InterruptedException ex) {
+                idle("Cancelled");
+            } catch (ExecutionException ex) {
+                idle("Failed");
+                Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+                JOptionPane.showMessageDialog(ExportDialog.this, "Export failed: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
+            }
+        }
+    }
+}
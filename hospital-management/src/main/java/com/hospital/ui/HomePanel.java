@@ -1,19 +1,203 @@
 package com.hospital.ui; // UI package
 
+import java.awt.BorderLayout; // title above the dashboard
+import java.awt.Color; // bar colours
+import java.awt.Dimension; // chart size
 import java.awt.Font; // font for text styling
-import java.awt.GridBagLayout; // layout manager
+import java.awt.Graphics; // chart painting
+import java.awt.GridLayout; // dashboard sections
+import java.time.LocalTime; // current time
+import java.time.format.DateTimeFormatter; // summary formats
+import java.util.List; // list interface
 
+import javax.swing.BorderFactory; // section borders
+import javax.swing.DefaultListModel; // no-capacity list
+import javax.swing.JComponent; // chart base class
 import javax.swing.JLabel; // label component
+import javax.swing.JList; // no-capacity list
 import javax.swing.JPanel; // panel container
+import javax.swing.JScrollPane; // scrolling sections
+import javax.swing.JTable; // count tables
+import javax.swing.SwingConstants; // centred title
+import javax.swing.SwingUtilities; // back to the EDT
+import javax.swing.Timer; // periodic refresh
+import javax.swing.border.EmptyBorder; // padding
+import javax.swing.table.DefaultTableModel; // count rows
 
-public class HomePanel extends JPanel { // home page panel
+import com.hospital.dao.DayAggregates; // today's counters
+import com.hospital.dao.DayAggregates.Count; // one count row
+import com.hospital.dao.DayAggregates.FullPeriod; // one no-capacity period
+import com.hospital.dao.DayAggregates.Snapshot; // dashboard data
+import com.hospital.db.DBConnection; // startup readiness
+
+/**
+ * Home page: today's operational dashboard.
+ * The numbers come from {@link DayAggregates}, which keeps them current as appointments are booked and
+ * deleted (here and at other desks), so a refresh only copies counters. While the card is visible it
+ * refreshes on every change and once a minute (current hour, day rollover). The first read waits until the
+ * startup migrations are done, and a failed read is retried after a few seconds.
+ */
+public class HomePanel extends JPanel implements Card { // home page panel
+
+    private static final int REFRESH_MS = 60_000; // periodic refresh while shown
+    private static final int RETRY_MS = 5_000; // after a failed read
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEEE, yyyy-MM-dd"); // summary day
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm"); // period bounds
+
+    private final JLabel summaryLabel = new JLabel(" ", SwingConstants.CENTER); // day, total or load error
+    private final DefaultTableModel byDoctorModel = countModel("Doctor"); // appointments per doctor
+    private final DefaultTableModel bySpecializationModel = countModel("Specialization"); // appointments per specialization
+    private final HourBars hourBars = new HourBars(); // appointments per hour
+    private final DefaultListModel<String> fullPeriodsModel = new DefaultListModel<>(); // upcoming no-capacity periods
+
+    private final BackgroundLoader<Snapshot> loader = new BackgroundLoader<>(this::show, this::showError, busy -> { }); // coalesces bursts of changes
+    private final Timer refreshTimer = new Timer(REFRESH_MS, e -> refresh()); // minute tick
+    private final Timer retryTimer = new Timer(RETRY_MS, e -> refresh()); // one retry per failure
+    private boolean shown; // card is visible
 
     public HomePanel() { // constructor
-        setLayout(new GridBagLayout()); // set layout to grid bag
+        setLayout(new BorderLayout(12, 12)); // title above the sections
+        setBorder(new EmptyBorder(14, 14, 14, 14)); // set padding border
 
-        JLabel title = new JLabel("Hospital Management System"); // create title label
+        JLabel title = new JLabel("Hospital Management System", SwingConstants.CENTER); // create title label
         title.setFont(new Font("SansSerif", Font.BOLD, 28)); // set font: sans serif, bold, size 28
+        summaryLabel.setFont(summaryLabel.getFont().deriveFont(16f)); // enlarge font
+
+        JPanel header = new JPanel(new BorderLayout(0, 6)); // title and summary
+        header.add(title, BorderLayout.NORTH);
+        header.add(summaryLabel, BorderLayout.SOUTH);
+        add(header, BorderLayout.NORTH); // add title to panel
+
+        JPanel sections = new JPanel(new GridLayout(2, 2, 12, 12)); // four dashboard sections
+        sections.add(section("Today by Doctor", new JScrollPane(countTable(byDoctorModel))));
+        sections.add(section("Today by Specialization", new JScrollPane(countTable(bySpecializationModel))));
+        sections.add(section("Hourly Load", hourBars));
+        sections.add(section("No Capacity Left (upcoming)", new JScrollPane(new JList<>(fullPeriodsModel))));
+        add(sections, BorderLayout.CENTER);
+
+        retryTimer.setRepeats(false);
+        DayAggregates.shared().addListener(() -> SwingUtilities.invokeLater(this::changed)); // bookings and deletions, any desk
+        DBConnection.ready().thenRun(() -> SwingUtilities.invokeLater(this::changed)); // first read once the schema is current
+    }
+
+    @Override
+    public void cardShown() { // start refreshing
+        shown = true;
+        refresh();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void cardHidden() { // nobody is looking: stop refreshing
+        shown = false;
+        refreshTimer.stop();
+        retryTimer.stop();
+        loader.cancel();
+    }
+
+    private void changed() { // counters changed
+        if (shown) refresh();
+    }
+
+    private void refresh() { // first call reads the day; later ones only copy counters
+        if (!DBConnection.ready().isDone()) return; // migrations still running: the constructor's callback refreshes
+        loader.load(() -> DayAggregates.shared().snapshot());
+    }
+
+    private void show(Snapshot s) { // fill the sections
+        summaryLabel.setText(s.day().format(DAY_FORMAT) + " — " + s.total() + " appointment" + (s.total() == 1 ? "" : "s"));
+        fill(byDoctorModel, s.byDoctor());
+        fill(bySpecializationModel, s.bySpecialization());
+        hourBars.setCounts(s.byHour(), LocalTime.now().getHour());
+        fullPeriodsModel.clear();
+        for (FullPeriod p : s.fullPeriods()) {
+            String to = p.to().equals(LocalTime.MAX) ? "24:00" : p.to().format(TIME_FORMAT);
+            fullPeriodsModel.addElement(p.specialization() + ": " + p.from().format(TIME_FORMAT) + " - " + to);
+        }
+        if (s.fullPeriods().isEmpty()) fullPeriodsModel.addElement("Every specialization has free slots.");
+    }
+
+    private void showError(Exception ex) { // keep the last numbers, say why they are not current
+        summaryLabel.setText("Could not load today's appointments: " + ex.getMessage());
+        if (shown) retryTimer.restart(); // e.g. the database was not reachable yet
+    }
+
+    private static void fill(DefaultTableModel model, List<Count> counts) { // replace the rows
+        model.setRowCount(0);
+        for (Count c : counts) model.addRow(new Object[]{c.label(), c.count()});
+    }
+
+    private static DefaultTableModel countModel(String labelColumn) { // read-only (label, count) rows
+        return new DefaultTableModel(new Object[]{labelColumn, "Appointments"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 1 ? Integer.class : String.class; // counts right-aligned
+            }
+        };
+    }
+
+    private static JTable countTable(DefaultTableModel model) { // compact count table
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(1).setMaxWidth(110);
+        return table;
+    }
+
+    private static JPanel section(String title, JComponent content) { // titled dashboard section
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        panel.add(content, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * Bar chart of appointments per hour; hours already past are drawn grey.
+     */
+    private static final class HourBars extends JComponent {
+
+        private static final Color PAST = new Color(0xB0B0B0);   // hours before now
+        private static final Color COMING = new Color(0x3A7BD5); // current and later hours
+
+        private List<Integer> counts = List.of(); // 24 entries once loaded
+        private int currentHour;
+
+        HourBars() {
+            setPreferredSize(new Dimension(360, 160));
+        }
+
+        void setCounts(List<Integer> counts, int currentHour) {
+            this.counts = counts;
+            this.currentHour = currentHour;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (counts.isEmpty()) return;
+            int max = 1;
+            for (int c : counts) max = Math.max(max, c);
 
-        add(title); // add title to panel
+            int labelHeight = g.getFontMetrics().getHeight();
+            int chartHeight = getHeight() - 2 * labelHeight - 4; // room for the hour labels and the counts
+            double barWidth = getWidth() / (double) counts.size();
+            for (int h = 0; h < counts.size(); h++) {
+                int c = counts.get(h);
+                int x = (int) (h * barWidth);
+                int w = Math.max(1, (int) barWidth - 2);
+                int barHeight = chartHeight * c / max;
+                int top = labelHeight + chartHeight - barHeight;
+                g.setColor(h < currentHour ? PAST : COMING);
+                g.fillRect(x + 1, top, w, barHeight);
+                g.setColor(getForeground());
+                if (c > 0) g.drawString(Integer.toString(c), x + 2, top - 2);
+                if (h % 3 == 0) g.drawString(String.format("%02d", h), x + 1, getHeight() - 2);
+            }
+        }
     }
 }
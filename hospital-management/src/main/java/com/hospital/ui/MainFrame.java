@@ -1,6 +1,12 @@
 package com.hospital.ui; // UI package for main application window
 
 import java.awt.CardLayout; // Swing GUI components
+import java.awt.Component; // card components
+import java.awt.event.WindowAdapter; // first-paint notification
+import java.awt.event.WindowEvent; // window event
+import java.util.HashMap; // cards by name
+import java.util.Map; // map interface
+import java.util.function.Supplier; // deferred card construction
 
 import javax.swing.JFrame; // AWT layout managers
 import javax.swing.JMenu;
@@ -8,14 +14,21 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 
+import com.hospital.util.StartupTimer; // startup milestones
+
 /**
  * Main application window.
  * Uses a CardLayout to switch between modules (Patients / Doctors / Appointments).
+ * Only the home card is built up front; module cards are built on first navigation,
+ * so the window shows without waiting for any panel or query.
  */
 public class MainFrame extends JFrame { // main window frame for the app
 
     private final CardLayout cardLayout; // layout manager to switch between panels
     private final JPanel contentPanel; // container for cards
+    private final Map<String, Component> cards = new HashMap<>(); // built card components by name
+    private final Map<String, Supplier<Component>> factories = new HashMap<>(); // cards not built yet
+    private String currentCard; // name of the visible card
 
     public MainFrame() { // constructor initializes the frame
         setTitle("Hospital Management System"); // set window title
@@ -31,6 +44,13 @@ public class MainFrame extends JFrame { // main window frame for the app
 
         setContentPane(contentPanel); // set main content
         showCard(Cards.HOME); // display home card
+
+        addWindowListener(new WindowAdapter() { // startup timing
+            @Override
+            public void windowOpened(WindowEvent e) {
+                StartupTimer.mark(StartupTimer.Phase.FRAME_VISIBLE); // first frame on screen
+            }
+        });
     }
 
     private JMenuBar buildMenuBar() { // create top menu bar
@@ -56,19 +76,36 @@ public class MainFrame extends JFrame { // main window frame for the app
         menu.add(doctorsItem); // add to menu
         menu.add(appointmentsItem); // add to menu
 
+        JMenu fileMenu = new JMenu("File"); // create file menu
+        JMenuItem exportItem = new JMenuItem("Export..."); // create export menu item
+        exportItem.addActionListener(e -> new ExportDialog(this).setVisible(true)); // open export dialog on click
+        fileMenu.add(exportItem); // add to menu
+
+        menuBar.add(fileMenu); // add menu to bar
         menuBar.add(menu); // add menu to bar
         return menuBar; // return constructed menu bar
     }
 
-    private void buildCards() { // add all module panels to content
-        contentPanel.add(new HomePanel(), Cards.HOME); // add home panel with card name
-        contentPanel.add(new PatientsPanel(), Cards.PATIENTS); // add patients panel with card name
-        contentPanel.add(new DoctorsPanel(), Cards.DOCTORS); // add doctors panel with card name
-        contentPanel.add(new AppointmentsPanel(), Cards.APPOINTMENTS); // add appointments panel with card name
+    private void buildCards() { // register module panels; only home is built now
+        addCard(new HomePanel(), Cards.HOME); // add home panel with card name
+        factories.put(Cards.PATIENTS, PatientsPanel::new); // built on first visit
+        factories.put(Cards.DOCTORS, DoctorsPanel::new); // built on first visit
+        factories.put(Cards.APPOINTMENTS, AppointmentsPanel::new); // built on first visit
+    }
+
+    private void addCard(Component card, String cardName) { // register a card
+        contentPanel.add(card, cardName); // add to card layout
+        cards.put(cardName, card); // remember for show/hide notifications
     }
 
     private void showCard(String cardName) { // display a specific card by name
+        if (cardName.equals(currentCard)) return; // already visible
+        if (cards.get(currentCard) instanceof Card previous) previous.cardHidden(); // cancel its stale loads
+        Supplier<Component> factory = factories.remove(cardName);
+        if (factory != null) addCard(factory.get(), cardName); // first visit: build the panel (starts its first load)
         cardLayout.show(contentPanel, cardName); // switch to the specified card
+        currentCard = cardName; // remember visible card
+        if (cards.get(cardName) instanceof Card shown) shown.cardShown(); // let it reload if needed
     }
 
     /**
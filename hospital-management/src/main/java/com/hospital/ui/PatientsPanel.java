@@ -6,7 +6,6 @@ import java.awt.FlowLayout; // flow layout for button panels
 import java.awt.GridBagConstraints; // grid constraints for form layout
 import java.awt.GridBagLayout; // grid bag layout for flexible form positioning
 import java.awt.Insets; // padding/margins for components
-import java.sql.SQLException; // database exception
 import java.time.LocalDate; // date representation
 import java.time.format.DateTimeParseException; // exception for date parsing
 import java.util.ArrayList; // list for storing patient IDs
@@ -21,12 +20,18 @@ import javax.swing.JPanel; // panel container
 import javax.swing.JScrollPane; // scrollable container
 import javax.swing.JTable; // table component
 import javax.swing.JTextField; // text input field
-import javax.swing.table.DefaultTableModel; // default table data model
+import javax.swing.SwingUtilities; // back to the EDT
+import javax.swing.Timer; // debounce for search input
+import javax.swing.event.DocumentEvent; // text changes
+import javax.swing.event.DocumentListener; // text change listener
 
+import com.hospital.dao.ChangeFeed; // changes made at other desks
 import com.hospital.dao.PatientDAO; // data access object for patients
+import com.hospital.dao.PatientSearch; // search criteria
 import com.hospital.model.Patient; // patient model class
+import com.hospital.ui.table.PatientsTableModel; // lazy table model
 
-public class PatientsPanel extends JPanel { // panel for managing patients UI
+public class PatientsPanel extends JPanel implements Card { // panel for managing patients UI
 
     private final PatientDAO patientDAO = new PatientDAO(); // DAO for patient database operations
 
@@ -36,14 +41,25 @@ public class PatientsPanel extends JPanel { // panel for managing patients UI
     private JComboBox<String> genderCombo; // dropdown for gender selection
     private JTextField birthDateField; // input field for birth date
 
+    private static final int SEARCH_DEBOUNCE_MS = 300; // pause after typing before searching
+
+    private final JTextField searchNameField = new JTextField(14); // name prefix(es)
+    private final JTextField searchPhoneField = new JTextField(10); // phone prefix
+    private final JTextField searchBornFromField = new JTextField(8); // yyyy-mm-dd
+    private final JTextField searchBornToField = new JTextField(8); // yyyy-mm-dd
+    private final JComboBox<String> searchGenderCombo = new JComboBox<>(new String[]{"Any", "Male", "Female", "Other"}); // gender filter
+    private final Timer searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> applySearch()); // restarts on every keystroke
+
     private JTable table; // table to display patient records
-    private DefaultTableModel tableModel; // model for table data
+    private PatientsTableModel tableModel; // lazy model over all patients
+    private final JLabel rowsLabel = new JLabel(" "); // row count or load error
 
     public PatientsPanel() { // constructor initializes UI components
         setLayout(new BorderLayout(10, 10)); // set main layout with gaps
         add(buildTopForm(), BorderLayout.NORTH); // add form at top
         add(buildTableArea(), BorderLayout.CENTER); // add table in center
 
+        ChangeFeed.shared().addListener(c -> SwingUtilities.invokeLater(() -> tableModel.apply(c.patients()))); // other desks' changes
         refreshTable(); // load initial patient data
     }
 
@@ -112,19 +128,74 @@ public class PatientsPanel extends JPanel { // panel for managing patients UI
         return outer; // return constructed panel
     }
 
-    private JScrollPane buildTableArea() { // create table area with columns
-        tableModel = new DefaultTableModel( // create table model
-                new Object[]{"ID", "First Name", "Last Name", "Phone", "Gender", "Birth Date"}, 0 // columns and rows
-        ) {
-            @Override public boolean isCellEditable(int row, int column) { return false; } // disable cell editing
-        };
+    private JPanel buildTableArea() { // create table area with columns and row count
+        tableModel = new PatientsTableModel(patientDAO, this::showLoadError); // rows are fetched in blocks while scrolling
+        tableModel.addTableModelListener(e -> rowsLabel.setText( // row count below the table
+                (tableModel.isCountExact() ? "" : "about ") + tableModel.getRowCount() + " patients"));
 
         table = new JTable(tableModel); // create table with model
         table.setRowHeight(26); // set row height for readability
 
         JScrollPane sp = new JScrollPane(table); // wrap table in scroll pane
         sp.setBorder(BorderFactory.createTitledBorder("Patients List")); // add border title
-        return sp; // return scroll pane
+
+        JPanel area = new JPanel(new BorderLayout()); // table plus row count
+        area.add(buildSearchBar(), BorderLayout.NORTH); // filters above the table
+        area.add(sp, BorderLayout.CENTER); // table in center
+        area.add(rowsLabel, BorderLayout.SOUTH); // row count below
+        return area; // return table area
+    }
+
+    private JPanel buildSearchBar() { // search filters; the table follows as you type
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0)); // one row of filters
+        bar.add(new JLabel("Search name:"));
+        bar.add(searchNameField);
+        bar.add(new JLabel("Phone:"));
+        bar.add(searchPhoneField);
+        bar.add(new JLabel("Born from:"));
+        bar.add(searchBornFromField);
+        bar.add(new JLabel("to:"));
+        bar.add(searchBornToField);
+        bar.add(new JLabel("Gender:"));
+        bar.add(searchGenderCombo);
+
+        searchDebounce.setRepeats(false); // one search per pause
+        DocumentListener typing = new DocumentListener() { // any edit restarts the pause
+            @Override public void insertUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { searchDebounce.restart(); }
+        };
+        for (JTextField f : new JTextField[]{searchNameField, searchPhoneField, searchBornFromField, searchBornToField}) {
+            f.getDocument().addDocumentListener(typing);
+        }
+        searchGenderCombo.addActionListener(e -> applySearch()); // no typing to wait for
+        return bar;
+    }
+
+    private void applySearch() { // reload the table with the current filters
+        searchDebounce.stop();
+        LocalDate from; // lower birth date bound
+        LocalDate to; // upper birth date bound
+        try {
+            from = parseDate(searchBornFromField.getText());
+            to = parseDate(searchBornToField.getText());
+        } catch (DateTimeParseException ex) { // wait until the date is complete
+            rowsLabel.setText("Birth dates must be yyyy-mm-dd.");
+            return;
+        }
+        String gender = (String) searchGenderCombo.getSelectedItem();
+        PatientSearch search = new PatientSearch(
+                searchNameField.getText(),
+                searchPhoneField.getText(),
+                from,
+                to,
+                "Any".equals(gender) ? null : gender
+        );
+        if (!search.equals(tableModel.getSearch())) tableModel.setSearch(search); // skip identical criteria
+    }
+
+    private static LocalDate parseDate(String text) { // blank means no bound
+        return text.isBlank() ? null : LocalDate.parse(text.trim());
     }
 
     private void onAdd() { // handle add patient button click
@@ -151,13 +222,15 @@ public class PatientsPanel extends JPanel { // panel for managing patients UI
 
         Patient p = new Patient(null, fn, ln, phone.isEmpty() ? null : phone, gender, bd); // create patient object
 
-        try {
-            patientDAO.create(p); // insert into database
-            clearForm(); // reset form
-            refreshTable(); // reload table
-        } catch (SQLException ex) { // handle database error
-            JOptionPane.showMessageDialog(this, "Failed to add patient: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
-        }
+        BackgroundLoader.run( // insert off the EDT
+                () -> { patientDAO.create(p); return p; }, // insert into database
+                saved -> { // back on the EDT
+                    clearForm(); // reset form
+                    if (tableModel.getSearch().isEmpty()) tableModel.insertFirst(saved); // newest first, no reload
+                    else tableModel.reload(); // only the database knows whether it matches the search
+                },
+                ex -> JOptionPane.showMessageDialog(this, "Failed to add patient: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE) // show error
+        );
     }
 
     private void onDeleteSelected() { // handle delete button click
@@ -177,38 +250,36 @@ public class PatientsPanel extends JPanel { // panel for managing patients UI
 
         List<Integer> ids = new ArrayList<>(); // list to hold patient IDs
         for (int r : rows) { // iterate through selected rows
-            Object idObj = tableModel.getValueAt(r, 0); // get ID from column 0
-            if (idObj instanceof Number n) ids.add(n.intValue()); // add if number
-            else if (idObj != null) ids.add(Integer.parseInt(idObj.toString())); // parse and add
+            Patient row = tableModel.getRow(r); // selected rows are loaded
+            if (row != null) ids.add(row.getId()); // collect ID
         }
 
-        try {
-            int deleted = patientDAO.deleteByIds(ids); // delete from database
-            refreshTable(); // reload table
-            JOptionPane.showMessageDialog(this, "Deleted: " + deleted); // show count
-        } catch (SQLException ex) { // handle database error
-            JOptionPane.showMessageDialog(this, "Failed to delete patients: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
-        }
+        BackgroundLoader.run( // delete off the EDT
+                () -> patientDAO.deleteByIds(ids), // delete from database
+                deleted -> { // back on the EDT
+                    tableModel.removeAll(ids); // in place, no re-count
+                    JOptionPane.showMessageDialog(this, "Deleted: " + deleted); // show count
+                },
+                ex -> JOptionPane.showMessageDialog(this, "Failed to delete patients: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE) // show error
+        );
     }
 
-    private void refreshTable() { // reload table with current data
-        try {
-            List<Patient> list = patientDAO.listAll(); // fetch all patients
-            tableModel.setRowCount(0); // clear table rows
-
-            for (Patient p : list) { // iterate through patients
-                tableModel.addRow(new Object[]{ // add row to table
-                        p.getId(), // patient ID
-                        p.getFirstName(), // first name
-                        p.getLastName(), // last name
-                        p.getPhone() == null ? "" : p.getPhone(), // phone (empty if null)
-                        p.getGender() == null ? "" : p.getGender(), // gender (empty if null)
-                        p.getBirthDate() == null ? "" : p.getBirthDate().toString() // birth date (empty if null)
-                });
-            }
-        } catch (SQLException ex) { // handle database error
-            JOptionPane.showMessageDialog(this, "Failed to load patients: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE); // show error
-        }
+    private void refreshTable() { // re-count and reload visible rows (off the EDT)
+        tableModel.reload(); // drops loaded blocks
+    }
+
+    @Override
+    public void cardShown() { // card brought to front
+        tableModel.resume(); // re-counts if a count was dropped while hidden
+    }
+
+    @Override
+    public void cardHidden() { // another card brought to front
+        tableModel.suspend(); // nobody will look at the rows: skip pending fetches
+    }
+
+    private void showLoadError(Exception ex) { // report a failed load (EDT)
+        rowsLabel.setText("Failed to load patients: " + ex.getMessage()); // not a dialog: every visible block may fail
     }
 
     private void clearForm() { // reset all input fields
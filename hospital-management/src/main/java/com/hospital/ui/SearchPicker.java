@@ -0,0 +1,175 @@
+package com.hospital.ui; // UI package
+
+import java.awt.Dimension; // popup size
+import java.awt.event.KeyAdapter; // arrow/enter/escape keys
+import java.awt.event.KeyEvent; // key codes
+import java.awt.event.MouseAdapter; // click to pick
+import java.awt.event.MouseEvent; // mouse event
+import java.util.List; // suggestions
+import java.util.function.Function; // item display text
+
+import javax.swing.DefaultListModel; // suggestion list model
+import javax.swing.JLabel; // suggestion cell
+import javax.swing.JList; // suggestion list
+import javax.swing.JPopupMenu; // suggestion popup
+import javax.swing.JScrollPane; // scrollable suggestions
+import javax.swing.JTextField; // search input
+import javax.swing.ListSelectionModel; // single selection
+import javax.swing.Timer; // debounce for database lookups
+import javax.swing.border.EmptyBorder; // cell padding
+import javax.swing.event.DocumentEvent; // text changes
+import javax.swing.event.DocumentListener; // text change listener
+
+/**
+ * Search-as-you-type picker: a text field with a popup of matching items.
+ * Suggestions come from an in-memory index on every keystroke when it is available;
+ * otherwise a debounced lookup runs in the background (latest query wins).
+ */
+public class SearchPicker<T> extends JTextField { // replaces a combo box over a huge list
+
+    /**
+     * Where suggestions come from.
+     */
+    public interface Source<T> {
+        List<T> cached(String query, int limit);                  // EDT; null when no in-memory index is ready
+        List<T> search(String query, int limit) throws Exception; // background; may query the database
+    }
+
+    private static final int LIMIT = 20;          // suggestions shown
+    private static final int DEBOUNCE_MS = 150;   // pause before a database lookup
+
+    private final Source<T> source; // suggestion source
+    private final Function<T, String> format; // display text of an item
+
+    private final DefaultListModel<T> listModel = new DefaultListModel<>(); // current suggestions
+    private final JList<T> list = new JList<>(listModel); // suggestion list
+    private final JPopupMenu popup = new JPopupMenu(); // suggestion popup
+    private final Timer debounce; // delays background lookups while typing
+    private final BackgroundLoader<List<T>> loader; // background lookups
+
+    private T selected; // picked item, or null
+    private boolean updating; // text set by the picker itself
+
+    public SearchPicker(Source<T> source, Function<T, String> format) {
+        super(20);
+        this.source = source;
+        this.format = format;
+        this.loader = new BackgroundLoader<>(this::showSuggestions, ex -> popup.setVisible(false), busy -> { });
+        this.debounce = new Timer(DEBOUNCE_MS, e -> lookupInBackground());
+        debounce.setRepeats(false);
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false); // typing stays in the text field
+        list.setCellRenderer((l, value, index, isSelected, cellHasFocus) -> {
+            JLabel label = new JLabel(format.apply(value));
+            label.setBorder(new EmptyBorder(4, 8, 4, 8)); // padding
+            if (isSelected) { // highlight the current suggestion
+                label.setOpaque(true);
+                label.setBackground(l.getSelectionBackground());
+                label.setForeground(l.getSelectionForeground());
+            }
+            return label;
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = list.locationToIndex(e.getPoint());
+                if (index >= 0) pick(listModel.get(index));
+            }
+        });
+
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(list));
+
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { textChanged(); }
+            @Override public void removeUpdate(DocumentEvent e) { textChanged(); }
+            @Override public void changedUpdate(DocumentEvent e) { textChanged(); }
+        });
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                onKey(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the picked item, or null if the text does not denote one.
+     */
+    public T getSelectedItem() {
+        return selected;
+    }
+
+    /**
+     * Picks an item programmatically (null clears the picker).
+     */
+    public void setSelectedItem(T item) {
+        selected = item;
+        updating = true;
+        try {
+            setText(item == null ? "" : format.apply(item));
+        } finally {
+            updating = false;
+        }
+    }
+
+    private void textChanged() { // the user typed
+        if (updating) return;
+        selected = null; // edited text no longer denotes the picked item
+        String query = getText();
+        if (query.isBlank()) {
+            debounce.stop();
+            popup.setVisible(false);
+            return;
+        }
+
+        List<T> hits = source.cached(query, LIMIT); // sub-millisecond when the index is warm
+        if (hits != null) {
+            debounce.stop();
+            showSuggestions(hits);
+        } else {
+            debounce.restart(); // cold: query the database once typing pauses
+        }
+    }
+
+    private void lookupInBackground() { // debounced database lookup
+        String query = getText();
+        if (query.isBlank()) return;
+        loader.load(() -> source.search(query, LIMIT));
+    }
+
+    private void showSuggestions(List<T> hits) { // fill and show the popup (EDT)
+        if (selected != null || !isShowing()) return; // picked meanwhile, or card hidden
+        listModel.clear();
+        for (T hit : hits) listModel.addElement(hit);
+        if (hits.isEmpty()) {
+            popup.setVisible(false);
+            return;
+        }
+        list.setSelectedIndex(0);
+        list.setVisibleRowCount(Math.min(hits.size(), 10));
+        popup.setPopupSize(new Dimension(Math.max(getWidth(), 280), list.getPreferredScrollableViewportSize().height + 4));
+        if (!popup.isVisible()) popup.show(this, 0, getHeight());
+        requestFocusInWindow(); // keep typing in the field
+    }
+
+    private void onKey(KeyEvent e) { // keyboard navigation in the popup
+        if (!popup.isVisible()) return;
+        int index = list.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN -> list.setSelectedIndex(Math.min(index + 1, listModel.size() - 1));
+            case KeyEvent.VK_UP -> list.setSelectedIndex(Math.max(index - 1, 0));
+            case KeyEvent.VK_ENTER -> { if (index >= 0) pick(listModel.get(index)); }
+            case KeyEvent.VK_ESCAPE -> popup.setVisible(false);
+            default -> { return; }
+        }
+        list.ensureIndexIsVisible(list.getSelectedIndex());
+        e.consume();
+    }
+
+    private void pick(T item) { // accept a suggestion
+        popup.setVisible(false);
+        setSelectedItem(item);
+    }
+}
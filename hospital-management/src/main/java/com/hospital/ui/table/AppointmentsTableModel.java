@@ -1,57 +1,48 @@
 package com.hospital.ui.table; // table model package
 
-import java.sql.Date; // SQL date type
-import java.sql.Time; // SQL time type
-import java.util.ArrayList; // list implementation
-import java.util.List; // list interface
-
-import javax.swing.table.AbstractTableModel; // base table model
+import java.time.LocalDate; // appointment date
+import java.time.LocalTime; // appointment time
+import java.util.function.Consumer; // error callback
 
+import com.hospital.dao.AppointmentDAO; // row source
 import com.hospital.dao.AppointmentDAO.AppointmentRow; // appointment row record
-
-public class AppointmentsTableModel extends AbstractTableModel { // custom table model for appointments
-
-    private final String[] columns = { "ID", "Patient", "Doctor", "Date", "Time", "Notes" }; // column headers
-    private List<AppointmentRow> rows = new ArrayList<>(); // table data rows
-
-    public void setRows(List<AppointmentRow> rows) { // update table rows
-        this.rows = (rows == null) ? new ArrayList<>() : new ArrayList<>(rows); // set or use empty list
-        fireTableDataChanged(); // notify listeners of change
-    }
-
-    public AppointmentRow getRow(int modelIndex) { // get row by index
-        if (modelIndex < 0 || modelIndex >= rows.size()) return null; // bounds check
-        return rows.get(modelIndex); // return row
-    }
-
-    @Override
-    public int getRowCount() { // get number of rows
-        return rows.size(); // return row count
-    }
-
-    @Override
-    public int getColumnCount() { // get number of columns
-        return columns.length; // return column count
+import com.hospital.dao.Page; // block of rows
+import com.hospital.dao.PageCursor; // keyset cursor
+import com.hospital.dao.RowCount; // exact row count
+
+/**
+ * Lazy table model over the whole appointment history, newest first.
+ * Blocks use the client-side join (AppointmentDAO.pageResolved): names come from the shared caches.
+ */
+public class AppointmentsTableModel extends LazyTableModel<AppointmentRow> { // custom table model for appointments
+
+    private static final String[] COLUMNS = { "ID", "Patient", "Doctor", "Date", "Time", "Notes" }; // column headers
+
+    public AppointmentsTableModel(AppointmentDAO dao, Consumer<Exception> onError) { // rows come from the DAO
+        super(COLUMNS, new Source<>() {
+            @Override public RowCount count() throws Exception { return RowCount.exact(dao.count()); }
+            @Override public Page<AppointmentRow> pageAt(int offset, int size) throws Exception { return dao.pageResolvedAt(offset, size); }
+            @Override public Page<AppointmentRow> page(PageCursor cursor, int size) throws Exception { return dao.pageResolved(cursor, size); }
+        }, onError);
     }
 
     @Override
-    public String getColumnName(int column) { // get column header
-        return columns[column]; // return column name
+    protected int idOf(AppointmentRow row) { // appointment id
+        return row.id();
     }
 
     @Override
     public Class<?> getColumnClass(int columnIndex) { // get column data type
         return switch (columnIndex) { // switch on column index
             case 0 -> Integer.class; // ID is integer
-            case 3 -> Date.class; // Date column
-            case 4 -> Time.class; // Time column
+            case 3 -> LocalDate.class; // Date column
+            case 4 -> LocalTime.class; // Time column
             default -> String.class; // all others are string
         };
     }
 
     @Override
-    public Object getValueAt(int rowIndex, int columnIndex) { // get cell value
-        AppointmentRow r = rows.get(rowIndex); // get row
+    protected Object valueOf(AppointmentRow r, int columnIndex) { // get cell value
         return switch (columnIndex) { // switch on column
             case 0 -> r.id(); // return ID
             case 1 -> r.patientName(); // return patient name
@@ -0,0 +1,47 @@
+package com.hospital.ui.table; // table model package
+
+import java.util.function.Consumer; // error callback
+
+import com.hospital.dao.Page; // block of rows
+import com.hospital.dao.PageCursor; // keyset cursor
+import com.hospital.dao.RowCount; // exact row count
+import com.hospital.dao.DoctorDAO; // row source
+import com.hospital.model.Doctor; // doctor model
+
+/**
+ * Lazy table model over all doctors, newest first.
+ */
+public class DoctorsTableModel extends LazyTableModel<Doctor> { // table model for doctors
+
+    private static final String[] COLUMNS = { "ID", "First Name", "Last Name", "Specialization", "Phone" }; // column headers
+
+    public DoctorsTableModel(DoctorDAO dao, Consumer<Exception> onError) { // rows come from the DAO
+        super(COLUMNS, new Source<>() {
+            @Override public RowCount count() throws Exception { return RowCount.exact(dao.count()); }
+            @Override public Page<Doctor> pageAt(int offset, int size) throws Exception { return dao.pageAt(offset, size); }
+            @Override public Page<Doctor> page(PageCursor cursor, int size) throws Exception { return dao.page(cursor, size); }
+        }, onError);
+    }
+
+    @Override
+    protected int idOf(Doctor row) { // doctor id
+        return row.getId();
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) { // get column data type
+        return columnIndex == 0 ? Integer.class : String.class; // ID is integer, others text
+    }
+
+    @Override
+    protected Object valueOf(Doctor d, int columnIndex) { // get cell value
+        return switch (columnIndex) {
+            case 0 -> d.getId(); // doctor ID
+            case 1 -> d.getFirstName(); // first name
+            case 2 -> d.getLastName(); // last name
+            case 3 -> d.getSpecialization() == null ? "" : d.getSpecialization(); // specialization (empty if null)
+            case 4 -> d.getPhone() == null ? "" : d.getPhone(); // phone (empty if null)
+            default -> "";
+        };
+    }
+}
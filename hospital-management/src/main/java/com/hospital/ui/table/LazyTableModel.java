@@ -0,0 +1,437 @@
+package com.hospital.ui.table; // table model package
+
+import java.util.ArrayList; // block rows
+import java.util.HashSet; // blocks being fetched
+import java.util.LinkedHashMap; // LRU of loaded blocks
+import java.util.List; // list interface
+import java.util.Map; // map interface
+import java.util.Set; // set interface
+import java.util.concurrent.ExecutorService; // background fetches
+import java.util.concurrent.Executors; // fetch thread pool
+import java.util.function.Consumer; // error callback
+
+import javax.swing.SwingUtilities; // back to the EDT
+import javax.swing.table.AbstractTableModel; // base table model
+
+import com.hospital.dao.ChangeFeed; // changes made at other desks
+import com.hospital.dao.Page; // block of rows with neighbour cursors
+import com.hospital.dao.PageCursor; // keyset cursor
+import com.hospital.dao.RowCount; // exact or estimated row count
+import com.hospital.db.DBConnection; // startup migrations
+import com.hospital.util.StartupTimer; // startup milestones
+
+/**
+ * Virtualized table model over a whole table.
+ * It knows the total row count and fetches fixed-size blocks only when rows are painted,
+ * keeps a bounded LRU of loaded blocks and prefetches the next block in the scroll direction,
+ * so opening a table of millions of rows costs one COUNT and one block.
+ * A block next to a loaded one is fetched by keyset seek from its boundary; other blocks by offset.
+ * The count may be an estimate (e.g. a search with millions of matches); it is corrected
+ * as soon as a block reveals where the rows really end.
+ * While the table is hidden ({@link #suspend}) nothing is fetched; {@link #resume} catches up.
+ * Nothing is read before the startup migrations are over ({@link DBConnection#ready()}).
+ * All methods must be called on the EDT.
+ */
+public abstract class LazyTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Where the rows come from (called off the EDT).
+     */
+    public interface Source<T> {
+        RowCount count() throws Exception;                              // total rows, or an estimate
+        Page<T> pageAt(int offset, int size) throws Exception;          // block by offset
+        Page<T> page(PageCursor cursor, int size) throws Exception;     // block by keyset cursor
+    }
+
+    public static final int BLOCK_SIZE = 200;   // rows per fetch
+    private static final int MAX_BLOCKS = 50;   // loaded blocks kept (10k rows)
+    private static final int PREFETCH = 1;      // blocks fetched ahead of the scroll direction
+
+    private static final ExecutorService FETCHER = Executors.newFixedThreadPool(2, r -> { // shared by all lazy tables
+        Thread t = new Thread(r, "table-fetch");
+        t.setDaemon(true); // never keeps the JVM alive
+        return t;
+    });
+
+    /**
+     * One loaded block and the cursors of its neighbours.
+     */
+    private static final class Block<T> {
+        final List<T> rows;
+        final Page<T> page;
+
+        Block(Page<T> page) {
+            this.rows = new ArrayList<>(page.rows());
+            this.page = page;
+        }
+    }
+
+    private final String[] columns; // column headers
+    private Source<T> source; // row source
+    private final Consumer<Exception> onError; // failed fetches (EDT)
+
+    private final LinkedHashMap<Integer, Block<T>> blocks = new LinkedHashMap<>(64, 0.75f, true) { // access-ordered LRU
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Block<T>> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+    private final Set<Integer> fetching = new HashSet<>(); // blocks requested but not arrived
+    private final List<T> head = new ArrayList<>(); // rows added locally since the last reload (shown first)
+
+    private int total; // rows in the source at the last count
+    private boolean exact = true; // false while total is an estimate
+    private volatile int generation; // bumped by reload and suspend; older results are dropped (read by fetch threads)
+    private int shifts; // bumped when rows move between blocks; blocks fetched before are dropped
+    private int lastBlock; // block painted last
+    private int direction = 1; // scroll direction (+1 down, -1 up)
+    private volatile int wantedBlock; // read by fetch threads to skip blocks scrolled past
+    private boolean counting; // a count is on its way
+    private boolean suspended; // hidden: no fetches
+    private boolean recount; // a count was dropped or skipped while suspended
+
+    protected LazyTableModel(String[] columns, Source<T> source, Consumer<Exception> onError) {
+        this.columns = columns;
+        this.source = source;
+        this.onError = onError;
+    }
+
+    /**
+     * Returns the id of a row (used for in-place updates).
+     */
+    protected abstract int idOf(T row);
+
+    /**
+     * Returns the value of one cell.
+     */
+    protected abstract Object valueOf(T row, int column);
+
+    /**
+     * Returns true if a changed row belongs in this table (e.g. matches its search); all rows by default.
+     */
+    protected boolean accepts(T row) {
+        return true;
+    }
+
+    /**
+     * Applies changes reported by the change feed: new rows appear at the top, loaded rows are
+     * replaced or removed in place. Rows that are not loaded are picked up when their block is fetched.
+     */
+    public void apply(ChangeFeed.Delta<T> delta) {
+        if (delta.overflow()) { // too much changed to apply row by row
+            reload();
+            return;
+        }
+        for (int id : delta.deleted()) remove(id);
+        for (T row : delta.updated()) {
+            if (accepts(row)) update(row);
+            else remove(idOf(row)); // no longer matches
+        }
+        for (T row : delta.inserted()) { // oldest first, so the newest ends up on top
+            if (accepts(row) && !update(row)) insertFirst(row); // rows this desk created are already shown
+        }
+    }
+
+    /**
+     * Returns true unless the row count is an estimate that has not been confirmed yet.
+     */
+    public boolean isCountExact() {
+        return exact;
+    }
+
+    /**
+     * Switches to another row source (e.g. new search criteria) and reloads.
+     */
+    protected void setSource(Source<T> source) {
+        this.source = source;
+        reload();
+    }
+
+    /**
+     * Drops all loaded rows and re-counts; visible blocks are fetched again when painted.
+     * While suspended, the count waits for {@link #resume}; during startup, for the schema to be current.
+     */
+    public void reload() {
+        int gen = ++generation; // results of earlier fetches are stale now
+        blocks.clear();
+        fetching.clear();
+        head.clear();
+        total = 0;
+        fireTableDataChanged(); // show the table empty until the count arrives
+        if (suspended) {
+            recount = true;
+            counting = false;
+            return;
+        }
+        counting = true;
+        if (!DBConnection.ready().isDone()) { // migrations still running: count once they are over
+            DBConnection.ready().thenRun(() -> SwingUtilities.invokeLater(() -> { if (gen == generation) count(gen); }));
+            return;
+        }
+        count(gen);
+    }
+
+    private void count(int gen) { // first step of a reload; blocks are fetched once the count is known
+        Source<T> src = source;
+        FETCHER.execute(() -> {
+            if (gen != generation) return; // suspended or reloaded before it started
+            try {
+                RowCount count = src.count();
+                SwingUtilities.invokeLater(() -> {
+                    if (gen != generation) return; // reloaded again meanwhile
+                    counting = false;
+                    total = (int) Math.min(count.value(), Integer.MAX_VALUE);
+                    exact = count.exact();
+                    fireTableDataChanged(); // new row count
+                });
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> {
+                    if (gen != generation) return;
+                    counting = false;
+                    onError.accept(ex);
+                });
+            }
+        });
+    }
+
+    /**
+     * Stops loading while the table is hidden: queued fetches are skipped and results in flight
+     * dropped; loaded rows stay. A dropped count is redone by {@link #resume}, dropped blocks
+     * are fetched again when painted.
+     */
+    public void suspend() {
+        suspended = true;
+        if (!counting && fetching.isEmpty()) return; // nothing in flight
+        generation++;
+        recount |= counting;
+        counting = false;
+        fetching.clear();
+    }
+
+    /**
+     * Ends {@link #suspend}, re-counting if a count was dropped or skipped meanwhile.
+     */
+    public void resume() {
+        suspended = false;
+        if (recount) {
+            recount = false;
+            reload();
+        }
+    }
+
+    /**
+     * Shows a row that was just created at the top, without fetching anything.
+     */
+    public void insertFirst(T row) {
+        head.add(0, row);
+        fireTableRowsInserted(0, 0);
+    }
+
+    /**
+     * Replaces a loaded row with the same id; returns false if it is not loaded.
+     */
+    public boolean update(T row) {
+        int id = idOf(row);
+        for (int i = 0; i < head.size(); i++) {
+            if (idOf(head.get(i)) == id) {
+                head.set(i, row);
+                fireTableRowsUpdated(i, i);
+                return true;
+            }
+        }
+        for (Map.Entry<Integer, Block<T>> e : blocks.entrySet()) {
+            List<T> rows = e.getValue().rows;
+            for (int i = 0; i < rows.size(); i++) {
+                if (idOf(rows.get(i)) == id) {
+                    rows.set(i, row);
+                    int index = head.size() + e.getKey() * BLOCK_SIZE + i;
+                    fireTableRowsUpdated(index, index);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a loaded row with this id (e.g. deleted at another desk); returns false if it is not loaded.
+     * Blocks after it are dropped because their rows moved up by one, and fetched again when painted.
+     */
+    public boolean remove(int id) {
+        for (int i = 0; i < head.size(); i++) {
+            if (idOf(head.get(i)) == id) {
+                head.remove(i);
+                fireTableRowsDeleted(i, i);
+                return true;
+            }
+        }
+        for (Map.Entry<Integer, Block<T>> e : blocks.entrySet()) {
+            List<T> rows = e.getValue().rows;
+            for (int i = 0; i < rows.size(); i++) {
+                if (idOf(rows.get(i)) != id) continue;
+                int blockIndex = e.getKey();
+                blocks.keySet().removeIf(b -> b >= blockIndex); // this block and the ones after it shifted
+                fetching.clear();
+                shifts++; // fetches in flight were positioned before the shift
+                total--;
+                int index = head.size() + blockIndex * BLOCK_SIZE + i;
+                fireTableRowsDeleted(index, index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes rows this desk deleted (see {@link #remove}). If one of them is not loaded, its position
+     * is unknown and the table is reloaded instead.
+     */
+    public void removeAll(List<Integer> ids) {
+        Set<Integer> wanted = new HashSet<>(ids);
+        List<Integer> indexes = new ArrayList<>(); // model indexes of the rows
+        int firstBlock = Integer.MAX_VALUE; // blocks from here on shift
+        for (int i = 0; i < head.size(); i++) {
+            if (wanted.remove(idOf(head.get(i)))) indexes.add(i);
+        }
+        int inHead = indexes.size();
+        for (Map.Entry<Integer, Block<T>> e : blocks.entrySet()) {
+            List<T> rows = e.getValue().rows;
+            for (int i = 0; i < rows.size(); i++) {
+                if (!wanted.remove(idOf(rows.get(i)))) continue;
+                indexes.add(head.size() + e.getKey() * BLOCK_SIZE + i);
+                firstBlock = Math.min(firstBlock, e.getKey());
+            }
+        }
+        if (!wanted.isEmpty()) { // not loaded
+            reload();
+            return;
+        }
+
+        int first = firstBlock;
+        if (indexes.size() > inHead) {
+            blocks.keySet().removeIf(b -> b >= first); // rows shifted: fetched again when painted
+            fetching.clear();
+            shifts++; // fetches in flight were positioned before the shift
+        }
+        indexes.sort(null);
+        for (int k = indexes.size() - 1; k >= 0; k--) { // last first, so the other indexes stay valid
+            int index = indexes.get(k);
+            if (k < inHead) head.remove(index);
+            else total--;
+            fireTableRowsDeleted(index, index);
+        }
+    }
+
+    /**
+     * Returns the row at a model index, or null while its block is loading.
+     */
+    public T getRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= getRowCount()) return null; // bounds check
+        if (rowIndex < head.size()) return head.get(rowIndex);
+
+        int index = rowIndex - head.size();
+        int blockIndex = index / BLOCK_SIZE;
+        if (blockIndex != lastBlock) { // track the scroll direction for prefetching
+            direction = blockIndex > lastBlock ? 1 : -1;
+            lastBlock = blockIndex;
+            wantedBlock = blockIndex;
+            for (int i = 1; i <= PREFETCH; i++) request(blockIndex + i * direction);
+        }
+
+        Block<T> block = blocks.get(blockIndex);
+        if (block == null) {
+            request(blockIndex);
+            return null;
+        }
+        int offset = index % BLOCK_SIZE;
+        return offset < block.rows.size() ? block.rows.get(offset) : null; // short if rows were deleted meanwhile
+    }
+
+    private void request(int blockIndex) { // fetch a block in the background unless loaded or on its way
+        if (suspended || blockIndex < 0 || blockIndex * BLOCK_SIZE >= total) return;
+        if (blocks.containsKey(blockIndex) || !fetching.add(blockIndex)) return;
+
+        // Continue from a loaded neighbour by keyset seek; otherwise skip by offset
+        Block<T> before = blocks.get(blockIndex - 1);
+        Block<T> after = blocks.get(blockIndex + 1);
+        PageCursor cursor = before != null && before.rows.size() == BLOCK_SIZE ? before.page.next()
+                : after != null ? after.page.previous() : null;
+        int offset = blockIndex * BLOCK_SIZE + head.size(); // rows added locally are already in the source
+
+        int gen = generation;
+        int shift = shifts;
+        Source<T> src = source;
+        FETCHER.execute(() -> {
+            if (gen != generation) return; // suspended or reloaded before it started: nothing waits for it
+            if (Math.abs(blockIndex - wantedBlock) > PREFETCH + 1) { // scrolled past: not worth a query any more
+                SwingUtilities.invokeLater(() -> { if (gen == generation) fetching.remove(blockIndex); });
+                return;
+            }
+            try {
+                Page<T> page = cursor != null
+                        ? src.page(cursor, BLOCK_SIZE)
+                        : src.pageAt(offset, BLOCK_SIZE);
+                SwingUtilities.invokeLater(() -> loaded(gen, shift, blockIndex, page));
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> {
+                    if (gen != generation) return;
+                    fetching.remove(blockIndex); // retried when painted again
+                    onError.accept(ex);
+                });
+            }
+        });
+    }
+
+    private void loaded(int gen, int shift, int blockIndex, Page<T> page) { // block arrived (EDT)
+        if (gen != generation) return; // reloaded meanwhile
+        boolean stale = shift != shifts; // rows moved meanwhile: repainting fetches the block again
+        if (!stale) {
+            fetching.remove(blockIndex);
+            blocks.put(blockIndex, new Block<>(page));
+            correctTotal(blockIndex, page);
+        }
+
+        int first = head.size() + blockIndex * BLOCK_SIZE;
+        int last = Math.min(first + BLOCK_SIZE, getRowCount()) - 1;
+        if (last >= first) fireTableRowsUpdated(first, last); // repaint the rows of this block
+        if (stale) return;
+        StartupTimer.mark(StartupTimer.Phase.FIRST_DATA); // first table filled (logged once)
+    }
+
+    private void correctTotal(int blockIndex, Page<T> page) { // the rows end elsewhere than counted
+        int end = blockIndex * BLOCK_SIZE + page.rows().size(); // source rows up to the end of this block
+        if (page.next() == null && end != total) { // last block: the source ends here
+            int old = total;
+            total = end;
+            exact = true;
+            if (end < old) fireTableRowsDeleted(head.size() + end, head.size() + old - 1);
+            else fireTableRowsInserted(head.size() + old, head.size() + end - 1);
+        } else if (page.next() != null && end >= total) { // more rows than estimated: grow by one block
+            int old = total;
+            total = end + BLOCK_SIZE;
+            exact = false;
+            fireTableRowsInserted(head.size() + old, head.size() + total - 1);
+        }
+    }
+
+    @Override
+    public int getRowCount() { // rows added locally plus rows in the source
+        return head.size() + total;
+    }
+
+    @Override
+    public int getColumnCount() { // get number of columns
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) { // get column header
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) { // get cell value (null while loading)
+        T row = getRow(rowIndex);
+        return row == null ? null : valueOf(row, columnIndex);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hospital.ui.table; // table model package
+
+import java.time.LocalDate; // birth date
+import java.util.function.Consumer; // error callback
+
+import com.hospital.dao.Page; // block of rows
+import com.hospital.dao.PageCursor; // keyset cursor
+import com.hospital.dao.PatientDAO; // row source
+import com.hospital.dao.PatientSearch; // search criteria
+import com.hospital.dao.RowCount; // exact or estimated count
+import com.hospital.model.Patient; // patient model
+
+/**
+ * Lazy table model over all patients, or the patients matching a search, newest first.
+ */
+public class PatientsTableModel extends LazyTableModel<Patient> { // table model for patients
+
+    private static final String[] COLUMNS = { "ID", "First Name", "Last Name", "Phone", "Gender", "Birth Date" }; // column headers
+
+    private final PatientDAO dao; // row source
+    private PatientSearch search = PatientSearch.ALL; // current criteria
+
+    public PatientsTableModel(PatientDAO dao, Consumer<Exception> onError) { // rows come from the DAO
+        super(COLUMNS, source(dao, PatientSearch.ALL), onError);
+        this.dao = dao;
+    }
+
+    /**
+     * Shows only the patients matching the criteria (PatientSearch.ALL shows everyone) and reloads.
+     */
+    public void setSearch(PatientSearch search) {
+        this.search = search;
+        setSource(source(dao, search));
+    }
+
+    public PatientSearch getSearch() { // current criteria
+        return search;
+    }
+
+    private static Source<Patient> source(PatientDAO dao, PatientSearch search) { // rows for one set of criteria
+        if (search.isEmpty()) return new Source<>() { // plain table: fixed, pre-warmed statements
+            @Override public RowCount count() throws Exception { return RowCount.exact(dao.count()); }
+            @Override public Page<Patient> pageAt(int offset, int size) throws Exception { return dao.pageAt(offset, size); }
+            @Override public Page<Patient> page(PageCursor cursor, int size) throws Exception { return dao.page(cursor, size); }
+        };
+        return new Source<>() {
+            @Override public RowCount count() throws Exception { return dao.countMatches(search); }
+            @Override public Page<Patient> pageAt(int offset, int size) throws Exception { return dao.searchAt(search, offset, size); }
+            @Override public Page<Patient> page(PageCursor cursor, int size) throws Exception { return dao.search(search, cursor, size); }
+        };
+    }
+
+    @Override
+    protected int idOf(Patient row) { // patient id
+        return row.getId();
+    }
+
+    @Override
+    protected boolean accepts(Patient row) { // changed rows must match the current search
+        return search.matches(row);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) { // get column data type
+        return switch (columnIndex) { // switch on column index
+            case 0 -> Integer.class; // ID is integer
+            case 5 -> LocalDate.class; // Birth Date column
+            default -> String.class; // all others are text
+        };
+    }
+
+    @Override
+    protected Object valueOf(Patient p, int columnIndex) { // get cell value
+        return switch (columnIndex) {
+            case 0 -> p.getId(); // patient ID
+            case 1 -> p.getFirstName(); // first name
+            case 2 -> p.getLastName(); // last name
+            case 3 -> p.getPhone() == null ? "" : p.getPhone(); // phone (empty if null)
+            case 4 -> p.getGender() == null ? "" : p.getGender(); // gender (empty if null)
+            case 5 -> p.getBirthDate(); // birth date (blank cell if null)
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.hospital.util; // utility package
+
+import java.util.Objects; // null checks
+import java.util.function.Consumer; // value visitor
+
+/**
+ * Map from int keys to values without boxing the keys, holding at most maxSize entries.
+ * Open addressing with linear probing; when full, one entry is evicted by the CLOCK
+ * (second chance) policy, which approximates LRU without reordering on every read.
+ * Not thread-safe: callers synchronize.
+ */
+public final class BoundedIntMap<V> {
+
+    private final int maxSize; // entry limit
+
+    private int[] keys;          // slot keys
+    private Object[] values;     // slot values (null = empty slot)
+    private boolean[] referenced; // CLOCK bits: set on access, cleared by the sweeping hand
+    private int mask;            // keys.length - 1 (length is a power of two)
+    private int size;            // occupied slots
+    private int hand;            // CLOCK position
+    private long evictions;      // entries dropped to stay within maxSize
+
+    public BoundedIntMap(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        allocate(tableSizeFor(Math.min(this.maxSize, 64) * 2));
+    }
+
+    /**
+     * Returns the value for a key (and marks it recently used), or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int i = find(key);
+        if (i < 0) return null;
+        referenced[i] = true;
+        return (V) values[i];
+    }
+
+    /**
+     * Returns the value for a key without marking it used, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V peek(int key) {
+        int i = find(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    /**
+     * Stores a value and returns the previous one, evicting another entry if the map is full.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        int i = find(key);
+        if (i >= 0) { // replace in place
+            V old = (V) values[i];
+            values[i] = value;
+            referenced[i] = true;
+            return old;
+        }
+        if (size >= maxSize) evictOne();
+        if ((size + 1) * 2 > keys.length) resize(keys.length * 2); // keep the load factor at or below 1/2
+        insert(key, value, true);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes a key and returns its value, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = find(key);
+        if (i < 0) return null;
+        V old = (V) values[i];
+        deleteAt(i);
+        size--;
+        return old;
+    }
+
+    public void clear() { // drop all entries
+        allocate(tableSizeFor(Math.min(maxSize, 64) * 2));
+        size = 0;
+        hand = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) { // visits every value, in no particular order
+        for (Object v : values) if (v != null) action.accept((V) v);
+    }
+
+    public int size() { // current entries
+        return size;
+    }
+
+    public int maxSize() { // entry limit
+        return maxSize;
+    }
+
+    public long evictions() { // entries evicted so far
+        return evictions;
+    }
+
+    private int find(int key) { // slot of key, or -1
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(int key, Object value, boolean ref) { // into the first free slot of the probe chain
+        int i = slot(key);
+        while (values[i] != null) i = (i + 1) & mask;
+        keys[i] = key;
+        values[i] = value;
+        referenced[i] = ref;
+    }
+
+    private void deleteAt(int i) { // backward-shift deletion keeps probe chains intact without tombstones
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) break;
+            int home = slot(keys[j]);
+            boolean stays = (i <= j) ? (i < home && home <= j) : (i < home || home <= j); // home cyclically in (i, j]
+            if (!stays) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                referenced[i] = referenced[j];
+                i = j;
+            }
+        }
+        values[i] = null;
+        referenced[i] = false;
+    }
+
+    private void evictOne() { // CLOCK: skip (and clear) recently used entries, evict the first one that was not
+        while (true) {
+            if (values[hand] != null) {
+                if (!referenced[hand]) {
+                    deleteAt(hand);
+                    size--;
+                    evictions++;
+                    return;
+                }
+                referenced[hand] = false;
+            }
+            hand = (hand + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) { // rehash into a larger table
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldRef = referenced;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) insert(oldKeys[i], oldValues[i], oldRef[i]);
+        }
+        hand = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        referenced = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(int key) { // spread sequential ids over the table
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int n) { // next power of two, at least 4
+        int cap = 4;
+        while (cap < n) cap <<= 1;
+        return cap;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hospital.util; // utility package for database helpers
+
+import com.hospital.dao.QueryPlanCheck; // EXPLAIN-based index checks
+import com.hospital.db.Migrator; // schema migration runner
+
+/**
+ * Command-line schema migration.
+ * Applies pending db/migration scripts and prints the history.
+ * With --explain, also checks that the DAO queries use their indexes.
+ */
+public class DBMigrate {
+
+    public static void main(String[] args) { // entry point to run migrations
+        boolean explain = args.length > 0 && "--explain".equals(args[0]); // run EXPLAIN checks too
+        int exitCode = 0; // non-zero if something failed
+
+        try {
+            int applied = Migrator.migrate(); // apply pending scripts
+            System.out.println("Applied " + applied + " migration(s)."); // summary
+
+            for (Migrator.AppliedMigration m : Migrator.history()) { // print history
+                System.out.println("  V" + m.version() + " " + m.description() + " (" + m.appliedAt() + ", " + m.executionMs() + " ms)");
+            }
+
+            if (explain) {
+                for (QueryPlanCheck.Result r : QueryPlanCheck.runAll()) { // print plan checks
+                    System.out.println((r.ok() ? "OK    " : "CHECK ") + r.name() + ": " + r.detail());
+                    if (!r.ok()) exitCode = 1; // index not used
+                }
+            }
+        } catch (Exception e) { // handle any exceptions during migration
+            System.out.println("ERROR: Migration failed."); // error notice
+            e.printStackTrace(); // print stacktrace for debugging
+            exitCode = 1;
+        }
+        System.exit(exitCode); // also stops the pool housekeeping thread
+    }
+}
@@ -16,6 +16,7 @@ public class DBTest {
 
             if (connection != null && !connection.isClosed()) { // check connection validity
                 System.out.println("SUCCESS: Database connection established."); // success message
+                System.out.println("Pool: " + DBConnection.poolStats()); // show pool counters
             } else {
                 System.out.println("FAIL: Connection object is null or closed."); // failure message
             }
@@ -0,0 +1,79 @@
+package com.hospital.util; // utility package for database helpers
+
+import java.nio.file.Path; // target file
+import java.time.LocalDate; // date filters
+import java.time.format.DateTimeParseException; // bad date filter
+import java.util.Locale; // entity names
+
+import com.hospital.export.ExportFormat; // csv / ndjson
+import com.hospital.export.Exporter; // streaming export
+
+/**
+ * Command-line export of a table to CSV or NDJSON, in constant memory.
+ * <pre>
+ * Export appointments|patients|doctors FILE [--format csv|ndjson] [--gzip]
+ *        [--from yyyy-mm-dd] [--to yyyy-mm-dd] [--doctor ID]
+ * </pre>
+ * The format and compression default to the file name (e.g. appointments.ndjson.gz);
+ * --from, --to and --doctor filter appointments.
+ */
+public class Export {
+
+    private static final String USAGE = "Usage: Export appointments|patients|doctors FILE [--format csv|ndjson] [--gzip]"
+            + " [--from yyyy-mm-dd] [--to yyyy-mm-dd] [--doctor ID]";
+
+    public static void main(String[] args) { // entry point
+        int exitCode = 0; // non-zero if something failed
+
+        try {
+            if (args.length < 2) throw new IllegalArgumentException("Missing arguments");
+            Exporter.Entity entity = entity(args[0]);
+            Path path = Path.of(args[1]);
+            ExportFormat format = ExportFormat.ofFileName(path.getFileName().toString());
+            boolean gzip = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+            Integer doctorId = null;
+            LocalDate from = null;
+            LocalDate to = null;
+
+            for (int i = 2; i < args.length; i++) { // options
+                switch (args[i]) {
+                    case "--format" -> format = ExportFormat.of(value(args, ++i));
+                    case "--gzip" -> gzip = true;
+                    case "--from" -> from = LocalDate.parse(value(args, ++i));
+                    case "--to" -> to = LocalDate.parse(value(args, ++i));
+                    case "--doctor" -> doctorId = Integer.valueOf(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            Exporter.Request request = new Exporter.Request(entity, format, gzip, doctorId, from, to);
+            long start = System.nanoTime();
+            Exporter.Result result = new Exporter().export(request, path, (rows, expected) -> // progress on stderr
+                    System.err.print(expected < 0 ? "\rExported " + rows + " rows" : "\rExported " + rows + " of " + expected + " rows"));
+            System.err.println();
+            System.out.printf("Wrote %d %s to %s (%d bytes) in %.1f s%n", result.rows(), entity.name().toLowerCase(Locale.ROOT),
+                    result.path(), result.bytes(), (System.nanoTime() - start) / 1e9); // summary
+        } catch (IllegalArgumentException | DateTimeParseException e) { // bad command line
+            System.out.println("ERROR: " + e.getMessage());
+            System.out.println(USAGE);
+            exitCode = 2;
+        } catch (Exception e) { // handle any exceptions during the export
+            System.out.println("ERROR: Export failed."); // error notice
+            e.printStackTrace(); // print stacktrace for debugging
+            exitCode = 1;
+        }
+        System.exit(exitCode); // also stops the pool housekeeping thread
+    }
+
+    private static Exporter.Entity entity(String name) { // table argument
+        for (Exporter.Entity e : Exporter.Entity.values()) {
+            if (e.name().equalsIgnoreCase(name)) return e;
+        }
+        throw new IllegalArgumentException("Unknown table: " + name);
+    }
+
+    private static String value(String[] args, int i) { // option argument
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+}
@@ -0,0 +1,34 @@
+package com.hospital.util; // utility package
+
+import java.lang.management.ManagementFactory; // platform MBean server
+
+import javax.management.ObjectName;   // MBean name
+import javax.management.StandardMBean; // explicit management interface
+
+/**
+ * Registers monitoring beans with the platform MBean server (visible in JConsole, VisualVM, jcmd).
+ */
+public final class Jmx {
+
+    /** Domain of every bean this application registers. */
+    public static final String DOMAIN = "com.hospital";
+
+    private Jmx() {
+        // Utility class
+    }
+
+    /**
+     * Registers impl under DOMAIN:properties (e.g. "type=ConnectionPool") as an MXBean of the given interface,
+     * replacing an earlier registration. Failures are logged, never thrown: monitoring must not break the app.
+     */
+    public static <T> void register(String properties, T impl, Class<T> mxbeanInterface) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(new StandardMBean(impl, mxbeanInterface, true), name);
+        } catch (Exception ex) {
+            System.err.println("JMX registration of " + properties + " failed: " + ex.getMessage());
+        }
+    }
+}
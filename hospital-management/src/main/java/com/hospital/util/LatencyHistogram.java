@@ -0,0 +1,90 @@
+package com.hospital.util; // utility package
+
+import java.util.concurrent.atomic.AtomicLongArray; // bucket counters
+import java.util.concurrent.atomic.LongAccumulator; // maximum
+import java.util.concurrent.atomic.LongAdder;       // count and sum
+
+/**
+ * Lock-free latency histogram with log-linear buckets: 8 buckets per power of two,
+ * so a percentile is within about 12% of the true value from nanoseconds to hours.
+ * Recording is a few atomic adds and allocates nothing; percentiles scan 488 counters.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;                    // 2^3 = 8 buckets per power of two
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_COUNT; // covers every positive long
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one duration in nanoseconds (negative values count as 0).
+     */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long count() { // recorded values
+        return count.sum();
+    }
+
+    public long maxNanos() { // largest recorded value
+        return max.get();
+    }
+
+    public long meanNanos() { // average, 0 when empty
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    /**
+     * Returns the value at a quantile (0.5 = median, 0.99 = p99) as the upper bound of its bucket,
+     * never above the maximum; 0 when empty. Concurrent recording may skew it slightly.
+     */
+    public long percentileNanos(double quantile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) total += snapshot[i] = counts.get(i);
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears all counters (e.g. to start a new measurement interval).
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucket(long v) { // values below 8 have their own bucket; above, 8 per power of two
+        if (v < SUB_COUNT) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);               // position of the highest bit (>= 3)
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1); // next three bits
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long upperBound(int bucket) { // largest value that falls into the bucket
+        if (bucket < SUB_COUNT) return bucket;
+        int exp = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        long lower = (long) (SUB_COUNT + sub) << (exp - SUB_BITS);
+        return lower + (1L << (exp - SUB_BITS)) - 1;
+    }
+}
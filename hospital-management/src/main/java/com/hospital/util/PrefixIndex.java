@@ -0,0 +1,115 @@
+package com.hospital.util; // utility package
+
+import java.text.Normalizer; // accent folding
+import java.util.ArrayList; // result list
+import java.util.Arrays; // key sorting
+import java.util.Collection; // indexed items
+import java.util.List; // list interface
+import java.util.Locale; // case folding
+import java.util.function.Function; // search keys of an item
+
+/**
+ * Immutable prefix index for type-ahead search.
+ * Every item contributes a few normalized keys (e.g. "ayse", "yilmaz", "ayse yilmaz", "1042");
+ * the keys are kept in one sorted array, so a query is a binary search plus a scan of the matching run.
+ * Build it off the EDT; searching is cheap enough for every keystroke.
+ */
+public final class PrefixIndex<T> {
+
+    private final String[] keys; // sorted normalized keys
+    private final int[] owners;  // item index of each key
+    private final Object[] items; // indexed items
+
+    private PrefixIndex(String[] keys, int[] owners, Object[] items) {
+        this.keys = keys;
+        this.owners = owners;
+        this.items = items;
+    }
+
+    /**
+     * Indexes the items under the keys returned by keysOf (normalized here).
+     */
+    public static <T> PrefixIndex<T> build(Collection<T> items, Function<T, List<String>> keysOf) {
+        record Key(String key, int owner) { }
+
+        Object[] all = items.toArray();
+        List<Key> pairs = new ArrayList<>(all.length * 4);
+        for (int i = 0; i < all.length; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) all[i];
+            for (String k : keysOf.apply(item)) {
+                String n = normalize(k);
+                if (!n.isEmpty()) pairs.add(new Key(n, i));
+            }
+        }
+
+        Key[] sorted = pairs.toArray(new Key[0]);
+        Arrays.sort(sorted, (a, b) -> a.key().compareTo(b.key()));
+        String[] keys = new String[sorted.length];
+        int[] owners = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].key();
+            owners[i] = sorted[i].owner();
+        }
+        return new PrefixIndex<>(keys, owners, all);
+    }
+
+    /**
+     * Returns up to limit distinct items that have a key starting with the query, in key order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> search(String query, int limit) {
+        String q = normalize(query);
+        List<T> result = new ArrayList<>(Math.min(limit, 32));
+        if (q.isEmpty() || limit <= 0) return result;
+
+        int[] seen = new int[limit]; // owners already returned (limit is small)
+        int found = 0;
+        for (int i = lowerBound(q); i < keys.length && found < limit && keys[i].startsWith(q); i++) {
+            int owner = owners[i];
+            boolean duplicate = false;
+            for (int j = 0; j < found && !duplicate; j++) duplicate = seen[j] == owner;
+            if (duplicate) continue; // several keys of one item can match
+            seen[found++] = owner;
+            result.add((T) items[owner]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if one of the keys starts with the query (same rules as {@link #search}).
+     */
+    public static boolean matches(List<String> keys, String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) return false;
+        for (String k : keys) {
+            if (normalize(k).startsWith(q)) return true;
+        }
+        return false;
+    }
+
+    public int size() { // indexed items
+        return items.length;
+    }
+
+    /**
+     * Lower-cases, folds accents and dotless i, and collapses whitespace: "  Ayşe  YILDIZ" -> "ayse yildiz".
+     */
+    public static String normalize(String s) {
+        if (s == null) return "";
+        String lower = s.toLowerCase(Locale.ROOT).replace('ı', 'i');
+        String folded = Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return folded.trim().replaceAll("\\s+", " ");
+    }
+
+    private int lowerBound(String q) { // first key >= q
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
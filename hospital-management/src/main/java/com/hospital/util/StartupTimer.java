@@ -0,0 +1,62 @@
+package com.hospital.util; // utility package
+
+import java.lang.management.ManagementFactory; // JVM start time
+import java.util.EnumMap; // recorded milestones
+import java.util.Map; // map interface
+
+/**
+ * Records startup milestones (relative to JVM start) and logs a breakdown,
+ * so startup regressions show up in the console.
+ */
+public final class StartupTimer {
+
+    /**
+     * Startup milestones in their expected order.
+     */
+    public enum Phase {
+        MAIN("main entered"),                  // application code starts running
+        FRAME_VISIBLE("frame visible"),        // first window painted
+        DB_READY("database ready"),            // pool open, schema migrated, statements warmed
+        FIRST_DATA("first data ready");        // first table filled with rows
+
+        private final String label; // log text
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime(); // epoch ms
+    private static final Map<Phase, Long> MARKS = new EnumMap<>(Phase.class); // phase -> ms after JVM start
+
+    private StartupTimer() {
+        // Utility class
+    }
+
+    /**
+     * Records a milestone the first time it is reached and logs it.
+     */
+    public static synchronized void mark(Phase phase) {
+        if (MARKS.containsKey(phase)) return; // only the first occurrence counts
+        long sinceJvm = System.currentTimeMillis() - JVM_START;
+        MARKS.put(phase, sinceJvm);
+
+        Long main = MARKS.get(Phase.MAIN);
+        String sinceMain = (main == null || phase == Phase.MAIN) ? "" : " (+" + (sinceJvm - main) + " ms after main)";
+        System.out.println("[startup] " + phase.label + ": " + sinceJvm + " ms after JVM start" + sinceMain);
+
+        if (phase == Phase.FIRST_DATA) System.out.println("[startup] breakdown: " + summary());
+    }
+
+    /**
+     * Returns the recorded milestones, e.g. "main entered=120ms, frame visible=410ms".
+     */
+    public static synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Phase, Long> e : MARKS.entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(e.getKey().label).append('=').append(e.getValue()).append("ms");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,37 @@
+-- Baseline: the tables from db/schema.sql.
+-- IF NOT EXISTS lets existing databases created from schema.sql adopt the migration history.
+
+CREATE TABLE IF NOT EXISTS patients (
+  id INT AUTO_INCREMENT PRIMARY KEY,
+  first_name VARCHAR(60) NOT NULL,
+  last_name VARCHAR(60) NOT NULL,
+  phone VARCHAR(30),
+  gender VARCHAR(20),
+  birth_date DATE,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS doctors (
+  id INT AUTO_INCREMENT PRIMARY KEY,
+  first_name VARCHAR(60) NOT NULL,
+  last_name  VARCHAR(60) NOT NULL,
+  specialization VARCHAR(80),
+  phone VARCHAR(30),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+  id INT AUTO_INCREMENT PRIMARY KEY,
+  patient_id INT NOT NULL,
+  doctor_id INT NOT NULL,
+  appointment_date DATE NOT NULL,
+  appointment_time TIME NOT NULL,
+  notes VARCHAR(255),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+  CONSTRAINT fk_appt_patient FOREIGN KEY (patient_id)
+    REFERENCES patients(id) ON DELETE CASCADE,
+
+  CONSTRAINT fk_appt_doctor FOREIGN KEY (doctor_id)
+    REFERENCES doctors(id) ON DELETE CASCADE
+);
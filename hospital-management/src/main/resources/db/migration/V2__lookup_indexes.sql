@@ -0,0 +1,11 @@
+-- Indexes for date-, doctor- and name-based lookups.
+-- InnoDB secondary indexes carry the primary key, so (date, time) also orders by id.
+
+-- schedule order and "appointments on a day" (AppointmentDAO.pageBySchedule)
+CREATE INDEX idx_appt_date_time ON appointments (appointment_date, appointment_time);
+
+-- a doctor's day/week (leading doctor_id also serves the fk_appt_doctor foreign key)
+CREATE INDEX idx_appt_doctor_date_time ON appointments (doctor_id, appointment_date, appointment_time);
+
+-- patient lookup by name
+CREATE INDEX idx_patients_name ON patients (last_name, first_name);
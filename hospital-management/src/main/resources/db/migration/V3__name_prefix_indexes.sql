@@ -0,0 +1,9 @@
+-- Indexes for type-ahead name search when the in-memory prefix index is cold
+-- (PatientDAO.suggest / DoctorDAO.suggest match a prefix of either name).
+
+-- patient by first-name prefix (last-name prefixes use idx_patients_name)
+CREATE INDEX idx_patients_first_name ON patients (first_name, last_name);
+
+-- doctor by last- or first-name prefix
+CREATE INDEX idx_doctors_name ON doctors (last_name, first_name);
+CREATE INDEX idx_doctors_first_name ON doctors (first_name, last_name);
@@ -0,0 +1,7 @@
+-- Indexes for PatientDAO.search (name prefixes use idx_patients_name and idx_patients_first_name).
+
+-- phone prefix
+CREATE INDEX idx_patients_phone ON patients (phone);
+
+-- birth date range
+CREATE INDEX idx_patients_birth_date ON patients (birth_date);
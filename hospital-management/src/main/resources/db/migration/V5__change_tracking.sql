@@ -0,0 +1,38 @@
+-- Change tracking for ChangeFeed: a modification time on every table and a log of deleted rows.
+-- updated_at is set on insert and on every update that changes a value; the index (which carries id)
+-- serves the feed's (updated_at, id) watermark seek.
+
+ALTER TABLE patients
+  ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+ALTER TABLE doctors
+  ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+ALTER TABLE appointments
+  ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+
+CREATE INDEX idx_patients_updated_at ON patients (updated_at);
+CREATE INDEX idx_doctors_updated_at ON doctors (updated_at);
+CREATE INDEX idx_appt_updated_at ON appointments (updated_at);
+
+-- deleted rows, in deletion order (pruned after a day)
+CREATE TABLE IF NOT EXISTS deleted_rows (
+  seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+  table_name VARCHAR(20) NOT NULL,
+  row_id INT NOT NULL,
+  deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+CREATE TRIGGER trg_patients_deleted AFTER DELETE ON patients FOR EACH ROW
+  INSERT INTO deleted_rows (table_name, row_id) VALUES ('patients', OLD.id);
+
+CREATE TRIGGER trg_doctors_deleted AFTER DELETE ON doctors FOR EACH ROW
+  INSERT INTO deleted_rows (table_name, row_id) VALUES ('doctors', OLD.id);
+
+CREATE TRIGGER trg_appointments_deleted AFTER DELETE ON appointments FOR EACH ROW
+  INSERT INTO deleted_rows (table_name, row_id) VALUES ('appointments', OLD.id);
+
+-- rows removed by ON DELETE CASCADE fire no triggers, so the parents log their appointments
+CREATE TRIGGER trg_patients_cascade BEFORE DELETE ON patients FOR EACH ROW
+  INSERT INTO deleted_rows (table_name, row_id) SELECT 'appointments', id FROM appointments WHERE patient_id = OLD.id;
+
+CREATE TRIGGER trg_doctors_cascade BEFORE DELETE ON doctors FOR EACH ROW
+  INSERT INTO deleted_rows (table_name, row_id) SELECT 'appointments', id FROM appointments WHERE doctor_id = OLD.id;
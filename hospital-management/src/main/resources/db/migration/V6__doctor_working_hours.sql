@@ -0,0 +1,14 @@
+-- Weekly working-hour templates for SlotFinder: one row per shift (a doctor may have several a day).
+-- Doctors without rows work the default template (WorkingHours.DEFAULT).
+
+CREATE TABLE IF NOT EXISTS doctor_working_hours (
+  doctor_id INT NOT NULL,
+  day_of_week TINYINT NOT NULL,  -- ISO: 1 = Monday ... 7 = Sunday
+  start_time TIME NOT NULL,
+  end_time TIME NOT NULL,        -- exclusive
+
+  PRIMARY KEY (doctor_id, day_of_week, start_time),
+
+  CONSTRAINT fk_hours_doctor FOREIGN KEY (doctor_id)
+    REFERENCES doctors(id) ON DELETE CASCADE
+);
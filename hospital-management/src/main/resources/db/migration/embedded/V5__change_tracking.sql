@@ -0,0 +1,24 @@
+-- Change tracking, embedded (H2) variant of db/migration/V5: the same columns and table, without the
+-- deletion triggers. Only one process can open an embedded database, so there are no other desks to
+-- notify and ChangeFeed does not run (H2 triggers would also have to be Java classes).
+-- updated_at is set on insert and on every update that changes a value; the index (which carries id)
+-- serves the feed's (updated_at, id) watermark seek.
+
+ALTER TABLE patients
+  ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+ALTER TABLE doctors
+  ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+ALTER TABLE appointments
+  ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+
+CREATE INDEX idx_patients_updated_at ON patients (updated_at);
+CREATE INDEX idx_doctors_updated_at ON doctors (updated_at);
+CREATE INDEX idx_appt_updated_at ON appointments (updated_at);
+
+-- deleted rows, in deletion order (pruned after a day)
+CREATE TABLE IF NOT EXISTS deleted_rows (
+  seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+  table_name VARCHAR(20) NOT NULL,
+  row_id INT NOT NULL,
+  deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);